@@ -6,6 +6,7 @@ plugins {
     id("com.github.spotbugs") version "6.1.5"
     pmd
     id("com.diffplug.spotless") version "8.2.1"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.epam.xm"
@@ -35,18 +36,18 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-jdbc")
     implementation("net.javacrumbs.shedlock:shedlock-spring:6.3.0")
     implementation("net.javacrumbs.shedlock:shedlock-provider-jdbc-template:6.3.0")
-    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
     implementation("org.mapstruct:mapstruct:1.6.3")
-    implementation("com.bucket4j:bucket4j-core:8.10.1")
     implementation("org.springframework.boot:spring-boot-starter-cache")
     implementation("com.github.ben-manes.caffeine:caffeine")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.6.3")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.boot:spring-boot-testcontainers")
     testImplementation("org.testcontainers:junit-jupiter:1.20.5")
     testImplementation("org.testcontainers:postgresql:1.20.5")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    // Baseline of the rate limiter benchmark
+    jmh("com.bucket4j:bucket4j-core:8.10.1")
     "spotbugs"("com.github.spotbugs:spotbugs:4.9.0")
     configurations.all {
         resolutionStrategy.eachDependency {
@@ -163,6 +164,46 @@ tasks.named<Pmd>("pmdTest") {
     isEnabled = false
 }
 
+tasks.named<Pmd>("pmdJmh") {
+    isEnabled = false
+}
+
+tasks.named("spotbugsJmh") {
+    enabled = false
+}
+
+// Benchmarks: ./gradlew jmh [-Pjmh.includes=CsvImport] [-Pjmh.points=50000000] [-Pjmh.symbols=5000]
+// Every run is written as JSON and archived under benchmarks/results for run-over-run comparison.
+val jmhResultsFile = layout.buildDirectory.file("results/jmh/results.json")
+
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = jmhResultsFile
+    jvmArgsAppend = listOf("-Xmx8g")
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+    mapOf("points" to "jmh.points", "totalPoints" to "jmh.points", "symbols" to "jmh.symbols")
+        .forEach { (param, property) ->
+            providers.gradleProperty(property).orNull?.let { values ->
+                benchmarkParameters.put(param, objects.listProperty<String>().value(values.split(",")))
+            }
+        }
+}
+
+val archiveJmhResults by tasks.registering(Copy::class) {
+    val runId =
+        java.time.LocalDateTime
+            .now()
+            .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+    from(jmhResultsFile)
+    into(layout.projectDirectory.dir("benchmarks/results"))
+    rename { "jmh-$runId.json" }
+}
+
+tasks.named("jmh") {
+    finalizedBy(archiveJmhResults)
+}
+
 spotless {
     java {
         target("src/**/*.java")
@@ -0,0 +1,107 @@
+package com.epam.xm.recommendations.benchmark;
+
+import com.epam.xm.recommendations.domain.CryptoAnalysisService;
+import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
+import com.epam.xm.recommendations.domain.PricePoint;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Compares the historical four-pass stream implementation of {@code calculateStats} with the
+ * single-pass kernel over {@link PricePoint} lists and over primitive columns.
+ *
+ * <p>The stream baseline still compares and divides {@link BigDecimal}s, as the pipeline did before
+ * prices became fixed-point {@link Price}s; it reads them from the points' decimal form.
+ *
+ * <p>Only the representation needed by the running benchmark is generated, so the columnar variant
+ * can be pushed to 50M points ({@code -Pjmh.points=50000000}) without materializing 50M objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptoAnalysisBenchmark {
+
+    private static final String SYMBOL = "BTC";
+
+    @Param({"1000", "100000", "1000000"})
+    private int points;
+
+    private final CryptoAnalysisService service = new CryptoAnalysisService();
+    private final SyntheticPriceData data = new SyntheticPriceData(42);
+    private List<PricePoint> pricePoints;
+    private SyntheticPriceData.Columns columns;
+
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        if (params.getBenchmark().endsWith("Columnar")) {
+            columns = data.columns(points);
+        } else {
+            pricePoints = data.pricePoints(SYMBOL, points);
+        }
+    }
+
+    @Benchmark
+    public CryptoStats streamFourPasses() {
+        return legacyCalculateStats(SYMBOL, pricePoints);
+    }
+
+    @Benchmark
+    public CryptoStats singlePassPricePoints() {
+        return service.calculateStats(SYMBOL, pricePoints);
+    }
+
+    @Benchmark
+    public CryptoStats singlePassColumnar() {
+        return service.calculateStats(SYMBOL, columns.epochMillis(), columns.scaledPrices());
+    }
+
+    /** The previous stream-based implementation, kept as a baseline. */
+    private static CryptoStats legacyCalculateStats(String symbol, List<PricePoint> pricePoints) {
+        for (var pp : pricePoints) {
+            if (!pp.symbol().equals(symbol)) {
+                throw new IllegalArgumentException("Price point symbol mismatch");
+            }
+        }
+        var oldest =
+                pricePoints.stream().min(Comparator.comparing(PricePoint::timestamp)).orElseThrow();
+        var newest =
+                pricePoints.stream().max(Comparator.comparing(PricePoint::timestamp)).orElseThrow();
+        var minPrice =
+                pricePoints.stream()
+                        .map(pp -> pp.price().toBigDecimal())
+                        .min(BigDecimal::compareTo)
+                        .orElseThrow();
+        var maxPrice =
+                pricePoints.stream()
+                        .map(pp -> pp.price().toBigDecimal())
+                        .max(BigDecimal::compareTo)
+                        .orElseThrow();
+        var normalizedRange = maxPrice.subtract(minPrice).divide(minPrice, 4, RoundingMode.HALF_UP);
+        return new CryptoStats(
+                symbol,
+                oldest.price(),
+                newest.price(),
+                Price.of(minPrice),
+                Price.of(maxPrice),
+                normalizedRange);
+    }
+}
@@ -0,0 +1,58 @@
+package com.epam.xm.recommendations.benchmark;
+
+import com.epam.xm.recommendations.application.dto.CryptoRangeDto;
+import com.epam.xm.recommendations.application.dto.CryptoStatsDto;
+import com.epam.xm.recommendations.application.mapper.CryptoMapper;
+import com.epam.xm.recommendations.domain.CryptoStats;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Covers the REST hot paths that run after the service layer: ranking stats for {@code /sorted}
+ * and mapping domain objects to DTOs with {@link CryptoMapper}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptoMapperBenchmark {
+
+    @Param({"5", "500", "5000"})
+    private int symbols;
+
+    private final CryptoMapper mapper = Mappers.getMapper(CryptoMapper.class);
+    private List<CryptoStats> stats;
+
+    @Setup
+    public void setUp() {
+        stats = new SyntheticPriceData(42).stats(symbols);
+    }
+
+    @Benchmark
+    public List<CryptoRangeDto> sortAndMapRanges() {
+        return stats.stream()
+                .sorted(Comparator.comparing(CryptoStats::normalizedRange).reversed())
+                .map(mapper::toRangeDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<CryptoStatsDto> mapStats() {
+        return stats.stream().map(mapper::toDto).toList();
+    }
+}
@@ -0,0 +1,174 @@
+package com.epam.xm.recommendations.benchmark;
+
+import com.epam.xm.recommendations.domain.CsvImportService;
+import com.epam.xm.recommendations.domain.ImportLedger;
+import com.epam.xm.recommendations.domain.ImportThrottle;
+import com.epam.xm.recommendations.domain.PricePartitions;
+import com.epam.xm.recommendations.infrastructure.config.AppEtlProperties;
+import com.epam.xm.recommendations.infrastructure.config.AppImportProperties;
+import com.epam.xm.recommendations.infrastructure.persistence.CopyPriceLoader;
+import com.epam.xm.recommendations.infrastructure.persistence.DailyStatsRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Measures the CSV import pipeline ({@code processFile}/{@code processRows}) end to end, minus the
+ * database: rows are parsed and batched exactly as in production, but batches are handed to a
+ * counting {@link JdbcTemplate} stub.
+ *
+ * <p>Each invocation imports exactly {@code totalPoints} rows spread over {@code symbols} files,
+ * or over {@code totalPoints} one-row files when there are fewer rows than symbols. Reported time
+ * is per full import, so rows/s = totalPoints / score.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvImportBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final DataSize CHUNK_SIZE = DataSize.ofMegabytes(64);
+    private static final int MAX_CONCURRENT_FILES = 16;
+    private static final int POOL_SIZE = 20;
+    private static final double WRITE_POOL_SHARE = 0.25;
+    private static final int PARTITION_MONTHS_AHEAD = 3;
+
+    @Param({"5", "500", "5000"})
+    private int symbols;
+
+    @Param({"1000", "1000000"})
+    private long totalPoints;
+
+    private Path directory;
+    private CountingJdbcTemplate jdbcTemplate;
+    private CsvImportService importService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("csv-import-bench");
+        writeCsvFiles(directory, symbols, totalPoints);
+        jdbcTemplate = new CountingJdbcTemplate();
+        importService = newImportService(jdbcTemplate, directory);
+    }
+
+    /**
+     * Writes {@code totalPoints} rows over at most {@code symbolCount} files, spreading the rows
+     * that do not divide evenly over the first files, so every parameter combination imports
+     * exactly the configured number of rows.
+     */
+    private static void writeCsvFiles(Path directory, int symbolCount, long totalPoints)
+            throws IOException {
+        var data = new SyntheticPriceData(42);
+        var fileSymbols = SyntheticPriceData.symbols((int) Math.min(symbolCount, totalPoints));
+        long pointsPerSymbol = totalPoints / fileSymbols.size();
+        long remainder = totalPoints % fileSymbols.size();
+        for (int i = 0; i < fileSymbols.size(); i++) {
+            String symbol = fileSymbols.get(i);
+            data.writeCsv(
+                    directory.resolve(symbol + "_values.csv"),
+                    symbol,
+                    pointsPerSymbol + (i < remainder ? 1 : 0));
+        }
+    }
+
+    /**
+     * Wires the import service as configured by default, except that every file is imported in
+     * full and no event listener, transaction manager or database partitions are involved.
+     */
+    private static CsvImportService newImportService(JdbcTemplate jdbcTemplate, Path directory) {
+        var etlProperties =
+                new AppEtlProperties(
+                        BATCH_SIZE,
+                        AppEtlProperties.IngestMode.BATCH,
+                        false,
+                        CHUNK_SIZE,
+                        MAX_CONCURRENT_FILES,
+                        WRITE_POOL_SHARE,
+                        PARTITION_MONTHS_AHEAD);
+        var throttle =
+                new ImportThrottle(
+                        MAX_CONCURRENT_FILES,
+                        ImportThrottle.writersFor(POOL_SIZE, WRITE_POOL_SHARE),
+                        new SimpleMeterRegistry());
+        return new CsvImportService(
+                jdbcTemplate,
+                new AppImportProperties(directory.toString()),
+                etlProperties,
+                new CopyPriceLoader(jdbcTemplate),
+                new DailyStatsRollup(jdbcTemplate),
+                ImportLedger.DISABLED,
+                event -> {},
+                TransactionOperations.withoutTransaction(),
+                throttle,
+                PricePartitions.NONE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long importAll() {
+        importService.importCsvFiles();
+        return jdbcTemplate.rows.get();
+    }
+
+    /**
+     * Accepts batches without a database, reporting every row as inserted. Only quote rows, bound
+     * through a {@link BatchPreparedStatementSetter}, are counted; daily rollup merges go through
+     * the list overload of the same stub.
+     */
+    static final class CountingJdbcTemplate extends JdbcTemplate {
+
+        private final AtomicLong rows = new AtomicLong();
+
+        @Override
+        public int[] batchUpdate(String sql, BatchPreparedStatementSetter pss) {
+            rows.addAndGet(pss.getBatchSize());
+            return inserted(pss.getBatchSize());
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            return inserted(batchArgs.size());
+        }
+
+        private static int[] inserted(int size) {
+            var result = new int[size];
+            Arrays.fill(result, 1);
+            return result;
+        }
+    }
+}
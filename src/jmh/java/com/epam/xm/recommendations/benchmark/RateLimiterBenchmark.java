@@ -0,0 +1,139 @@
+package com.epam.xm.recommendations.benchmark;
+
+import com.epam.xm.recommendations.infrastructure.ratelimit.TokenBucketTable;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the per-IP rate limiter backends at a million distinct clients: the {@link
+ * TokenBucketTable} used by {@code RateLimitingFilter} against the previous design, a Caffeine map
+ * from IP to a Bucket4j {@link Bucket} with a 60-minute access expiry.
+ *
+ * <p>{@code tryConsume} measures throughput on eight threads against a limiter already holding a
+ * bucket for every client; add {@code -prof gc} for the allocation rate per request. {@code
+ * populate} fills an empty limiter with all clients and reports the retained heap as the {@code
+ * retainedBytes} counter.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CAPACITY = 10;
+
+    @Param({"1000000"})
+    private int clients;
+
+    @Param({"table", "caffeine-bucket4j"})
+    private String limiter;
+
+    private String[] ips;
+    private Predicate<String> populated;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ips = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            ips[i] = "10." + (i >>> 16 & 0xff) + '.' + (i >>> 8 & 0xff) + '.' + (i & 0xff);
+        }
+        populated = newLimiter();
+        for (String ip : ips) {
+            populated.test(ip);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(8)
+    public boolean tryConsume(Cursor cursor) {
+        return populated.test(ips[cursor.next(clients)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public Predicate<String> populate(Footprint footprint) {
+        long before = usedHeap();
+        var fresh = newLimiter();
+        for (String ip : ips) {
+            fresh.test(ip);
+        }
+        footprint.retainedBytes = usedHeap() - before;
+        return fresh;
+    }
+
+    private Predicate<String> newLimiter() {
+        if ("table".equals(limiter)) {
+            // Twice as many slots as clients keeps evictions out of the measurement
+            var table =
+                    new TokenBucketTable(
+                            2 * clients, CAPACITY, CAPACITY, Duration.ofMinutes(1).toMillis());
+            return table::tryConsume;
+        }
+        Cache<String, Bucket> buckets =
+                Caffeine.newBuilder().expireAfterAccess(60, TimeUnit.MINUTES).build();
+        return ip -> buckets.get(ip, key -> newBucket()).tryConsume(1);
+    }
+
+    private static Bucket newBucket() {
+        return Bucket.builder()
+                .addLimit(
+                        Bandwidth.builder()
+                                .capacity(CAPACITY)
+                                .refillIntervally(CAPACITY, Duration.ofMinutes(1))
+                                .build())
+                .build();
+    }
+
+    private static long usedHeap() {
+        var runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Per-thread random walk over the client population. */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private final SplittableRandom random =
+                new SplittableRandom(Thread.currentThread().threadId());
+
+        int next(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    /** Heap retained by a populated limiter. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long retainedBytes;
+    }
+}
@@ -0,0 +1,173 @@
+package com.epam.xm.recommendations.benchmark;
+
+import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
+import com.epam.xm.recommendations.domain.PricePoint;
+import com.epam.xm.recommendations.domain.PriceStatsAccumulator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic market data for benchmarks.
+ *
+ * <p>Prices follow a bounded random walk with hourly ticks starting at 2022-01-01T00:00Z. All
+ * prices are produced as fixed-point values scaled by {@link PriceStatsAccumulator#PRICE_SCALE}, so
+ * the {@link PricePoint}, columnar and CSV representations describe exactly the same series. Data
+ * sets scale from a handful of points up to tens of millions; CSV output is streamed to disk and
+ * never held in memory.
+ */
+public final class SyntheticPriceData {
+
+    /** 2022-01-01T00:00:00Z, aligned with the bundled sample files. */
+    public static final long START_EPOCH_MILLI = 1_640_995_200_000L;
+
+    /** One tick per hour. */
+    public static final long TICK_MILLIS = 3_600_000L;
+
+    private static final long START_PRICE = 4_680_000_000_000L;
+    private static final long MAX_STEP = 50_000_000_000L;
+
+    private final long seed;
+
+    /**
+     * @param seed random seed; equal seeds yield equal data sets
+     */
+    public SyntheticPriceData(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Builds {@code count} distinct tickers matching the API pattern {@code ^[A-Z]{3,10}$}.
+     *
+     * @param count number of symbols (5 to 5,000 in the shipped benchmarks)
+     * @return symbols such as {@code AAAA}, {@code AAAB}, ...
+     */
+    public static List<String> symbols(int count) {
+        var symbols = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            var chars = new char[4];
+            int value = i;
+            for (int pos = chars.length - 1; pos >= 0; pos--) {
+                chars[pos] = (char) ('A' + value % 26);
+                value /= 26;
+            }
+            symbols.add(new String(chars));
+        }
+        return symbols;
+    }
+
+    /**
+     * Generates a columnar series.
+     *
+     * @param points number of ticks
+     * @return aligned timestamp and scaled price columns
+     */
+    public Columns columns(int points) {
+        var random = new SplittableRandom(seed);
+        var epochMillis = new long[points];
+        var scaledPrices = new long[points];
+        long price = START_PRICE;
+        for (int i = 0; i < points; i++) {
+            price = nextPrice(random, price);
+            epochMillis[i] = START_EPOCH_MILLI + i * TICK_MILLIS;
+            scaledPrices[i] = price;
+        }
+        return new Columns(epochMillis, scaledPrices);
+    }
+
+    /**
+     * Generates a series of domain price points.
+     *
+     * @param symbol ticker assigned to every point
+     * @param points number of ticks
+     * @return price points in chronological order
+     */
+    public List<PricePoint> pricePoints(String symbol, int points) {
+        var columns = columns(points);
+        var pricePoints = new ArrayList<PricePoint>(points);
+        for (int i = 0; i < points; i++) {
+            var timestamp = Instant.ofEpochMilli(columns.epochMillis()[i]);
+            var price = Price.ofScaled(columns.scaledPrices()[i]);
+            pricePoints.add(new PricePoint(timestamp, symbol, price));
+        }
+        return pricePoints;
+    }
+
+    /**
+     * Generates unsorted statistics for {@code symbolCount} coins, as returned by the read path.
+     *
+     * @param symbolCount number of symbols
+     * @return one {@link CryptoStats} per symbol
+     */
+    public List<CryptoStats> stats(int symbolCount) {
+        var random = new SplittableRandom(seed);
+        var stats = new ArrayList<CryptoStats>(symbolCount);
+        for (String symbol : symbols(symbolCount)) {
+            long scaledMin = random.nextLong(1, START_PRICE);
+            var min = Price.ofScaled(scaledMin);
+            var max = Price.ofScaled(scaledMin + random.nextLong(0, START_PRICE));
+            stats.add(
+                    new CryptoStats(symbol, min, max, min, max, Price.normalizedRange(min, max)));
+        }
+        return stats;
+    }
+
+    /**
+     * Streams one CSV file per symbol in the {@code timestamp,symbol,price} import layout.
+     *
+     * @param directory target directory
+     * @param symbolCount number of files to create
+     * @param pointsPerSymbol number of rows per file
+     * @throws IOException when a file cannot be written
+     */
+    public void writeCsvFiles(Path directory, int symbolCount, long pointsPerSymbol)
+            throws IOException {
+        for (String symbol : symbols(symbolCount)) {
+            writeCsv(directory.resolve(symbol + "_values.csv"), symbol, pointsPerSymbol);
+        }
+    }
+
+    /**
+     * Streams a single CSV file without materializing the series.
+     *
+     * @param file target file
+     * @param symbol ticker written to every row
+     * @param points number of rows
+     * @throws IOException when the file cannot be written
+     */
+    public void writeCsv(Path file, String symbol, long points) throws IOException {
+        var random = new SplittableRandom(seed ^ symbol.hashCode());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            writer.write("timestamp,symbol,price\n");
+            long price = START_PRICE;
+            for (long i = 0; i < points; i++) {
+                price = nextPrice(random, price);
+                writer.write(Long.toString(START_EPOCH_MILLI + i * TICK_MILLIS));
+                writer.write(',');
+                writer.write(symbol);
+                writer.write(',');
+                writer.write(Price.ofScaled(price).toString());
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static long nextPrice(SplittableRandom random, long price) {
+        return Math.max(1, price + random.nextLong(-MAX_STEP, MAX_STEP));
+    }
+
+    /**
+     * Aligned primitive columns of a generated series.
+     *
+     * @param epochMillis tick timestamps
+     * @param scaledPrices prices scaled by {@link PriceStatsAccumulator#PRICE_SCALE}
+     */
+    public record Columns(long[] epochMillis, long[] scaledPrices) {}
+}
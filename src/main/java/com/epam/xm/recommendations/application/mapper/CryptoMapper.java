@@ -3,6 +3,8 @@ package com.epam.xm.recommendations.application.mapper;
 import com.epam.xm.recommendations.application.dto.CryptoRangeDto;
 import com.epam.xm.recommendations.application.dto.CryptoStatsDto;
 import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
+import java.math.BigDecimal;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants;
 
@@ -10,7 +12,8 @@ import org.mapstruct.MappingConstants;
  * MapStruct mapper translating domain objects to API DTOs.
  *
  * <p>Mapping is kept trivial (field-to-field) to preserve domain-calculated values such as
- * normalized range without re-computation on the edges.
+ * normalized range without re-computation on the edges. This is the only place fixed-point {@link
+ * Price}s become {@link BigDecimal}s for API responses.
  */
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface CryptoMapper {
@@ -29,4 +32,14 @@ public interface CryptoMapper {
      * @return API DTO with symbol and normalized range
      */
     CryptoRangeDto toRangeDto(CryptoStats stats);
+
+    /**
+     * Renders a fixed-point price with its full scale of 8 fractional digits.
+     *
+     * @param price domain price
+     * @return decimal price
+     */
+    default BigDecimal toBigDecimal(Price price) {
+        return price.toBigDecimal();
+    }
 }
@@ -0,0 +1,137 @@
+package com.epam.xm.recommendations.application.service;
+
+import com.epam.xm.recommendations.domain.SymbolValidator;
+import com.epam.xm.recommendations.infrastructure.config.AppCacheWarmUpProperties;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputes {@code crypto-ranges} and the {@code crypto-stats} entry of every supported symbol
+ * when the application starts, so the first requests after a deploy do not pay the cold path.
+ *
+ * <p>Warm-up runs in the background on virtual threads, at most {@code
+ * app.cache.warm-up.parallelism} computations at a time, while the readiness probe reports the
+ * instance as out of service. Entries already in the shared cache tier are picked up instead of
+ * being recomputed. Symbols without data are counted as failed and do not block readiness, nor
+ * does a warm-up exceeding {@code app.cache.warm-up.timeout}, whose remaining computations are
+ * interrupted.
+ */
+@Component
+public class CacheWarmUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheWarmUp.class);
+
+    private final CryptoApplicationService applicationService;
+    private final SymbolValidator symbolValidator;
+    private final AppCacheWarmUpProperties properties;
+    private final AtomicInteger warmed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile int total;
+    private volatile boolean complete;
+
+    /**
+     * @param applicationService cache-annotated service whose entries are computed
+     * @param symbolValidator source of the supported symbols
+     * @param properties warm-up settings
+     */
+    public CacheWarmUp(
+            CryptoApplicationService applicationService,
+            SymbolValidator symbolValidator,
+            AppCacheWarmUpProperties properties) {
+        this.applicationService = applicationService;
+        this.symbolValidator = symbolValidator;
+        this.properties = properties;
+    }
+
+    /** Starts the warm-up once the context is up, before the instance accepts traffic. */
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (!properties.enabled()) {
+            complete = true;
+            return;
+        }
+        Thread.ofVirtual().name("cache-warm-up").start(this::warmUp);
+    }
+
+    /**
+     * @return entries computed so far and whether warm-up is over
+     */
+    public Progress progress() {
+        return new Progress(total, warmed.get(), failed.get(), complete);
+    }
+
+    /** Computes all entries and waits for them, up to the configured timeout. */
+    void warmUp() {
+        long start = System.nanoTime();
+        List<String> symbols = List.copyOf(symbolValidator.getSupportedSymbols());
+        total = symbols.size() + 1;
+        var permits = new Semaphore(properties.parallelism());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            executor.execute(() -> warm(permits, "ranking", applicationService::getAllSortedStats));
+            for (String symbol : symbols) {
+                executor.execute(
+                        () -> warm(permits, symbol, () -> applicationService.getStats(symbol)));
+            }
+            executor.shutdown();
+            long timeoutMillis = properties.timeout().toMillis();
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn(
+                        "Cache warm-up not finished after {}, reporting ready anyway",
+                        properties.timeout());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            complete = true;
+        }
+        LOGGER.info(
+                "Cache warm-up computed {} of {} entries ({} failed) in {} ms",
+                warmed.get(),
+                total,
+                failed.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void warm(Semaphore permits, String entry, Runnable computation) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            // warm-up timed out while this entry was waiting for a permit
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            computation.run();
+            warmed.incrementAndGet();
+        } catch (RuntimeException e) {
+            // e.g. a supported symbol whose file has not been imported yet
+            LOGGER.debug("Could not warm up {}: {}", entry, e.getMessage());
+            failed.incrementAndGet();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Warm-up progress.
+     *
+     * @param total entries to compute: the ranking plus one per supported symbol
+     * @param warmed entries computed
+     * @param failed entries that could not be computed
+     * @param complete whether warm-up is over or disabled
+     */
+    public record Progress(int total, int warmed, int failed, boolean complete) {}
+}
@@ -2,17 +2,16 @@ package com.epam.xm.recommendations.application.service;
 
 import com.epam.xm.recommendations.domain.*;
 import com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException;
+import com.epam.xm.recommendations.infrastructure.error.InvalidDataException;
 import com.epam.xm.recommendations.infrastructure.error.UnsupportedCryptoException;
-import com.epam.xm.recommendations.infrastructure.persistence.PriceEntity;
-import com.epam.xm.recommendations.infrastructure.persistence.PriceRepository;
+import com.epam.xm.recommendations.infrastructure.persistence.DailyWinnerEntity;
+import com.epam.xm.recommendations.infrastructure.persistence.DailyWinnerRepository;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,28 +22,56 @@ import org.springframework.transaction.annotation.Transactional;
  * <p>Read-only transactions are used to hint the persistence provider about the workload and to
  * avoid accidental writes. Cache annotations reduce database pressure for frequently requested
  * symbols and precomputed ranges.
+ *
+ * <p>Read-only transactions are served by the replica pool. The {@code refresh*} methods, called
+ * right after an import, run read-write on the primary instead so that replication lag can never
+ * put stale statistics into the cache.
+ *
+ * <p>All statistics come from the configured {@link PriceReadModel}: by default the {@code
+ * crypto_daily_stats} rollup maintained by the importer, or an in-process columnar copy of the
+ * quotes with {@code app.read-model.type=memory}.
+ *
+ * <p>Per-day winners of completed UTC days never change once imported, so they are served from the
+ * {@code crypto_daily_winners} table and cached without expiry in {@code crypto-daily-range}. The
+ * current day is always recomputed from the read model.
+ *
+ * <p>{@code crypto-stats} and {@code crypto-ranges} are read with {@code sync = true}, so
+ * concurrent misses on one key share a single computation. Their caches also refresh entries
+ * ahead of expiry through {@link #loadStats(String)} and {@link #loadAllSortedStats()}, serving
+ * the previous value until the background recompute completes.
  */
 @Service
 @Transactional(readOnly = true)
 public class CryptoApplicationService {
 
-    private final PriceRepository priceRepository;
-    private final CryptoAnalysisService analysisService;
+    /** SpEL condition limiting per-day caching to completed UTC days. */
+    private static final String PAST_DAY =
+            "#date.isBefore(T(java.time.LocalDate).now(T(java.time.ZoneOffset).UTC))";
+
+    /** Key of the single {@code crypto-ranges} entry. */
+    public static final String RANKING_KEY = "all";
+
+    private final PriceReadModel priceReadModel;
+    private final DailyWinnerRepository dailyWinnerRepository;
+    private final DailyRangeHistory dailyRangeHistory;
     private final SymbolValidator symbolValidator;
 
     /**
      * Creates the application service.
      *
-     * @param priceRepository repository for accessing time series
-     * @param analysisService domain service for computing statistics
+     * @param priceReadModel query side of the price history
+     * @param dailyWinnerRepository repository of precomputed per-day winners
+     * @param dailyRangeHistory per-day rankings over ranges of days
      * @param symbolValidator validator for supported tickers
      */
     public CryptoApplicationService(
-            PriceRepository priceRepository,
-            CryptoAnalysisService analysisService,
+            PriceReadModel priceReadModel,
+            DailyWinnerRepository dailyWinnerRepository,
+            DailyRangeHistory dailyRangeHistory,
             SymbolValidator symbolValidator) {
-        this.priceRepository = priceRepository;
-        this.analysisService = analysisService;
+        this.priceReadModel = priceReadModel;
+        this.dailyWinnerRepository = dailyWinnerRepository;
+        this.dailyRangeHistory = dailyRangeHistory;
         this.symbolValidator = symbolValidator;
     }
 
@@ -58,64 +85,261 @@ public class CryptoApplicationService {
      * @throws com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException when no data
      *     exists for the symbol
      */
-    @Cacheable(value = "crypto-stats", key = "#symbol")
+    @Cacheable(value = "crypto-stats", key = "#symbol", sync = true)
     public CryptoStats getStats(String symbol) {
+        return computeStats(symbol);
+    }
+
+    /**
+     * Returns statistics for a single symbol over a time window.
+     *
+     * <p>Windows are not cached: the read model answers them from a handful of aggregate lookups
+     * regardless of the window length.
+     *
+     * @param symbol coin ticker
+     * @param from inclusive window start
+     * @param to inclusive window end
+     * @return computed statistics
+     * @throws com.epam.xm.recommendations.infrastructure.error.UnsupportedCryptoException when the
+     *     symbol is not supported
+     * @throws com.epam.xm.recommendations.infrastructure.error.InvalidDataException when {@code
+     *     from} is after {@code to}
+     * @throws com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException when no data
+     *     exists for the symbol in the window
+     */
+    public CryptoStats getStats(String symbol, Instant from, Instant to) {
         validateSymbol(symbol);
-        List<PriceEntity> entities = priceRepository.findAllBySymbol(symbol);
-        if (entities.isEmpty()) {
-            throw new CryptoNotFoundException("No data found for symbol: " + symbol);
+        if (from.isAfter(to)) {
+            throw new InvalidDataException("Window start " + from + " is after its end " + to);
         }
-        return analysisService.calculateStats(symbol, mapToPricePoints(entities));
+        return priceReadModel
+                .findStats(symbol, from, to)
+                .orElseThrow(
+                        () ->
+                                new CryptoNotFoundException(
+                                        "No data found for symbol: "
+                                                + symbol
+                                                + " between "
+                                                + from
+                                                + " and "
+                                                + to));
+    }
+
+    /**
+     * Recomputes statistics for a single symbol and replaces the cached entry.
+     *
+     * @param symbol coin ticker
+     * @return fresh statistics
+     * @throws com.epam.xm.recommendations.infrastructure.error.UnsupportedCryptoException when the
+     *     symbol is not supported
+     * @throws com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException when no data
+     *     exists for the symbol
+     */
+    @Transactional
+    @CachePut(value = "crypto-stats", key = "#symbol")
+    public CryptoStats refreshStats(String symbol) {
+        return computeStats(symbol);
+    }
+
+    /**
+     * Drops the cached statistics of a single symbol.
+     *
+     * @param symbol coin ticker
+     */
+    @CacheEvict(value = "crypto-stats", key = "#symbol")
+    public void evictStats(String symbol) {
+        // eviction is performed by the cache interceptor
+    }
+
+    /**
+     * Computes statistics for a single symbol without touching the cache; used by the {@code
+     * crypto-stats} loader to refresh entries in the background.
+     *
+     * @param symbol coin ticker
+     * @return fresh statistics
+     * @throws com.epam.xm.recommendations.infrastructure.error.UnsupportedCryptoException when the
+     *     symbol is not supported
+     * @throws com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException when no data
+     *     exists for the symbol
+     */
+    public CryptoStats loadStats(String symbol) {
+        return computeStats(symbol);
+    }
+
+    private CryptoStats computeStats(String symbol) {
+        validateSymbol(symbol);
+        return priceReadModel
+                .findStats(symbol)
+                .orElseThrow(
+                        () -> new CryptoNotFoundException("No data found for symbol: " + symbol));
     }
 
     /**
      * Returns all symbols present in storage, ranked by descending normalized range.
      *
+     * <p>Aggregation is left to the read model, which yields one summary per symbol without
+     * materializing individual quotes.
+     *
      * @return list of stats sorted by volatility proxy
      */
-    @Cacheable("crypto-ranges")
+    @Cacheable(value = "crypto-ranges", key = "'" + RANKING_KEY + "'", sync = true)
     public List<CryptoStats> getAllSortedStats() {
-        List<PriceEntity> allEntities = priceRepository.findAll();
-        Map<String, List<PriceEntity>> grouped =
-                allEntities.stream().collect(Collectors.groupingBy(PriceEntity::getSymbol));
+        return computeAllSortedStats();
+    }
 
-        return grouped.entrySet().stream()
-                .map(
-                        entry ->
-                                analysisService.calculateStats(
-                                        entry.getKey(), mapToPricePoints(entry.getValue())))
-                .sorted(Comparator.comparing(CryptoStats::normalizedRange).reversed())
-                .toList();
+    /**
+     * Recomputes the ranking and replaces the cached list.
+     *
+     * @return list of stats sorted by volatility proxy
+     */
+    @Transactional
+    @CachePut(value = "crypto-ranges", key = "'" + RANKING_KEY + "'")
+    public List<CryptoStats> refreshAllSortedStats() {
+        return computeAllSortedStats();
+    }
+
+    /**
+     * Computes the ranking without touching the cache; used by the {@code crypto-ranges} loader to
+     * refresh the entry in the background.
+     *
+     * @return list of stats sorted by volatility proxy
+     */
+    public List<CryptoStats> loadAllSortedStats() {
+        return computeAllSortedStats();
+    }
+
+    private List<CryptoStats> computeAllSortedStats() {
+        return RangeRanking.rank(priceReadModel.findAllStats());
+    }
+
+    /**
+     * Returns the {@code n} symbols with the highest normalized range.
+     *
+     * <p>The rows are selected with a bounded heap instead of ranking every symbol, and each
+     * {@code n} is cached on its own in {@code crypto-top-ranges}, so a dashboard polling the top
+     * of thousands of symbols neither sorts nor transfers the full ranking.
+     *
+     * @param n number of symbols
+     * @return at most {@code n} stats sorted by volatility proxy
+     */
+    @Cacheable(value = "crypto-top-ranges", key = "#n", sync = true)
+    public List<CryptoStats> getTopSortedStats(int n) {
+        return computeTopSortedStats(n);
+    }
+
+    /**
+     * Computes the top of the ranking without touching the cache; used by the {@code
+     * crypto-top-ranges} loader to refresh entries in the background.
+     *
+     * @param n number of symbols
+     * @return at most {@code n} stats sorted by volatility proxy
+     */
+    public List<CryptoStats> loadTopSortedStats(int n) {
+        return computeTopSortedStats(n);
+    }
+
+    /** Drops every cached top of the ranking; they are recomputed on their next read. */
+    @CacheEvict(value = "crypto-top-ranges", allEntries = true)
+    public void evictTopSortedStats() {
+        // eviction is performed by the cache interceptor
+    }
+
+    private List<CryptoStats> computeTopSortedStats(int n) {
+        return RangeRanking.top(priceReadModel.findAllStats(), n);
     }
 
     /**
      * Finds the coin with the highest normalized range for a given day (UTC).
      *
+     * <p>Ties on the normalized range are resolved by the alphabetically first symbol.
+     *
      * @param date target day in UTC
      * @return stats for the most volatile coin on that day
      * @throws com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException when no data
      *     exists for the specified date
      */
+    @Cacheable(value = "crypto-daily-range", key = "#date", condition = PAST_DAY)
     public CryptoStats getHighestRangeForDate(LocalDate date) {
-        OffsetDateTime start = date.atStartOfDay().atOffset(ZoneOffset.UTC);
-        OffsetDateTime end = date.atTime(LocalTime.MAX).atOffset(ZoneOffset.UTC);
-
-        List<PriceEntity> allEntities = priceRepository.findAllByPriceTimestampBetween(start, end);
-        Map<String, List<PriceEntity>> grouped =
-                allEntities.stream().collect(Collectors.groupingBy(PriceEntity::getSymbol));
-
-        return grouped.entrySet().stream()
-                .map(
-                        entry ->
-                                analysisService.calculateStats(
-                                        entry.getKey(), mapToPricePoints(entry.getValue())))
-                .max(Comparator.comparing(CryptoStats::normalizedRange))
+        if (date.isBefore(LocalDate.now(ZoneOffset.UTC))) {
+            var winner = dailyWinnerRepository.findById(date);
+            if (winner.isPresent()) {
+                return toStats(winner.get());
+            }
+        }
+        return computeHighestRangeForDate(date);
+    }
+
+    /**
+     * Recomputes the winner of a day from the read model, stores it in {@code
+     * crypto_daily_winners} and replaces the cached answer of completed days.
+     *
+     * @param date target day in UTC
+     * @return stats for the most volatile coin on that day
+     * @throws com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException when no data
+     *     exists for the specified date
+     */
+    @Transactional
+    @CachePut(value = "crypto-daily-range", key = "#date", condition = PAST_DAY)
+    public CryptoStats refreshHighestRangeForDate(LocalDate date) {
+        var winner = computeHighestRangeForDate(date);
+        dailyWinnerRepository.save(
+                new DailyWinnerEntity(
+                        date,
+                        winner.symbol(),
+                        winner.oldestPrice().toBigDecimal(),
+                        winner.newestPrice().toBigDecimal(),
+                        winner.minPrice().toBigDecimal(),
+                        winner.maxPrice().toBigDecimal(),
+                        winner.normalizedRange()));
+        return winner;
+    }
+
+    private CryptoStats computeHighestRangeForDate(LocalDate date) {
+        return priceReadModel.findStatsForDay(date).stream()
+                .min(RangeRanking.ORDER)
                 .orElseThrow(
                         () ->
                                 new CryptoNotFoundException(
                                         "No crypto data found for date: " + date));
     }
 
+    /**
+     * Streams the {@code k} coins with the highest normalized range of every day in a range.
+     *
+     * <p>The days are ranked in one query over the {@code crypto_daily_stats} rollup, whichever
+     * read model is configured, and the rows are handed to {@code sink} as they are read. Nothing
+     * is cached: the result size grows with the range, and a range of past days costs a single
+     * index scan of the rollup. Days without data produce no rows.
+     *
+     * @param from first day (UTC), inclusive
+     * @param to last day (UTC), inclusive
+     * @param k number of coins per day
+     * @param sink receives the rows ordered by day, then by rank
+     * @return number of rows streamed
+     * @throws com.epam.xm.recommendations.infrastructure.error.InvalidDataException when {@code
+     *     from} is after {@code to} or {@code k} is not positive
+     */
+    public long streamHighestRanges(
+            LocalDate from, LocalDate to, int k, DailyRangeHistory.DailyRangeSink sink) {
+        if (from.isAfter(to)) {
+            throw new InvalidDataException("Range start " + from + " is after its end " + to);
+        }
+        if (k < 1) {
+            throw new InvalidDataException("k must be positive: " + k);
+        }
+        return dailyRangeHistory.streamTopRanges(from, to, k, sink);
+    }
+
+    private static CryptoStats toStats(DailyWinnerEntity winner) {
+        return new CryptoStats(
+                winner.getSymbol(),
+                Price.of(winner.getOldestPrice()),
+                Price.of(winner.getNewestPrice()),
+                Price.of(winner.getMinPrice()),
+                Price.of(winner.getMaxPrice()),
+                winner.getNormalizedRange());
+    }
+
     /**
      * Verifies that the provided symbol is supported.
      *
@@ -128,21 +352,4 @@ public class CryptoApplicationService {
             throw new UnsupportedCryptoException("Symbol " + symbol + " is not supported");
         }
     }
-
-    /**
-     * Maps persistence entities to immutable domain points.
-     *
-     * @param entities list of JPA entities
-     * @return list of {@link PricePoint}
-     */
-    private List<PricePoint> mapToPricePoints(List<PriceEntity> entities) {
-        return entities.stream()
-                .map(
-                        e ->
-                                new PricePoint(
-                                        e.getPriceTimestamp().toInstant(),
-                                        e.getSymbol(),
-                                        e.getPrice()))
-                .toList();
-    }
 }
@@ -0,0 +1,62 @@
+package com.epam.xm.recommendations.application.service;
+
+import com.epam.xm.recommendations.domain.PricesImportedEvent;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@code crypto-stats}, {@code crypto-ranges}, {@code crypto-top-ranges} and {@code
+ * crypto-daily-range} caches, and the {@code crypto_daily_winners} table, in line with imported
+ * data.
+ *
+ * <p>Only symbols and days that received new rows are recomputed, and the ranking is rebuilt
+ * exactly once per import run. Cached tops of the ranking are dropped, since the sizes requested
+ * are not known here. The listener runs synchronously on the ETL scheduler thread, so the
+ * work happens in the background and user requests keep being served from the previous cache
+ * entries until the fresh ones replace them.
+ */
+@Component
+public class CryptoCacheRefresher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CryptoCacheRefresher.class);
+
+    private final CryptoApplicationService applicationService;
+
+    /**
+     * @param applicationService cache-annotated service whose entries are refreshed
+     */
+    public CryptoCacheRefresher(CryptoApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    /**
+     * Refreshes cache entries affected by an import run.
+     *
+     * @param event symbols and days that received new rows
+     */
+    @EventListener
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void onPricesImported(PricesImportedEvent event) {
+        for (String symbol : event.symbols()) {
+            try {
+                applicationService.refreshStats(symbol);
+            } catch (RuntimeException e) {
+                // e.g. a symbol without a source file is not supported by the API
+                LOGGER.debug("Evicting stats for {}: {}", symbol, e.getMessage());
+                applicationService.evictStats(symbol);
+            }
+        }
+        applicationService.refreshAllSortedStats();
+        applicationService.evictTopSortedStats();
+        for (LocalDate day : event.days()) {
+            applicationService.refreshHighestRangeForDate(day);
+        }
+        LOGGER.info(
+                "Refreshed cached stats for {} symbols and {} days",
+                event.symbols().size(),
+                event.days().size());
+    }
+}
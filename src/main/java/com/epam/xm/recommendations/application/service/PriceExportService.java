@@ -0,0 +1,73 @@
+package com.epam.xm.recommendations.application.service;
+
+import com.epam.xm.recommendations.domain.PriceHistory;
+import com.epam.xm.recommendations.domain.PriceHistory.QuoteSink;
+import com.epam.xm.recommendations.domain.SymbolValidator;
+import com.epam.xm.recommendations.infrastructure.error.InvalidDataException;
+import com.epam.xm.recommendations.infrastructure.error.UnsupportedCryptoException;
+import java.time.Instant;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streams raw quotes for downstream consumers.
+ *
+ * <p>Each export runs in one read-only transaction on the replica pool, which keeps the database
+ * cursor open while the caller writes the rows out, and holds a replica connection for as long as
+ * the client takes to read the response. Arguments are validated before the first quote is
+ * streamed, so invalid requests still get a regular error response.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PriceExportService {
+
+    private final PriceHistory priceHistory;
+    private final SymbolValidator symbolValidator;
+
+    /**
+     * @param priceHistory source of raw quotes
+     * @param symbolValidator validator for supported tickers
+     */
+    public PriceExportService(PriceHistory priceHistory, SymbolValidator symbolValidator) {
+        this.priceHistory = priceHistory;
+        this.symbolValidator = symbolValidator;
+    }
+
+    /**
+     * Streams every quote of a symbol.
+     *
+     * @param symbol coin ticker
+     * @param sink receives the quotes in ascending time order
+     * @return number of quotes streamed
+     * @throws UnsupportedCryptoException when the symbol is not supported
+     */
+    public long exportQuotes(String symbol, QuoteSink sink) {
+        validateSymbol(symbol);
+        return priceHistory.streamQuotes(symbol, sink);
+    }
+
+    /**
+     * Streams the quotes of a symbol within a time window.
+     *
+     * @param symbol coin ticker
+     * @param from inclusive window start
+     * @param to inclusive window end
+     * @param sink receives the quotes in ascending time order
+     * @return number of quotes streamed
+     * @throws UnsupportedCryptoException when the symbol is not supported
+     * @throws InvalidDataException when {@code from} is after {@code to}
+     */
+    public long exportQuotes(String symbol, Instant from, Instant to, QuoteSink sink) {
+        validateSymbol(symbol);
+        if (from.isAfter(to)) {
+            throw new InvalidDataException("Window start " + from + " is after its end " + to);
+        }
+        return priceHistory.streamQuotes(symbol, from, to, sink);
+    }
+
+    private void validateSymbol(String symbol) {
+        if (!symbolValidator.isSupported(symbol)) {
+            throw new UnsupportedCryptoException("Symbol " + symbol + " is not supported");
+        }
+    }
+}
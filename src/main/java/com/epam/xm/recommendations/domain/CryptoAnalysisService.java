@@ -1,19 +1,19 @@
 package com.epam.xm.recommendations.domain;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Comparator;
 import java.util.List;
 import org.springframework.stereotype.Service;
 
 /**
  * Performs core domain analytics on crypto price time series.
  *
- * <p>The service intentionally performs all arithmetic using {@link java.math.BigDecimal} to avoid
- * precision loss inherent to binary floating-point types. Market data often mixes very large and
- * very small magnitudes; rounding errors would compound when computing ratios (e.g., normalized
- * range), potentially changing ordering and downstream decisions. By fixing scale and using {@link
- * java.math.RoundingMode#HALF_UP} the results are stable and auditable.
+ * <p>The service intentionally performs all arithmetic exactly, on fixed-point {@link Price}s, to
+ * avoid precision loss inherent to binary floating-point types. Market data often mixes very large
+ * and very small magnitudes; rounding errors would compound when computing ratios (e.g.,
+ * normalized range), potentially changing ordering and downstream decisions. Prices are compared
+ * as scaled {@code long}s and the only rounding, of the normalized range, uses a fixed scale and
+ * {@link java.math.RoundingMode#HALF_UP}, with exactly the result of the equivalent {@link
+ * BigDecimal} division, so the results are stable and auditable.
  */
 @Service
 public class CryptoAnalysisService {
@@ -36,7 +36,12 @@ public class CryptoAnalysisService {
             throw new IllegalArgumentException("Price points list cannot be empty");
         }
 
-        // Verify that all points belong to the same symbol (optional but useful)
+        // Single pass: validate the symbol and fold oldest/newest/min/max together. Strict
+        // comparisons keep the first point on ties, as Stream.min/max would.
+        PricePoint oldest = pricePoints.getFirst();
+        PricePoint newest = oldest;
+        long minPrice = oldest.price().scaled();
+        long maxPrice = minPrice;
         for (var pp : pricePoints) {
             if (!pp.symbol().equals(symbol)) {
                 throw new IllegalArgumentException(
@@ -45,30 +50,118 @@ public class CryptoAnalysisService {
                                 + " but found "
                                 + pp.symbol());
             }
+            if (pp.timestamp().isBefore(oldest.timestamp())) {
+                oldest = pp;
+            }
+            if (pp.timestamp().isAfter(newest.timestamp())) {
+                newest = pp;
+            }
+            long price = pp.price().scaled();
+            if (price < minPrice) {
+                minPrice = price;
+            }
+            if (price > maxPrice) {
+                maxPrice = price;
+            }
         }
 
-        var oldest =
-                pricePoints.stream().min(Comparator.comparing(PricePoint::timestamp)).orElseThrow();
-
-        var newest =
-                pricePoints.stream().max(Comparator.comparing(PricePoint::timestamp)).orElseThrow();
+        var min = Price.ofScaled(minPrice);
+        var max = Price.ofScaled(maxPrice);
+        return new CryptoStats(
+                symbol,
+                oldest.price(),
+                newest.price(),
+                min,
+                max,
+                Price.normalizedRange(min, max));
+    }
 
-        var minPrice =
-                pricePoints.stream()
-                        .map(PricePoint::price)
-                        .min(BigDecimal::compareTo)
-                        .orElseThrow();
+    /**
+     * Calculates summary statistics over primitive columnar input in a single allocation-free pass.
+     *
+     * <p>Prices are fixed-point values scaled by {@link PriceStatsAccumulator#PRICE_SCALE}, the
+     * same representation as {@link Price}, so the result is exactly the one {@link
+     * #calculateStats(String, List)} produces for the equivalent price points.
+     *
+     * @param symbol the coin ticker the columns belong to
+     * @param epochMillis quote timestamps in epoch milliseconds
+     * @param scaledPrices scaled prices aligned with {@code epochMillis}
+     * @return computed {@link CryptoStats}
+     * @throws IllegalArgumentException if the columns are empty or differ in length
+     */
+    public CryptoStats calculateStats(String symbol, long[] epochMillis, long[] scaledPrices) {
+        if (epochMillis.length != scaledPrices.length) {
+            throw new IllegalArgumentException("Timestamp and price columns differ in length");
+        }
+        return calculateStats(symbol, epochMillis, scaledPrices, 0, epochMillis.length);
+    }
 
-        var maxPrice =
-                pricePoints.stream()
-                        .map(PricePoint::price)
-                        .max(BigDecimal::compareTo)
-                        .orElseThrow();
+    /**
+     * Calculates summary statistics over a slice of primitive columnar input.
+     *
+     * @param symbol the coin ticker the columns belong to
+     * @param epochMillis quote timestamps in epoch milliseconds
+     * @param scaledPrices scaled prices aligned with {@code epochMillis}
+     * @param from inclusive start index
+     * @param to exclusive end index
+     * @return computed {@link CryptoStats}
+     * @throws IllegalArgumentException if the slice is empty
+     */
+    public CryptoStats calculateStats(
+            String symbol, long[] epochMillis, long[] scaledPrices, int from, int to) {
+        var accumulator = new PriceStatsAccumulator();
+        accumulator.acceptAll(epochMillis, scaledPrices, from, to);
+        return statsFromAccumulator(symbol, accumulator);
+    }
 
-        // (max - min) / min
-        var normalizedRange = maxPrice.subtract(minPrice).divide(minPrice, 4, RoundingMode.HALF_UP);
+    /**
+     * Converts folded fixed-point aggregates into {@link CryptoStats}.
+     *
+     * @param symbol the coin ticker
+     * @param accumulator accumulator holding at least one quote
+     * @return computed {@link CryptoStats}
+     * @throws IllegalArgumentException if the accumulator is empty
+     */
+    public CryptoStats statsFromAccumulator(String symbol, PriceStatsAccumulator accumulator) {
+        if (accumulator.isEmpty()) {
+            throw new IllegalArgumentException("Price points list cannot be empty");
+        }
+        return statsFromAggregates(
+                symbol,
+                Price.ofScaled(accumulator.oldestPrice()),
+                Price.ofScaled(accumulator.newestPrice()),
+                Price.ofScaled(accumulator.minPrice()),
+                Price.ofScaled(accumulator.maxPrice()));
+    }
 
+    /**
+     * Builds statistics from aggregates that were already computed elsewhere (e.g., by the
+     * database), applying the same normalized range formula as {@link #calculateStats(String,
+     * List)}.
+     *
+     * @param symbol the coin ticker
+     * @param oldestPrice price of the earliest quote
+     * @param newestPrice price of the latest quote
+     * @param minPrice minimum price; must be positive
+     * @param maxPrice maximum price
+     * @return computed {@link CryptoStats}
+     * @throws IllegalArgumentException if {@code minPrice} is not positive
+     */
+    public CryptoStats statsFromAggregates(
+            String symbol,
+            Price oldestPrice,
+            Price newestPrice,
+            Price minPrice,
+            Price maxPrice) {
+        if (!minPrice.isPositive()) {
+            throw new IllegalArgumentException("Minimum price must be positive");
+        }
         return new CryptoStats(
-                symbol, oldest.price(), newest.price(), minPrice, maxPrice, normalizedRange);
+                symbol,
+                oldestPrice,
+                newestPrice,
+                minPrice,
+                maxPrice,
+                Price.normalizedRange(minPrice, maxPrice));
     }
 }
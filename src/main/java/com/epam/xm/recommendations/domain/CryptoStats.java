@@ -1,22 +1,25 @@
 package com.epam.xm.recommendations.domain;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 /**
  * Immutable snapshot of computed statistics for a cryptocurrency symbol.
  *
- * <p>All monetary values are represented as {@link java.math.BigDecimal} to avoid precision loss.
- * The field {@code normalizedRange} follows the formula (max - min) / min and is rounded to scale 4
- * with HALF_UP at calculation time to provide stable ordering for sorting while keeping payload
- * small.
+ * <p>All monetary values are exact fixed-point {@link Price}s, converted to {@link BigDecimal} only
+ * in API responses and database columns. The field {@code normalizedRange} follows the formula
+ * (max - min) / min and is rounded to scale 4 with HALF_UP at calculation time to provide stable
+ * ordering for sorting while keeping payload small. Instances are serializable so they can be kept
+ * in the shared second-level cache.
  */
 public record CryptoStats(
         String symbol,
-        BigDecimal oldestPrice,
-        BigDecimal newestPrice,
-        BigDecimal minPrice,
-        BigDecimal maxPrice,
-        BigDecimal normalizedRange) {
+        Price oldestPrice,
+        Price newestPrice,
+        Price minPrice,
+        Price maxPrice,
+        BigDecimal normalizedRange)
+        implements Serializable {
     /**
      * Validates invariant fields.
      *
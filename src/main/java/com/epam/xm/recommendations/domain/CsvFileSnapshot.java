@@ -0,0 +1,207 @@
+package com.epam.xm.recommendations.domain;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+
+/**
+ * Size, modification time and line layout of a CSV file captured before it is imported.
+ *
+ * <p>Only complete lines are imported: {@link #lineEnd()} points just past the last {@code '\n'}
+ * and nothing after it is read, so a trailing line that is still being written is left for the
+ * first run that sees it terminated, which resumes exactly there. A last line is therefore only
+ * imported once it ends with a line break.
+ * Content fingerprints hash the length plus the first and last {@value #SAMPLE_BYTES} bytes of a
+ * prefix rather than the whole prefix, keeping the check cheap for multi-gigabyte files; in-place
+ * edits in the middle of a file with unchanged length and edges are not detected.
+ */
+final class CsvFileSnapshot {
+
+    static final int SAMPLE_BYTES = 64 * 1024;
+
+    private static final int SCAN_CHUNK = 8 * 1024;
+
+    private final String fileName;
+    private final long size;
+    private final Instant lastModified;
+    private final long lineEnd;
+
+    private CsvFileSnapshot(String fileName, long size, Instant lastModified, long lineEnd) {
+        this.fileName = fileName;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.lineEnd = lineEnd;
+    }
+
+    /**
+     * Captures the current state of an open file.
+     *
+     * @param path file path
+     * @param channel channel opened for reading on {@code path}
+     * @return snapshot of the file
+     * @throws IOException when the file cannot be read
+     */
+    static CsvFileSnapshot capture(Path path, FileChannel channel) throws IOException {
+        long size = channel.size();
+        // The ledger stores timestamps with microsecond precision
+        var lastModified =
+                Files.getLastModifiedTime(path).toInstant().truncatedTo(ChronoUnit.MICROS);
+        return new CsvFileSnapshot(
+                path.getFileName().toString(), size, lastModified, lastLineEnd(channel, size));
+    }
+
+    String fileName() {
+        return fileName;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long lineEnd() {
+        return lineEnd;
+    }
+
+    /**
+     * @param entry state recorded by the previous import
+     * @return {@code true} when size and modification time are unchanged
+     */
+    boolean isUnchanged(ImportLedgerEntry entry) {
+        return entry.fileSize() == size && entry.lastModified().equals(lastModified);
+    }
+
+    /**
+     * Determines where an import of this file should start.
+     *
+     * @param entry state recorded by the previous import
+     * @param channel channel opened on the file
+     * @return the recorded offset when the file has only been appended to since, otherwise 0
+     * @throws IOException when the file cannot be read
+     */
+    long resumeOffset(ImportLedgerEntry entry, FileChannel channel) throws IOException {
+        long offset = entry.processedOffset();
+        if (offset <= 0 || offset > size) {
+            return 0;
+        }
+        return fingerprint(channel, offset).equals(entry.contentHash()) ? offset : 0;
+    }
+
+    /**
+     * @param channel channel opened on the file
+     * @return ledger entry describing the file once every complete line has been imported
+     * @throws IOException when the file cannot be read
+     */
+    ImportLedgerEntry toLedgerEntry(FileChannel channel) throws IOException {
+        return new ImportLedgerEntry(
+                fileName, size, lastModified, fingerprint(channel, lineEnd), lineEnd);
+    }
+
+    /**
+     * Splits {@code [from, lineEnd())} into byte ranges of roughly {@code chunkSize} bytes that
+     * start and end on line boundaries, so each range can be parsed independently.
+     *
+     * @param channel channel opened on the file
+     * @param from first byte to import, at the start of a line
+     * @param chunkSize target number of bytes per range
+     * @return ascending boundaries; range {@code i} is {@code [bounds[i], bounds[i + 1])}
+     * @throws IOException when the file cannot be read
+     */
+    long[] chunkBounds(FileChannel channel, long from, long chunkSize) throws IOException {
+        var bounds = new ArrayList<Long>();
+        bounds.add(from);
+        long start = from;
+        while (lineEnd - start > chunkSize) {
+            long next = nextLineStart(channel, start + chunkSize);
+            if (next >= lineEnd) {
+                break;
+            }
+            bounds.add(next);
+            start = next;
+        }
+        bounds.add(Math.max(from, lineEnd));
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /** Returns the offset just past the first {@code '\n'} at or after {@code position}. */
+    private long nextLineStart(FileChannel channel, long position) throws IOException {
+        var buffer = ByteBuffer.allocate(SCAN_CHUNK);
+        long start = position;
+        while (start < size) {
+            int length = (int) Math.min(SCAN_CHUNK, size - start);
+            buffer.clear().limit(length);
+            readFully(channel, buffer, start);
+            var bytes = buffer.array();
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] == '\n') {
+                    return start + i + 1;
+                }
+            }
+            start += length;
+        }
+        return size;
+    }
+
+    private static long lastLineEnd(FileChannel channel, long size) throws IOException {
+        var buffer = ByteBuffer.allocate(SCAN_CHUNK);
+        long end = size;
+        while (end > 0) {
+            int length = (int) Math.min(SCAN_CHUNK, end);
+            long start = end - length;
+            buffer.clear().limit(length);
+            readFully(channel, buffer, start);
+            var bytes = buffer.array();
+            for (int i = length - 1; i >= 0; i--) {
+                if (bytes[i] == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    private static String fingerprint(FileChannel channel, long length) throws IOException {
+        var digest = sha256();
+        digest.update(ByteBuffer.allocate(Long.BYTES).putLong(length).flip());
+        long head = Math.min(SAMPLE_BYTES, length);
+        digest.update(read(channel, 0, (int) head));
+        long tail = Math.min(SAMPLE_BYTES, length - head);
+        digest.update(read(channel, length - tail, (int) tail));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length)
+            throws IOException {
+        var buffer = ByteBuffer.allocate(length);
+        readFully(channel, buffer, position);
+        return buffer.flip();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, offset);
+            if (n < 0) {
+                throw new IOException("Unexpected end of file at byte " + offset);
+            }
+            offset += n;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,61 +1,106 @@
 package com.epam.xm.recommendations.domain;
 
+import com.epam.xm.recommendations.infrastructure.config.AppEtlProperties;
 import com.epam.xm.recommendations.infrastructure.config.AppImportProperties;
-import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.epam.xm.recommendations.infrastructure.persistence.CopyPriceLoader;
+import com.epam.xm.recommendations.infrastructure.persistence.DailyStatsRollup;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
-import java.math.BigDecimal;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
+/**
+ * ETL service importing the CSV price files of {@code app.import.directory} into {@code
+ * crypto_prices}.
+ *
+ * <p>Every file is imported on its own virtual thread, and files larger than {@code
+ * app.etl.chunk-size} are split on line boundaries into ranges imported concurrently. An {@link
+ * ImportThrottle} bounds the files open at once and the writers holding a pooled connection, so a
+ * large drop of files waits on parked virtual threads instead of in the connection pool used by API
+ * reads. {@link CsvPriceReader} tokenizes rows straight into primitive columns; damaged rows are
+ * logged and skipped.
+ *
+ * <p>Rows are written through JDBC batches of {@code INSERT ... ON CONFLICT DO NOTHING} or, with
+ * {@code app.etl.ingest-mode=copy}, streamed through {@link CopyPriceLoader}. Before a batch is
+ * written its monthly {@link PricePartitions} are created if needed, and its new rows are folded
+ * into the {@code crypto_daily_stats} rollup by {@link DailyStatsRollup} in the same transaction as
+ * the insert.
+ *
+ * <p>With {@code app.etl.incremental}, the {@link ImportLedger} skips unchanged files and resumes
+ * appended ones from the recorded offset. The symbols and days that received new rows are announced
+ * once per run with a {@link PricesImportedEvent}.
+ */
 @Service
 @SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods", "PMD.CyclomaticComplexity"})
 public class CsvImportService {
-    /**
-     * ETL service importing CSV price data into the database.
-     *
-     * <p>The import is executed on Java Virtual Threads (Project Loom) via {@code
-     * Executors.newVirtualThreadPerTaskExecutor()}. Virtual threads are chosen instead of a fixed
-     * platform-thread pool because file I/O and JDBC operations are predominantly blocking. Virtual
-     * threads allow us to scale the number of concurrent file processing tasks without tying up OS
-     * threads, improving throughput with minimal complexity and excellent observability. Batching
-     * is used to reduce JDBC round-trips.
-     */
     private static final Logger LOGGER = LoggerFactory.getLogger(CsvImportService.class);
 
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /** Prices and timestamps are bound as scaled {@code BIGINT}s and converted exactly in SQL. */
+    private static final String INSERT_SQL =
+            """
+            INSERT INTO crypto_prices (symbol, price, price_timestamp)
+            VALUES (?, ? * 0.00000001, TIMESTAMPTZ 'epoch' + ? * INTERVAL '1 millisecond')
+            ON CONFLICT (symbol, price_timestamp) DO NOTHING
+            """;
+
     private final JdbcTemplate jdbcTemplate;
     private final AppImportProperties importProperties;
-    private final int batchSize;
-    private final CsvMapper csvMapper;
-    private final CsvSchema csvSchema;
+    private final AppEtlProperties etlProperties;
+    private final CopyPriceLoader copyPriceLoader;
+    private final DailyStatsRollup dailyStatsRollup;
+    private final ImportLedger importLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+    private final ImportThrottle importThrottle;
+    private final PricePartitions pricePartitions;
 
+    @Autowired
     public CsvImportService(
             JdbcTemplate jdbcTemplate,
             AppImportProperties importProperties,
-            @Value("${app.etl.batch-size:1000}") int batchSize) {
+            AppEtlProperties etlProperties,
+            CopyPriceLoader copyPriceLoader,
+            DailyStatsRollup dailyStatsRollup,
+            ImportLedger importLedger,
+            ApplicationEventPublisher eventPublisher,
+            TransactionOperations transactionOperations,
+            ImportThrottle importThrottle,
+            PricePartitions pricePartitions) {
         this.jdbcTemplate = jdbcTemplate;
         this.importProperties = importProperties;
-        this.batchSize = batchSize;
-        this.csvMapper = new CsvMapper();
-        this.csvSchema = CsvSchema.emptySchema().withHeader();
+        this.etlProperties = etlProperties;
+        this.copyPriceLoader = copyPriceLoader;
+        this.dailyStatsRollup = dailyStatsRollup;
+        this.importLedger = etlProperties.incremental() ? importLedger : ImportLedger.DISABLED;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
+        this.importThrottle = importThrottle;
+        this.pricePartitions = pricePartitions;
     }
 
     @PostConstruct
@@ -99,9 +144,6 @@ public class CsvImportService {
 
     @Scheduled(cron = "${app.etl.cron}")
     @SchedulerLock(name = "csvImportLock", lockAtLeastFor = "10s", lockAtMostFor = "10m")
-    @CacheEvict(
-            value = {"crypto-stats", "crypto-ranges"},
-            allEntries = true)
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public void importCsvFiles() {
         Path rootPath = Path.of(importProperties.directory());
@@ -116,7 +158,12 @@ public class CsvImportService {
             return;
         }
 
-        submitFilesToVirtualThreads(files);
+        var imported = new ImportDelta();
+        submitFilesToVirtualThreads(files, imported);
+        if (!imported.isEmpty()) {
+            eventPublisher.publishEvent(
+                    new PricesImportedEvent(imported.symbols(), imported.days()));
+        }
     }
 
     private List<Path> discoverCsvFiles(Path rootPath) {
@@ -129,14 +176,15 @@ public class CsvImportService {
     }
 
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private void submitFilesToVirtualThreads(List<Path> files) {
+    private void submitFilesToVirtualThreads(List<Path> files, ImportDelta imported) {
         try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
             files.forEach(
                     path ->
                             executor.submit(
                                     () -> {
                                         try {
-                                            processFile(path);
+                                            importThrottle.runFile(
+                                                    () -> processFile(path, imported));
                                         } catch (RuntimeException e) {
                                             LOGGER.error(
                                                     "Error processing file {}: {}",
@@ -148,17 +196,37 @@ public class CsvImportService {
         }
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private void processFile(Path path) {
-        LOGGER.info("Processing file: {}", path.getFileName());
+    private void processFile(Path path, ImportDelta imported) {
         long startTime = System.currentTimeMillis();
 
-        try (var is = Files.newInputStream(path);
-                MappingIterator<Map<?, ?>> it =
-                        csvMapper.readerFor(Map.class).with(csvSchema).readValues(is)) {
-
-            processRows(it, path);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var snapshot = CsvFileSnapshot.capture(path, channel);
+            var previous = importLedger.find(snapshot.fileName());
+            if (previous.isPresent() && snapshot.isUnchanged(previous.get())) {
+                LOGGER.info("Skipping unchanged file: {}", path.getFileName());
+                return;
+            }
+            long offset =
+                    previous.isPresent() ? snapshot.resumeOffset(previous.get(), channel) : 0;
+            if (offset > 0) {
+                LOGGER.info("Resuming file {} from byte {}", path.getFileName(), offset);
+            } else {
+                LOGGER.info("Processing file: {}", path.getFileName());
+            }
+            var bounds =
+                    snapshot.chunkBounds(channel, offset, etlProperties.chunkSize().toBytes());
+            var counters =
+                    bounds.length > 2
+                            ? importChunks(channel, path, bounds, imported)
+                            : importRange(channel, path, bounds[0], bounds[1], imported);
+            importLedger.record(snapshot.toLedgerEntry(channel));
 
+            LOGGER.info(
+                    "Finished processing {}: Total rows: {}, Inserted/Updated: {}, Skipped: {}",
+                    path.getFileName(),
+                    counters.total,
+                    counters.inserted.insertedRows(),
+                    counters.skipped);
             long duration = System.currentTimeMillis() - startTime;
             LOGGER.info("File {} imported in {} ms", path.getFileName(), duration);
 
@@ -167,83 +235,247 @@ public class CsvImportService {
         }
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private void processRows(MappingIterator<Map<?, ?>> it, Path path) {
-        int totalRows = 0;
-        int insertedRows = 0;
-        int skippedRows = 0;
-        var batch = new ArrayList<Object[]>();
-
-        while (it.hasNext()) {
-            totalRows++;
-            try {
-                var row = it.next();
-                batch.add(mapToParams(row));
-
-                if (batch.size() >= batchSize) {
-                    insertedRows += executeBatch(batch);
-                    batch.clear();
-                }
-            } catch (RuntimeException e) {
-                LOGGER.warn(
-                        "Skipping damaged row in file {}: {}", path.getFileName(), e.getMessage());
-                skippedRows++;
+    /**
+     * Imports every chunk of a file on its own virtual thread. Each chunk reports the rows it
+     * committed through {@code imported}, also when it or another chunk fails.
+     *
+     * @param bounds chunk boundaries from {@link CsvFileSnapshot#chunkBounds}
+     * @return counters summed over all chunks
+     * @throws IOException when any chunk failed; the file is then not recorded in the ledger
+     */
+    private RowCounters importChunks(
+            FileChannel channel, Path path, long[] bounds, ImportDelta imported)
+            throws IOException {
+        LOGGER.info("Splitting file {} into {} chunks", path.getFileName(), bounds.length - 1);
+        var chunks = new ArrayList<Future<RowCounters>>(bounds.length - 1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < bounds.length - 1; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                chunks.add(
+                        executor.submit(() -> importRange(channel, path, start, end, imported)));
             }
         }
-
-        if (!batch.isEmpty()) {
-            insertedRows += executeBatch(batch);
+        var counters = new RowCounters();
+        Throwable failure = null;
+        for (var chunk : chunks) {
+            if (chunk.state() == Future.State.SUCCESS) {
+                counters.add(chunk.resultNow());
+            } else if (failure == null) {
+                failure = chunk.exceptionNow();
+            }
         }
-
-        LOGGER.info(
-                "Finished processing {}: Total rows: {}, Inserted/Updated: {}, Skipped: {}",
-                path.getFileName(),
-                totalRows,
-                insertedRows,
-                skippedRows);
+        if (failure != null) {
+            throw new IOException("Failed to import a chunk of " + path.getFileName(), failure);
+        }
+        return counters;
     }
 
     /**
-     * Maps a parsed CSV row into JDBC parameters.
+     * Parses and writes the rows in {@code [start, end)} of a file.
+     *
+     * <p>JDBC batches commit one by one, so the rows of every committed batch are merged into
+     * {@code imported} even when a later batch fails. A re-run would report those rows as
+     * duplicates, so this is the only chance to announce them.
      *
-     * @param row parsed CSV row
-     * @return array of JDBC parameters [symbol, price, timestamp]
-     * @throws NumberFormatException if timestamp or price are not parseable
+     * @param imported receives the rows committed for the range
      */
-    private Object[] mapToParams(Map<?, ?> row) {
-        var timestamp = Long.parseLong(row.get("timestamp").toString());
-        var symbol = row.get("symbol").toString();
-        var price = new BigDecimal(row.get("price").toString());
+    private RowCounters importRange(
+            FileChannel channel, Path path, long start, long end, ImportDelta imported)
+            throws IOException {
+        var reader = new CsvPriceReader(channel, start, end);
+        var counters = new RowCounters();
+        try {
+            switch (etlProperties.ingestMode()) {
+                case BATCH -> {
+                    var sink = new BatchInsertSink(etlProperties.batchSize(), counters.inserted);
+                    readRows(reader, path, sink, counters);
+                    sink.finish();
+                }
+                case COPY -> counters.inserted.addAll(copyRows(reader, path, counters));
+            }
+        } finally {
+            synchronized (imported) {
+                imported.addAll(counters.inserted);
+            }
+        }
+        return counters;
+    }
 
-        var dateTime = OffsetDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC);
+    /** Streams rows through {@code COPY}, which holds one connection for the whole range. */
+    private ImportDelta copyRows(CsvPriceReader reader, Path path, RowCounters counters) {
+        return importThrottle.write(
+                () ->
+                        copyPriceLoader.load(
+                                sink -> {
+                                    try {
+                                        readRows(reader, path, sink, counters);
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                }));
+    }
 
-        return new Object[] {symbol, price, dateTime};
+    /**
+     * Reads every remaining row and hands valid ones to {@code sink}; damaged rows are counted as
+     * skipped. Failures raised by the sink itself are not swallowed.
+     */
+    private void readRows(
+            CsvPriceReader reader, Path path, PriceRowSink sink, RowCounters counters)
+            throws IOException {
+        boolean more = true;
+        while (more) {
+            try {
+                more = reader.next();
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn(
+                        "Skipping damaged row in file {}: {}", path.getFileName(), e.getMessage());
+                counters.total++;
+                counters.skipped++;
+                continue;
+            }
+            if (more) {
+                counters.total++;
+                sink.accept(reader.symbol(), reader.scaledPrice(), reader.epochMilli());
+            }
+        }
     }
 
     /**
-     * Executes batch upsert (with ON CONFLICT DO NOTHING) to persist rows.
+     * Executes batch upsert (with ON CONFLICT DO NOTHING) to persist rows and folds the inserted
+     * rows into the daily rollup, all in one transaction.
      *
      * <p>The unique constraint on (symbol, price_timestamp) prevents duplicates; the multi-column
      * index on (symbol, price_timestamp DESC) accelerates both upsert conflict checks and later
      * analytical queries (oldest/newest and ranges).
      *
-     * @param batch list of parameter arrays built by {@link #mapToParams(Map)}
-     * @return number of successfully inserted rows
+     * @param batch buffered rows
+     * @param inserted receives the inserted rows once the transaction has committed
      */
-    private int executeBatch(List<Object[]> batch) {
-        var sql =
-                """
-                INSERT INTO crypto_prices (symbol, price, price_timestamp)
-                VALUES (?, ?, ?)
-                ON CONFLICT (symbol, price_timestamp) DO NOTHING
-                """;
-        var result = jdbcTemplate.batchUpdate(sql, batch);
-        var count = 0;
-        for (var res : result) {
+    private void executeBatch(BatchInsertSink batch, ImportDelta inserted) {
+        var committed = new ImportDelta();
+        importThrottle.write(
+                () ->
+                        transactionOperations.execute(
+                                status -> {
+                                    insertBatch(batch, committed);
+                                    return null;
+                                }));
+        inserted.addAll(committed);
+    }
+
+    private void insertBatch(BatchInsertSink batch, ImportDelta inserted) {
+        var result = jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        var summaries = new TreeMap<SymbolDay, PriceStatsAccumulator>();
+        // SUCCESS_NO_INFO does not tell whether the row was a duplicate: recompute those days
+        var unknown = new TreeSet<SymbolDay>();
+        // Rows of a file mostly share symbol and day, so the last key is reused while it matches
+        SymbolDay key = null;
+        PriceStatsAccumulator summary = null;
+        for (int i = 0; i < Math.min(result.length, batch.size); i++) {
+            var res = result[i];
             if (res > 0 || res == -2) {
-                count++;
+                long epochMilli = batch.epochMillis[i];
+                long epochDay = Math.floorDiv(epochMilli, MILLIS_PER_DAY);
+                if (key == null
+                        || !key.symbol().equals(batch.symbols[i])
+                        || key.day().toEpochDay() != epochDay) {
+                    key = new SymbolDay(batch.symbols[i], LocalDate.ofEpochDay(epochDay));
+                    summary = null;
+                }
+                if (res > 0) {
+                    if (summary == null) {
+                        summary = summaries.computeIfAbsent(key, k -> new PriceStatsAccumulator());
+                    }
+                    summary.accept(epochMilli, batch.scaledPrices[i]);
+                } else {
+                    inserted.record(key.symbol(), key.day(), 1);
+                    unknown.add(key);
+                }
             }
         }
-        return count;
+        summaries.forEach(
+                (day, folded) -> inserted.record(day.symbol(), day.day(), (int) folded.count()));
+        summaries.keySet().removeAll(unknown);
+        dailyStatsRollup.merge(summaries);
+        dailyStatsRollup.rebuild(unknown);
+    }
+
+    /** Per-file or per-chunk row counters reported once the file has been processed. */
+    private static final class RowCounters {
+        private long total;
+        private long skipped;
+        private final ImportDelta inserted = new ImportDelta();
+
+        void add(RowCounters other) {
+            total += other.total;
+            skipped += other.skipped;
+            inserted.addAll(other.inserted);
+        }
+    }
+
+    /**
+     * Buffers rows into reusable primitive columns and flushes them as JDBC batches of a fixed
+     * size, binding each row straight from the columns.
+     */
+    private final class BatchInsertSink implements PriceRowSink, BatchPreparedStatementSetter {
+
+        private final String[] symbols;
+        private final long[] scaledPrices;
+        private final long[] epochMillis;
+        private final ImportDelta inserted;
+        private int size;
+        private long minEpochMilli = Long.MAX_VALUE;
+        private long maxEpochMilli = Long.MIN_VALUE;
+
+        /**
+         * @param batchSize rows per JDBC batch
+         * @param inserted receives the rows of every committed batch
+         */
+        BatchInsertSink(int batchSize, ImportDelta inserted) {
+            this.symbols = new String[batchSize];
+            this.scaledPrices = new long[batchSize];
+            this.epochMillis = new long[batchSize];
+            this.inserted = inserted;
+        }
+
+        @Override
+        public void accept(String symbol, long scaledPrice, long epochMilli) {
+            symbols[size] = symbol;
+            scaledPrices[size] = scaledPrice;
+            epochMillis[size] = epochMilli;
+            minEpochMilli = Math.min(minEpochMilli, epochMilli);
+            maxEpochMilli = Math.max(maxEpochMilli, epochMilli);
+            size++;
+            if (size == symbols.length) {
+                flush();
+            }
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ps.setString(1, symbols[i]);
+            ps.setLong(2, scaledPrices[i]);
+            ps.setLong(3, epochMillis[i]);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+
+        void finish() {
+            if (size > 0) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            pricePartitions.ensureCovered(minEpochMilli, maxEpochMilli);
+            executeBatch(this, inserted);
+            size = 0;
+            minEpochMilli = Long.MAX_VALUE;
+            maxEpochMilli = Long.MIN_VALUE;
+        }
     }
 }
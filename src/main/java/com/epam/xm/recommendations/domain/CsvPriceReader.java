@@ -0,0 +1,332 @@
+package com.epam.xm.recommendations.domain;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming tokenizer for price CSV files with a {@code timestamp,symbol,price} header.
+ *
+ * <p>The header is read from the start of the file and may list the three columns in any order,
+ * next to other columns that are ignored. Rows are then parsed straight from a reusable byte
+ * buffer filled by positional {@link FileChannel} reads: timestamps become epoch milliseconds,
+ * prices fixed-point values scaled by {@link PriceStatsAccumulator#PRICE_SCALE} and symbols are
+ * only turned into a {@link String} when they differ from the previous row. Nothing is allocated
+ * per row on the happy path.
+ *
+ * <p>Fields are plain ASCII: quoting, exponent notation and surrounding spaces are not supported
+ * and make a row damaged. Prices with more than {@link PriceStatsAccumulator#PRICE_SCALE}
+ * fractional digits are rounded half up, as the {@code NUMERIC(20, 8)} column would. Lines may
+ * end with {@code \n} or {@code \r\n}; empty lines are ignored and a last line without a
+ * terminator is still read.
+ *
+ * <p>Positional reads leave the channel position untouched, so several readers may share one
+ * channel. Instances themselves are not thread-safe.
+ */
+public final class CsvPriceReader {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+    private static final int MAX_SYMBOL_LENGTH = 10;
+    private static final int MAX_TIMESTAMP_DIGITS = 18;
+
+    private final FileChannel channel;
+    private final long end;
+    private long readPosition;
+    private boolean eof;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private ByteBuffer window = ByteBuffer.wrap(buffer);
+    private int limit;
+    private int next;
+    private int lineStart;
+    private int lineEnd;
+
+    private int timestampColumn = -1;
+    private int symbolColumn = -1;
+    private int priceColumn = -1;
+
+    private long epochMilli;
+    private long scaledPrice;
+    private String symbol = "";
+    private byte[] symbolBytes = new byte[0];
+
+    /**
+     * Opens a reader over the rows starting in {@code [start, end)}.
+     *
+     * @param channel channel opened for reading on the CSV file
+     * @param start first byte to read, at the start of a line; positions inside the header line
+     *     are moved past it
+     * @param end byte at which reading stops, normally the end of a line or of the file
+     * @throws IOException when the file cannot be read or the header lacks a required column
+     */
+    public CsvPriceReader(FileChannel channel, long start, long end) throws IOException {
+        this.channel = channel;
+        this.end = end;
+        if (!nextLine()) {
+            // Empty file: nothing to read
+            return;
+        }
+        readHeader();
+        long headerEnd = next;
+        if (start > headerEnd) {
+            this.readPosition = start;
+            this.limit = 0;
+            this.next = 0;
+            this.eof = false;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        int column = 0;
+        int fieldStart = lineStart;
+        for (int i = lineStart; i <= lineEnd; i++) {
+            if (i == lineEnd || buffer[i] == ',') {
+                var name = new String(buffer, fieldStart, i - fieldStart, StandardCharsets.UTF_8);
+                switch (name.strip()) {
+                    case "timestamp" -> timestampColumn = column;
+                    case "symbol" -> symbolColumn = column;
+                    case "price" -> priceColumn = column;
+                    default -> {
+                        // other columns are ignored
+                    }
+                }
+                column++;
+                fieldStart = i + 1;
+            }
+        }
+        if (timestampColumn < 0 || symbolColumn < 0 || priceColumn < 0) {
+            throw new IOException(
+                    "CSV header must contain timestamp, symbol and price columns: "
+                            + text(lineStart, lineEnd));
+        }
+    }
+
+    /**
+     * Advances to the next non-empty row and parses it.
+     *
+     * @return {@code true} if a valid row was read, {@code false} at the end of the input
+     * @throws IOException when the file cannot be read or a line exceeds 1 MiB
+     * @throws IllegalArgumentException if the row is damaged; the row is consumed, so reading can
+     *     continue with the next call
+     */
+    public boolean next() throws IOException {
+        do {
+            if (!nextLine()) {
+                return false;
+            }
+        } while (lineStart == lineEnd);
+        parseRow();
+        return true;
+    }
+
+    /**
+     * @return timestamp of the current row in epoch milliseconds
+     */
+    public long epochMilli() {
+        return epochMilli;
+    }
+
+    /**
+     * @return ticker of the current row; the same instance is returned for consecutive rows with
+     *     equal tickers
+     */
+    public String symbol() {
+        return symbol;
+    }
+
+    /**
+     * @return strictly positive price of the current row, scaled by {@link
+     *     PriceStatsAccumulator#PRICE_SCALE}
+     */
+    public long scaledPrice() {
+        return scaledPrice;
+    }
+
+    private void parseRow() {
+        int column = 0;
+        int found = 0;
+        int fieldStart = lineStart;
+        for (int i = lineStart; i <= lineEnd; i++) {
+            if (i == lineEnd || buffer[i] == ',') {
+                if (column == timestampColumn) {
+                    epochMilli = parseTimestamp(fieldStart, i);
+                    found++;
+                } else if (column == symbolColumn) {
+                    parseSymbol(fieldStart, i);
+                    found++;
+                } else if (column == priceColumn) {
+                    scaledPrice = parsePrice(fieldStart, i);
+                    found++;
+                }
+                column++;
+                fieldStart = i + 1;
+            }
+        }
+        if (found < 3) {
+            throw new IllegalArgumentException(
+                    "Missing columns in row: " + text(lineStart, lineEnd));
+        }
+    }
+
+    private long parseTimestamp(int from, int to) {
+        int i = from;
+        boolean negative = i < to && buffer[i] == '-';
+        if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+            i++;
+        }
+        if (i == to || to - i > MAX_TIMESTAMP_DIGITS) {
+            throw new NumberFormatException("Invalid timestamp: " + text(from, to));
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid timestamp: " + text(from, to));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /** Validates the ticker against {@code [A-Za-z0-9]{1,10}}, reusing the previous string. */
+    private void parseSymbol(int from, int to) {
+        int length = to - from;
+        if (length == 0 || length > MAX_SYMBOL_LENGTH) {
+            throw new IllegalArgumentException("Invalid symbol: " + text(from, to));
+        }
+        if (Arrays.equals(buffer, from, to, symbolBytes, 0, symbolBytes.length)) {
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (!(b >= 'A' && b <= 'Z' || b >= 'a' && b <= 'z' || b >= '0' && b <= '9')) {
+                throw new IllegalArgumentException("Invalid symbol: " + text(from, to));
+            }
+        }
+        symbolBytes = Arrays.copyOfRange(buffer, from, to);
+        symbol = new String(symbolBytes, StandardCharsets.US_ASCII);
+    }
+
+    private long parsePrice(int from, int to) {
+        int i = from;
+        if (i < to && buffer[i] == '-') {
+            throw new IllegalArgumentException("Price must be positive: " + text(from, to));
+        }
+        if (i < to && buffer[i] == '+') {
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        int droppedDigits = 0;
+        boolean roundUp = false;
+        try {
+            for (; i < to; i++) {
+                byte b = buffer[i];
+                if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                    continue;
+                }
+                int digit = b - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("Invalid price: " + text(from, to));
+                }
+                digits++;
+                if (fractionDigits == PriceStatsAccumulator.PRICE_SCALE) {
+                    // the first dropped digit decides the rounding, the rest are only validated
+                    roundUp |= droppedDigits++ == 0 && digit >= 5;
+                    continue;
+                }
+                value = Math.addExact(Math.multiplyExact(value, 10), digit);
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            }
+            if (digits == 0) {
+                throw new NumberFormatException("Invalid price: " + text(from, to));
+            }
+            int scale = Math.max(fractionDigits, 0);
+            for (int s = scale; s < PriceStatsAccumulator.PRICE_SCALE; s++) {
+                value = Math.multiplyExact(value, 10);
+            }
+            if (roundUp) {
+                value = Math.addExact(value, 1);
+            }
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Price out of range: " + text(from, to));
+        }
+        if (value == 0) {
+            throw new IllegalArgumentException("Price must be positive: " + text(from, to));
+        }
+        return value;
+    }
+
+    /**
+     * Locates the next line in the buffer, refilling it from the channel as needed.
+     *
+     * @return {@code true} if a line is available in {@code [lineStart, lineEnd)}
+     */
+    private boolean nextLine() throws IOException {
+        int scan = next;
+        while (true) {
+            for (; scan < limit; scan++) {
+                if (buffer[scan] == '\n') {
+                    setLine(next, scan, scan + 1);
+                    return true;
+                }
+            }
+            if (eof) {
+                if (next < limit) {
+                    setLine(next, limit, limit);
+                    return true;
+                }
+                return false;
+            }
+            scan -= next;
+            fill();
+        }
+    }
+
+    private void setLine(int start, int terminator, int following) {
+        lineStart = start;
+        boolean crlf = terminator > start && buffer[terminator - 1] == '\r';
+        lineEnd = crlf ? terminator - 1 : terminator;
+        next = following;
+    }
+
+    /** Moves the unread tail to the front of the buffer and appends the next block of input. */
+    private void fill() throws IOException {
+        int remaining = limit - next;
+        System.arraycopy(buffer, next, buffer, 0, remaining);
+        limit = remaining;
+        next = 0;
+        if (limit == buffer.length) {
+            if (buffer.length >= MAX_LINE_LENGTH) {
+                throw new IOException("CSV line exceeds " + MAX_LINE_LENGTH + " bytes");
+            }
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            window = ByteBuffer.wrap(buffer);
+        }
+        long available = end - readPosition;
+        if (available <= 0) {
+            eof = true;
+            return;
+        }
+        window.limit((int) Math.min(buffer.length, limit + available)).position(limit);
+        int read = channel.read(window, readPosition);
+        if (read < 0) {
+            eof = true;
+            return;
+        }
+        readPosition += read;
+        limit += read;
+    }
+
+    private String text(int from, int to) {
+        return new String(buffer, from, to - from, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,42 @@
+package com.epam.xm.recommendations.domain;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-day volatility rankings over a range of UTC days, read without materializing them.
+ *
+ * <p>Days are ranked like {@link RangeRanking}: descending normalized range, ties broken by the
+ * alphabetically first symbol, so the first row of a day is the coin returned for that day by the
+ * single-day highest-range query.
+ */
+public interface DailyRangeHistory {
+
+    /**
+     * Streams the {@code k} most volatile symbols of every day in a range.
+     *
+     * @param from first day (UTC), inclusive
+     * @param to last day (UTC), inclusive
+     * @param k number of symbols per day
+     * @param sink receives the rows ordered by day, then by rank
+     * @return number of rows streamed
+     * @throws java.io.UncheckedIOException when {@code sink} fails
+     */
+    long streamTopRanges(LocalDate from, LocalDate to, int k, DailyRangeSink sink);
+
+    /** Destination of streamed ranking rows, typically a response body. */
+    @FunctionalInterface
+    interface DailyRangeSink {
+
+        /**
+         * Accepts a single ranking row.
+         *
+         * @param day UTC day
+         * @param symbol coin ticker
+         * @param normalizedRange (max - min) / min of the day at scale 4
+         * @throws IOException when the row cannot be written
+         */
+        void accept(LocalDate day, String symbol, BigDecimal normalizedRange) throws IOException;
+    }
+}
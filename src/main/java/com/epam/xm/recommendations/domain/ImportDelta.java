@@ -0,0 +1,69 @@
+package com.epam.xm.recommendations.domain;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rows that an import actually stored, tracked by symbol and by UTC day.
+ *
+ * <p>Instances are filled by a single import task and are not thread-safe; combine per-file deltas
+ * with {@link #addAll(ImportDelta)} under external synchronization.
+ */
+public final class ImportDelta {
+
+    private final Map<String, Integer> rowsBySymbol = new HashMap<>();
+    private final Set<LocalDate> days = new HashSet<>();
+
+    /**
+     * Records newly stored rows.
+     *
+     * @param symbol coin ticker
+     * @param day UTC day of the quotes
+     * @param rows number of rows stored
+     */
+    public void record(String symbol, LocalDate day, int rows) {
+        if (rows > 0) {
+            rowsBySymbol.merge(symbol, rows, Integer::sum);
+            days.add(day);
+        }
+    }
+
+    /**
+     * Adds all rows recorded by another delta.
+     *
+     * @param other delta to merge into this one
+     */
+    public void addAll(ImportDelta other) {
+        other.rowsBySymbol.forEach(
+                (symbol, rows) -> rowsBySymbol.merge(symbol, rows, Integer::sum));
+        days.addAll(other.days);
+    }
+
+    public boolean isEmpty() {
+        return rowsBySymbol.isEmpty();
+    }
+
+    /**
+     * @return total number of stored rows
+     */
+    public int insertedRows() {
+        return rowsBySymbol.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * @return symbols that received at least one row
+     */
+    public Set<String> symbols() {
+        return Set.copyOf(rowsBySymbol.keySet());
+    }
+
+    /**
+     * @return UTC days that received at least one row
+     */
+    public Set<LocalDate> days() {
+        return Set.copyOf(days);
+    }
+}
@@ -0,0 +1,39 @@
+package com.epam.xm.recommendations.domain;
+
+import java.util.Optional;
+
+/**
+ * Persistent record of which CSV files, and which part of them, have already been imported.
+ * Implementations may rely on a database table or keep nothing at all.
+ */
+public interface ImportLedger {
+
+    /** Ledger that remembers nothing, so every file is always imported in full. */
+    ImportLedger DISABLED =
+            new ImportLedger() {
+                @Override
+                public Optional<ImportLedgerEntry> find(String fileName) {
+                    return Optional.empty();
+                }
+
+                @Override
+                public void record(ImportLedgerEntry entry) {
+                    // nothing to remember
+                }
+            };
+
+    /**
+     * Looks up the state recorded by the last successful import of a file.
+     *
+     * @param fileName file name relative to the import directory
+     * @return recorded state, or empty when the file has never been imported
+     */
+    Optional<ImportLedgerEntry> find(String fileName);
+
+    /**
+     * Stores the state reached by a successful import, replacing any previous entry.
+     *
+     * @param entry new state of the file
+     */
+    void record(ImportLedgerEntry entry);
+}
@@ -0,0 +1,19 @@
+package com.epam.xm.recommendations.domain;
+
+import java.time.Instant;
+
+/**
+ * Import state of a single CSV file as recorded after its last successful import.
+ *
+ * @param fileName file name relative to the import directory
+ * @param fileSize file size in bytes when the import started
+ * @param lastModified file modification time when the import started (microsecond precision)
+ * @param contentHash fingerprint of the bytes before {@code processedOffset}
+ * @param processedOffset byte offset just past the last complete line that was imported
+ */
+public record ImportLedgerEntry(
+        String fileName,
+        long fileSize,
+        Instant lastModified,
+        String contentHash,
+        long processedOffset) {}
@@ -0,0 +1,99 @@
+package com.epam.xm.recommendations.domain;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Backpressure for the CSV import: bounds how many files are open at once and how many database
+ * writers run at once.
+ *
+ * <p>Import tasks run on virtual threads, which are cheap to park, so excess work waits on a fair
+ * {@link Semaphore} here instead of queueing inside the connection pool, where it would compete
+ * with API reads and fail after {@code connection-timeout}. Write permits are sized from a reserved
+ * share of the pool, leaving the rest to the read path.
+ *
+ * <p>Queue depth, permits in use and the time spent waiting for a write permit are published as
+ * {@code etl.files.*} and {@code etl.write.permits.*} meters.
+ */
+public final class ImportThrottle {
+
+    private final Semaphore fileSlots;
+    private final Semaphore writePermits;
+    private final Timer writeWait;
+
+    /**
+     * @param maxFiles files imported at the same time
+     * @param maxWriters writers holding a connection at the same time
+     * @param registry registry receiving the queue and wait-time meters
+     */
+    public ImportThrottle(int maxFiles, int maxWriters, MeterRegistry registry) {
+        this.fileSlots = new Semaphore(maxFiles, true);
+        this.writePermits = new Semaphore(maxWriters, true);
+        Gauge.builder("etl.files.waiting", fileSlots, Semaphore::getQueueLength)
+                .description("Import files waiting for a slot")
+                .register(registry);
+        Gauge.builder("etl.files.active", fileSlots, slots -> maxFiles - slots.availablePermits())
+                .description("Import files being processed")
+                .register(registry);
+        Gauge.builder("etl.write.permits.waiting", writePermits, Semaphore::getQueueLength)
+                .description("Import writers waiting for a database write permit")
+                .register(registry);
+        Gauge.builder(
+                        "etl.write.permits.active",
+                        writePermits,
+                        permits -> maxWriters - permits.availablePermits())
+                .description("Import writers holding a database connection")
+                .register(registry);
+        this.writeWait =
+                Timer.builder("etl.write.permits.wait")
+                        .description("Time import writers waited for a database write permit")
+                        .register(registry);
+    }
+
+    /**
+     * Derives the writer limit from the connection pool.
+     *
+     * @param poolSize maximum size of the connection pool shared with API reads
+     * @param poolShare share of the pool the import may hold, in {@code (0, 1]}
+     * @return number of write permits, at least one
+     */
+    public static int writersFor(int poolSize, double poolShare) {
+        return Math.max(1, (int) Math.floor(poolSize * poolShare));
+    }
+
+    /**
+     * Runs a file import once a file slot is free.
+     *
+     * @param task file import
+     */
+    public void runFile(Runnable task) {
+        fileSlots.acquireUninterruptibly();
+        try {
+            task.run();
+        } finally {
+            fileSlots.release();
+        }
+    }
+
+    /**
+     * Runs a database write once a write permit is free, recording the wait.
+     *
+     * @param write action taking a connection from the pool
+     * @param <T> result type
+     * @return result of {@code write}
+     */
+    public <T> T write(Supplier<T> write) {
+        long start = System.nanoTime();
+        writePermits.acquireUninterruptibly();
+        writeWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        try {
+            return write.get();
+        } finally {
+            writePermits.release();
+        }
+    }
+}
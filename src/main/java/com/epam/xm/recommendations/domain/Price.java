@@ -0,0 +1,113 @@
+package com.epam.xm.recommendations.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact fixed-point price: a {@code long} count of 10<sup>-8</sup> units, matching the {@code
+ * NUMERIC(20, 8)} storage type for every price up to about 92 billion.
+ *
+ * <p>Used throughout the import and analysis pipeline instead of {@link BigDecimal}, so comparing
+ * prices is a primitive comparison and no decimal arithmetic runs per quote. The hot loops of the
+ * import and of the statistics kernel work on the raw {@code long}; a {@code Price} is only created
+ * for the handful of values a result carries. Conversion to {@link BigDecimal} happens at the edges
+ * only: when reading {@code NUMERIC} columns, when writing them and when rendering API responses.
+ * Unlike {@link BigDecimal#equals(Object)}, equality does not depend on the scale a value was
+ * written with.
+ *
+ * @param scaled price multiplied by 10<sup>{@value #SCALE}</sup>
+ */
+public record Price(long scaled) implements Comparable<Price>, Serializable {
+
+    /** Number of fractional digits carried by a price. */
+    public static final int SCALE = 8;
+
+    private static final int RANGE_SCALE = 4;
+    private static final long RANGE_UNIT = 10_000;
+
+    /**
+     * @param scaled price multiplied by 10<sup>{@value #SCALE}</sup>
+     * @return the price
+     */
+    public static Price ofScaled(long scaled) {
+        return new Price(scaled);
+    }
+
+    /**
+     * Converts a decimal price exactly.
+     *
+     * @param value price with at most {@value #SCALE} fractional digits
+     * @return the price
+     * @throws ArithmeticException if {@code value} has more fractional digits or is out of range
+     */
+    public static Price of(BigDecimal value) {
+        return new Price(
+                value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Parses a decimal price exactly.
+     *
+     * @param value plain decimal such as {@code 46813.21}
+     * @return the price
+     * @throws NumberFormatException if {@code value} is not a decimal number
+     * @throws ArithmeticException if {@code value} has more fractional digits or is out of range
+     */
+    public static Price of(String value) {
+        return of(new BigDecimal(value));
+    }
+
+    /**
+     * @return {@code true} if the price is strictly positive
+     */
+    public boolean isPositive() {
+        return scaled > 0;
+    }
+
+    /**
+     * @return the price as a decimal with scale {@value #SCALE}
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(scaled, SCALE);
+    }
+
+    /**
+     * Computes the normalized range {@code (max - min) / min}, rounded {@link RoundingMode#HALF_UP}
+     * to scale 4.
+     *
+     * <p>The quotient is computed in integer arithmetic on the scaled values, which gives exactly
+     * the result of the equivalent {@link BigDecimal} division because the ratio does not depend
+     * on the common scale. Inputs whose intermediate product would overflow a {@code long} are
+     * divided as {@link BigDecimal}s instead.
+     *
+     * @param min minimum price; must be positive
+     * @param max maximum price
+     * @return normalized range with scale 4
+     */
+    public static BigDecimal normalizedRange(Price min, Price max) {
+        long spread = max.scaled - min.scaled;
+        if (spread >= 0 && spread <= Long.MAX_VALUE / RANGE_UNIT) {
+            long numerator = spread * RANGE_UNIT;
+            long quotient = numerator / min.scaled;
+            long remainder = numerator % min.scaled;
+            if (remainder >= min.scaled - remainder) {
+                quotient++;
+            }
+            return BigDecimal.valueOf(quotient, RANGE_SCALE);
+        }
+        return max.toBigDecimal()
+                .subtract(min.toBigDecimal())
+                .divide(min.toBigDecimal(), RANGE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public int compareTo(Price other) {
+        return Long.compare(scaled, other.scaled);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
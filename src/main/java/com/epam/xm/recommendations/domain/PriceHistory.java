@@ -0,0 +1,50 @@
+package com.epam.xm.recommendations.domain;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Raw quotes of a symbol, read in time order without materializing them.
+ *
+ * <p>Unlike {@link PriceReadModel}, which answers with aggregates, this port hands every stored
+ * quote to a {@link QuoteSink} while the rows are still being read, so exporting years of ticks
+ * takes constant memory.
+ */
+public interface PriceHistory {
+
+    /**
+     * Streams every quote of a symbol.
+     *
+     * @param symbol coin ticker
+     * @param sink receives the quotes in ascending time order
+     * @return number of quotes streamed
+     * @throws java.io.UncheckedIOException when {@code sink} fails
+     */
+    long streamQuotes(String symbol, QuoteSink sink);
+
+    /**
+     * Streams the quotes of a symbol within a time window.
+     *
+     * @param symbol coin ticker
+     * @param from inclusive window start
+     * @param to inclusive window end
+     * @param sink receives the quotes in ascending time order
+     * @return number of quotes streamed
+     * @throws java.io.UncheckedIOException when {@code sink} fails
+     */
+    long streamQuotes(String symbol, Instant from, Instant to, QuoteSink sink);
+
+    /** Destination of streamed quotes, typically a response body. */
+    @FunctionalInterface
+    interface QuoteSink {
+
+        /**
+         * Accepts a single quote.
+         *
+         * @param epochMilli quote timestamp in epoch milliseconds (UTC)
+         * @param scaledPrice price scaled by {@link PriceStatsAccumulator#PRICE_SCALE}
+         * @throws IOException when the quote cannot be written
+         */
+        void accept(long epochMilli, long scaledPrice) throws IOException;
+    }
+}
@@ -0,0 +1,21 @@
+package com.epam.xm.recommendations.domain;
+
+/**
+ * Storage partitions of the price history. Writers make sure the partitions covering their quotes
+ * exist before inserting them, so new quotes never go through a catch-all partition.
+ */
+@FunctionalInterface
+public interface PricePartitions {
+
+    /** Unpartitioned storage: nothing to prepare. */
+    PricePartitions NONE = (fromEpochMilli, toEpochMilli) -> {};
+
+    /**
+     * Makes sure partitions exist for every quote timestamp in the given range. Implementations
+     * must not fail the caller: quotes without a dedicated partition are still stored.
+     *
+     * @param fromEpochMilli earliest quote timestamp, inclusive
+     * @param toEpochMilli latest quote timestamp, inclusive
+     */
+    void ensureCovered(long fromEpochMilli, long toEpochMilli);
+}
@@ -1,6 +1,5 @@
 package com.epam.xm.recommendations.domain;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 /**
@@ -8,14 +7,14 @@ import java.time.Instant;
  *
  * @param timestamp UTC instant of the quote
  * @param symbol coin ticker, cannot be blank
- * @param price strictly positive monetary value represented as {@link java.math.BigDecimal}
+ * @param price strictly positive fixed-point monetary value
  */
-public record PricePoint(Instant timestamp, String symbol, BigDecimal price) {
+public record PricePoint(Instant timestamp, String symbol, Price price) {
     public PricePoint {
         if (symbol.isBlank()) {
             throw new IllegalArgumentException("Symbol cannot be empty");
         }
-        if (price.compareTo(BigDecimal.ZERO) <= 0) {
+        if (!price.isPositive()) {
             throw new IllegalArgumentException("Price must be positive");
         }
     }
@@ -0,0 +1,49 @@
+package com.epam.xm.recommendations.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query side of the price history served by the API.
+ *
+ * <p>Implementations either aggregate in the database or keep their own copy of the quotes in
+ * memory; the one in use is selected with {@code app.read-model.type}. In-memory implementations
+ * follow imports through the {@link PricesImportedEvent} published by {@link CsvImportService}.
+ */
+public interface PriceReadModel {
+
+    /**
+     * Computes all-time statistics of a symbol.
+     *
+     * @param symbol coin ticker
+     * @return statistics, or empty when the symbol has no data
+     */
+    Optional<CryptoStats> findStats(String symbol);
+
+    /**
+     * Computes statistics of a symbol over a time window.
+     *
+     * @param symbol coin ticker
+     * @param from inclusive window start
+     * @param to inclusive window end
+     * @return statistics, or empty when the symbol has no quotes in the window
+     */
+    Optional<CryptoStats> findStats(String symbol, Instant from, Instant to);
+
+    /**
+     * Computes all-time statistics of every symbol present in storage.
+     *
+     * @return one entry per symbol, in no particular order
+     */
+    List<CryptoStats> findAllStats();
+
+    /**
+     * Computes statistics of every symbol over a single UTC day.
+     *
+     * @param day UTC day
+     * @return one entry per symbol with quotes on that day, in no particular order
+     */
+    List<CryptoStats> findStatsForDay(LocalDate day);
+}
@@ -0,0 +1,21 @@
+package com.epam.xm.recommendations.domain;
+
+/**
+ * Destination for validated CSV rows produced by {@link CsvImportService}.
+ *
+ * <p>Implementations decide how rows reach storage (JDBC batches, PostgreSQL COPY, ...). They are
+ * used by a single import task at a time and need not be thread-safe.
+ */
+@FunctionalInterface
+public interface PriceRowSink {
+
+    /**
+     * Accepts a single quote.
+     *
+     * @param symbol coin ticker
+     * @param scaledPrice strictly positive price scaled by {@link
+     *     PriceStatsAccumulator#PRICE_SCALE}
+     * @param epochMilli quote timestamp in epoch milliseconds (UTC)
+     */
+    void accept(String symbol, long scaledPrice, long epochMilli);
+}
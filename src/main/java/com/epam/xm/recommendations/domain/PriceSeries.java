@@ -0,0 +1,230 @@
+package com.epam.xm.recommendations.domain;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Immutable columnar price history of a single symbol.
+ *
+ * <p>Quotes are held as two aligned primitive columns sorted by time: epoch milliseconds and
+ * prices scaled by {@link PriceStatsAccumulator#PRICE_SCALE}. A tick costs 16 bytes instead of an
+ * entity, an {@code OffsetDateTime} and a {@link BigDecimal}, and any time window is located by
+ * binary search and folded without allocation. Statistics of the whole series are folded once
+ * when the series is built, so {@link #summarize()} does not depend on its length.
+ *
+ * <p>Updates never modify a series in place; {@link #splice(long, long, PriceSeries)} returns a
+ * new one, so readers may keep using a reference they already hold.
+ */
+public final class PriceSeries {
+
+    /** Series without quotes. */
+    public static final PriceSeries EMPTY = new PriceSeries(new long[0], new long[0]);
+
+    private final long[] epochMillis;
+    private final long[] scaledPrices;
+    private final PriceStatsAccumulator summary;
+
+    private PriceSeries(long[] epochMillis, long[] scaledPrices) {
+        this(epochMillis, scaledPrices, new PriceStatsAccumulator());
+        summary.acceptAll(epochMillis, scaledPrices, 0, epochMillis.length);
+    }
+
+    private PriceSeries(long[] epochMillis, long[] scaledPrices, PriceStatsAccumulator summary) {
+        this.epochMillis = epochMillis;
+        this.scaledPrices = scaledPrices;
+        this.summary = summary;
+    }
+
+    /**
+     * Recreates a series from columns and whole-series statistics stored earlier, e.g. in a
+     * snapshot, without folding the columns again. The columns are taken over, not copied.
+     *
+     * @param epochMillis timestamps in ascending order
+     * @param scaledPrices strictly positive scaled prices aligned with {@code epochMillis}
+     * @param summary statistics of all quotes, as returned by {@link #summarize()}
+     * @return series
+     * @throws IllegalArgumentException if the column lengths or the quote count do not match
+     */
+    public static PriceSeries restore(
+            long[] epochMillis, long[] scaledPrices, PriceStatsAccumulator summary) {
+        if (epochMillis.length != scaledPrices.length || summary.count() != epochMillis.length) {
+            throw new IllegalArgumentException("Columns and summary do not describe one series");
+        }
+        if (epochMillis.length == 0) {
+            return EMPTY;
+        }
+        return new PriceSeries(epochMillis, scaledPrices, summary.copy());
+    }
+
+    /**
+     * Converts a price to the fixed-point representation used by the columns.
+     *
+     * @param price price with at most {@link PriceStatsAccumulator#PRICE_SCALE} fractional digits
+     * @return scaled price
+     * @throws ArithmeticException if the price has more fractional digits or does not fit a long
+     */
+    public static long toScaledPrice(BigDecimal price) {
+        return Price.of(price).scaled();
+    }
+
+    /**
+     * @return number of quotes
+     */
+    public int size() {
+        return epochMillis.length;
+    }
+
+    /**
+     * @return {@code true} if the series holds no quotes
+     */
+    public boolean isEmpty() {
+        return epochMillis.length == 0;
+    }
+
+    /**
+     * Returns the statistics of the whole series, folded when the series was built.
+     *
+     * @return accumulator over all quotes; empty for an empty series
+     */
+    public PriceStatsAccumulator summarize() {
+        return summary.copy();
+    }
+
+    /**
+     * Counts the quotes of a time window.
+     *
+     * @param fromInclusive window start in epoch milliseconds
+     * @param toExclusive window end in epoch milliseconds
+     * @return number of quotes in the window
+     */
+    public int count(long fromInclusive, long toExclusive) {
+        return Math.max(0, lowerBound(toExclusive) - lowerBound(fromInclusive));
+    }
+
+    /**
+     * Hands the columns to {@code reader} without copying them, e.g. to serialize the series.
+     *
+     * @param reader receives the timestamps and prices columns, both exactly {@link #size()} long;
+     *     it must not modify them
+     */
+    public void readColumns(ColumnReader reader) {
+        reader.read(epochMillis, scaledPrices);
+    }
+
+    /**
+     * Folds the quotes of a time window.
+     *
+     * @param fromInclusive window start in epoch milliseconds
+     * @param toExclusive window end in epoch milliseconds
+     * @return accumulator over the window; empty when no quote falls into it
+     */
+    public PriceStatsAccumulator summarize(long fromInclusive, long toExclusive) {
+        var accumulator = new PriceStatsAccumulator();
+        accumulator.acceptAll(
+                epochMillis, scaledPrices, lowerBound(fromInclusive), lowerBound(toExclusive));
+        return accumulator;
+    }
+
+    /**
+     * Replaces every quote of a time window with the quotes of {@code replacement}.
+     *
+     * @param fromInclusive window start in epoch milliseconds
+     * @param toExclusive window end in epoch milliseconds
+     * @param replacement quotes of the window; all of them must lie inside it
+     * @return new series
+     * @throws IllegalArgumentException if {@code replacement} has quotes outside the window
+     */
+    public PriceSeries splice(long fromInclusive, long toExclusive, PriceSeries replacement) {
+        if (!replacement.isEmpty()
+                && (replacement.epochMillis[0] < fromInclusive
+                        || replacement.epochMillis[replacement.size() - 1] >= toExclusive)) {
+            throw new IllegalArgumentException("Replacement quotes lie outside the window");
+        }
+        int from = lowerBound(fromInclusive);
+        int to = lowerBound(toExclusive);
+        int size = from + replacement.size() + epochMillis.length - to;
+        var millis = new long[size];
+        var prices = new long[size];
+        System.arraycopy(epochMillis, 0, millis, 0, from);
+        System.arraycopy(scaledPrices, 0, prices, 0, from);
+        System.arraycopy(replacement.epochMillis, 0, millis, from, replacement.size());
+        System.arraycopy(replacement.scaledPrices, 0, prices, from, replacement.size());
+        int tail = from + replacement.size();
+        System.arraycopy(epochMillis, to, millis, tail, epochMillis.length - to);
+        System.arraycopy(scaledPrices, to, prices, tail, epochMillis.length - to);
+        return new PriceSeries(millis, prices);
+    }
+
+    /** Returns the index of the first quote at or after {@code epochMilli}. */
+    private int lowerBound(long epochMilli) {
+        int low = 0;
+        int high = epochMillis.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochMillis[mid] < epochMilli) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Read-only access to the columns of a series. */
+    @FunctionalInterface
+    public interface ColumnReader {
+
+        /**
+         * @param epochMillis timestamps in ascending order
+         * @param scaledPrices scaled prices aligned with {@code epochMillis}
+         */
+        void read(long[] epochMillis, long[] scaledPrices);
+    }
+
+    /** Collects quotes arriving in time order into a {@link PriceSeries}. Not thread-safe. */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 256;
+
+        private long[] epochMillis = new long[INITIAL_CAPACITY];
+        private long[] scaledPrices = new long[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * Appends a quote.
+         *
+         * @param epochMilli quote timestamp, not earlier than the previous one
+         * @param scaledPrice strictly positive scaled price
+         * @return this builder
+         * @throws IllegalArgumentException if quotes arrive out of order or the price is not
+         *     positive
+         */
+        public Builder append(long epochMilli, long scaledPrice) {
+            if (size > 0 && epochMilli < epochMillis[size - 1]) {
+                throw new IllegalArgumentException("Quotes must be appended in time order");
+            }
+            if (scaledPrice <= 0) {
+                throw new IllegalArgumentException("Price must be positive");
+            }
+            if (size == epochMillis.length) {
+                epochMillis = Arrays.copyOf(epochMillis, size * 2);
+                scaledPrices = Arrays.copyOf(scaledPrices, size * 2);
+            }
+            epochMillis[size] = epochMilli;
+            scaledPrices[size] = scaledPrice;
+            size++;
+            return this;
+        }
+
+        /**
+         * @return series holding the appended quotes, trimmed to size
+         */
+        public PriceSeries build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new PriceSeries(
+                    Arrays.copyOf(epochMillis, size), Arrays.copyOf(scaledPrices, size));
+        }
+    }
+}
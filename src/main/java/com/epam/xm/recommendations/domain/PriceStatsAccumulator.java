@@ -0,0 +1,175 @@
+package com.epam.xm.recommendations.domain;
+
+/**
+ * Single-pass accumulator folding oldest, newest, minimum and maximum price over fixed-point
+ * quotes.
+ *
+ * <p>Prices are carried as {@code long} values scaled by {@link #PRICE_SCALE} decimal digits, which
+ * matches the {@code NUMERIC(20, 8)} storage type. Timestamps are epoch milliseconds. The
+ * accumulator performs no allocations while folding and is intended for hot loops over columnar
+ * data. Ties keep the first observed point, mirroring {@code Stream.min/max} semantics.
+ *
+ * <p>Instances are mutable and not thread-safe.
+ */
+public final class PriceStatsAccumulator {
+
+    /** Number of fractional digits carried by scaled prices. */
+    public static final int PRICE_SCALE = Price.SCALE;
+
+    private long count;
+    private long oldestTime;
+    private long oldestPrice;
+    private long newestTime;
+    private long newestPrice;
+    private long minPrice;
+    private long maxPrice;
+
+    /**
+     * Recreates an accumulator from previously folded aggregates, e.g. ones stored in a snapshot.
+     *
+     * @param count number of folded quotes
+     * @param oldestTime timestamp of the earliest quote
+     * @param oldestPrice scaled price of the earliest quote
+     * @param newestTime timestamp of the latest quote
+     * @param newestPrice scaled price of the latest quote
+     * @param minPrice scaled minimum price
+     * @param maxPrice scaled maximum price
+     * @return accumulator holding the given aggregates
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public static PriceStatsAccumulator restore(
+            long count,
+            long oldestTime,
+            long oldestPrice,
+            long newestTime,
+            long newestPrice,
+            long minPrice,
+            long maxPrice) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative");
+        }
+        var accumulator = new PriceStatsAccumulator();
+        accumulator.count = count;
+        accumulator.oldestTime = oldestTime;
+        accumulator.oldestPrice = oldestPrice;
+        accumulator.newestTime = newestTime;
+        accumulator.newestPrice = newestPrice;
+        accumulator.minPrice = minPrice;
+        accumulator.maxPrice = maxPrice;
+        return accumulator;
+    }
+
+    /**
+     * Folds a single quote into the running aggregates.
+     *
+     * @param epochMilli quote timestamp in epoch milliseconds
+     * @param scaledPrice strictly positive price scaled by {@link #PRICE_SCALE}
+     * @throws IllegalArgumentException if the price is not positive
+     */
+    public void accept(long epochMilli, long scaledPrice) {
+        if (scaledPrice <= 0) {
+            throw new IllegalArgumentException("Price must be positive");
+        }
+        if (count == 0) {
+            oldestTime = epochMilli;
+            oldestPrice = scaledPrice;
+            newestTime = epochMilli;
+            newestPrice = scaledPrice;
+            minPrice = scaledPrice;
+            maxPrice = scaledPrice;
+        } else {
+            if (epochMilli < oldestTime) {
+                oldestTime = epochMilli;
+                oldestPrice = scaledPrice;
+            }
+            if (epochMilli > newestTime) {
+                newestTime = epochMilli;
+                newestPrice = scaledPrice;
+            }
+            if (scaledPrice < minPrice) {
+                minPrice = scaledPrice;
+            }
+            if (scaledPrice > maxPrice) {
+                maxPrice = scaledPrice;
+            }
+        }
+        count++;
+    }
+
+    /**
+     * Folds a contiguous slice of columnar data.
+     *
+     * @param epochMillis timestamps column
+     * @param scaledPrices prices column, aligned with {@code epochMillis}
+     * @param from inclusive start index
+     * @param to exclusive end index
+     */
+    public void acceptAll(long[] epochMillis, long[] scaledPrices, int from, int to) {
+        for (int i = from; i < to; i++) {
+            accept(epochMillis[i], scaledPrices[i]);
+        }
+    }
+
+    /**
+     * @return independent accumulator holding the same aggregates
+     */
+    public PriceStatsAccumulator copy() {
+        return restore(count, oldestTime, oldestPrice, newestTime, newestPrice, minPrice, maxPrice);
+    }
+
+    /**
+     * @return {@code true} if no quotes were folded yet
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return number of folded quotes
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return timestamp of the earliest quote
+     */
+    public long oldestTime() {
+        return oldestTime;
+    }
+
+    /**
+     * @return scaled price of the earliest quote
+     */
+    public long oldestPrice() {
+        return oldestPrice;
+    }
+
+    /**
+     * @return timestamp of the latest quote
+     */
+    public long newestTime() {
+        return newestTime;
+    }
+
+    /**
+     * @return scaled price of the latest quote
+     */
+    public long newestPrice() {
+        return newestPrice;
+    }
+
+    /**
+     * @return scaled minimum price
+     */
+    public long minPrice() {
+        return minPrice;
+    }
+
+    /**
+     * @return scaled maximum price
+     */
+    public long maxPrice() {
+        return maxPrice;
+    }
+}
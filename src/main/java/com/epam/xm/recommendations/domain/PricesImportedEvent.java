@@ -0,0 +1,18 @@
+package com.epam.xm.recommendations.domain;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published by {@link CsvImportService} after an import run that stored new quotes.
+ *
+ * @param symbols tickers that received at least one new row
+ * @param days UTC days that received at least one new row
+ */
+public record PricesImportedEvent(Set<String> symbols, Set<LocalDate> days) {
+
+    public PricesImportedEvent {
+        symbols = Set.copyOf(symbols);
+        days = Set.copyOf(days);
+    }
+}
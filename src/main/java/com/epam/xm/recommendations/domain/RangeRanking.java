@@ -0,0 +1,135 @@
+package com.epam.xm.recommendations.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Volatility ranking of symbols: descending normalized range, ties broken by the alphabetically
+ * first symbol.
+ *
+ * <p>The symbol tie-break makes the order total, so a position in the ranking is identified by a
+ * {@link Key} alone. Pages are resumed after the key of the last row seen (keyset pagination)
+ * rather than at an offset, which costs a binary search instead of a scan and neither skips nor
+ * repeats rows when the ranking changes between two pages.
+ */
+public final class RangeRanking {
+
+    /** Ranking order: descending normalized range, then ascending symbol. */
+    public static final Comparator<CryptoStats> ORDER =
+            Comparator.comparing(CryptoStats::normalizedRange)
+                    .reversed()
+                    .thenComparing(CryptoStats::symbol);
+
+    private RangeRanking() {}
+
+    /**
+     * Ranks all statistics.
+     *
+     * @param stats per-symbol statistics in any order
+     * @return statistics in {@link #ORDER}
+     */
+    public static List<CryptoStats> rank(Collection<CryptoStats> stats) {
+        return stats.stream().sorted(ORDER).toList();
+    }
+
+    /**
+     * Selects the {@code n} highest ranked statistics without sorting the others.
+     *
+     * <p>A min-heap of at most {@code n} entries holds the best rows seen so far, so selecting the
+     * top of {@code m} symbols takes O(m log n) time and O(n) memory.
+     *
+     * @param stats per-symbol statistics in any order
+     * @param n number of rows to keep
+     * @return at most {@code n} statistics in {@link #ORDER}
+     * @throws IllegalArgumentException if {@code n} is not positive
+     */
+    public static List<CryptoStats> top(Collection<CryptoStats> stats, int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Top size must be positive: " + n);
+        }
+        // Head is the lowest ranked row kept so far
+        var heap = new PriorityQueue<CryptoStats>(Math.min(n, stats.size()) + 1, ORDER.reversed());
+        for (var candidate : stats) {
+            if (heap.size() < n) {
+                heap.add(candidate);
+            } else if (ORDER.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        var top = new ArrayList<>(heap);
+        top.sort(ORDER);
+        return List.copyOf(top);
+    }
+
+    /**
+     * Returns the page of a ranking that follows a key.
+     *
+     * @param ranking statistics in {@link #ORDER}
+     * @param after key of the last row of the previous page, or {@code null} for the first page
+     * @param limit maximum number of rows
+     * @return rows ranked after {@code after}, and the key to resume from when more rows follow
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    public static Page page(List<CryptoStats> ranking, @Nullable Key after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+        int from = after == null ? 0 : firstAfter(ranking, after);
+        int to = Math.min(from + limit, ranking.size());
+        var items = List.copyOf(ranking.subList(from, to));
+        var next = to < ranking.size() ? Key.of(items.getLast()) : null;
+        return new Page(items, next);
+    }
+
+    /** Index of the first row ranked after {@code key}, found by binary search. */
+    private static int firstAfter(List<CryptoStats> ranking, Key key) {
+        int low = 0;
+        int high = ranking.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.compareTo(ranking.get(mid)) < 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Position in the ranking.
+     *
+     * @param normalizedRange normalized range of the row
+     * @param symbol coin ticker of the row
+     */
+    public record Key(BigDecimal normalizedRange, String symbol) {
+
+        /**
+         * @param stats ranked row
+         * @return key of the row
+         */
+        public static Key of(CryptoStats stats) {
+            return new Key(stats.normalizedRange(), stats.symbol());
+        }
+
+        /** Negative when this key ranks before {@code stats}, positive when after. */
+        int compareTo(CryptoStats stats) {
+            int byRange = stats.normalizedRange().compareTo(normalizedRange);
+            return byRange != 0 ? byRange : symbol.compareTo(stats.symbol());
+        }
+    }
+
+    /**
+     * One page of the ranking.
+     *
+     * @param items rows of the page in {@link #ORDER}
+     * @param next key of the last row when more rows follow, {@code null} on the last page
+     */
+    public record Page(List<CryptoStats> items, @Nullable Key next) {}
+}
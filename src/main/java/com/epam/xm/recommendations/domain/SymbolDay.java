@@ -0,0 +1,24 @@
+package com.epam.xm.recommendations.domain;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Key of a per-symbol, per-UTC-day aggregate.
+ *
+ * <p>The natural order (symbol, then day) is the lock order used when aggregates are upserted, so
+ * concurrent import tasks touching the same keys cannot deadlock.
+ *
+ * @param symbol coin ticker
+ * @param day UTC day
+ */
+public record SymbolDay(String symbol, LocalDate day) implements Comparable<SymbolDay> {
+
+    private static final Comparator<SymbolDay> ORDER =
+            Comparator.comparing(SymbolDay::symbol).thenComparing(SymbolDay::day);
+
+    @Override
+    public int compareTo(SymbolDay other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,138 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Broadcasts cache invalidations between application instances through PostgreSQL {@code
+ * LISTEN}/{@code NOTIFY}, so no message broker is needed.
+ *
+ * <p>Every instance listens on one dedicated connection taken from the primary pool, polled by a
+ * virtual thread. Messages carry a random instance id so an instance ignores its own broadcasts.
+ * When the listening connection is lost, it is reopened and all near caches are dropped, because
+ * messages sent in the meantime are not replayed.
+ */
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final int POLL_MILLIS = 1_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+    private static final char SEPARATOR = '\t';
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<NearCacheInvalidator> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private @Nullable Thread listener;
+
+    /**
+     * @param dataSource primary pool, outside Spring transactions
+     * @param channel notification channel, a plain lower-case SQL identifier
+     */
+    public CacheInvalidationBus(DataSource dataSource, String channel) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.channel = channel;
+    }
+
+    /**
+     * @param subscriber receives invalidations broadcast by other instances
+     */
+    public void subscribe(NearCacheInvalidator subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Tells the other instances to drop their near copy of an entry.
+     *
+     * @param cacheName cache name
+     * @param key string form of the key, or {@code null} for the whole cache
+     */
+    public void publish(String cacheName, @Nullable String key) {
+        var payload = new StringBuilder(instanceId).append(SEPARATOR).append(cacheName);
+        if (key != null) {
+            payload.append(SEPARATOR).append(key);
+        }
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload.toString());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofVirtual().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        var thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (var connection = dataSource.getConnection();
+                    var statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                subscribers.forEach(NearCacheInvalidator::invalidateAll);
+                var pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    var notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+                // The connection goes back to the pool
+                statement.execute("UNLISTEN *");
+            } catch (SQLException e) {
+                if (running) {
+                    LOGGER.warn("Cache invalidation listener lost its connection", e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        var parts = payload.split(String.valueOf(SEPARATOR), 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+        var key = parts.length == 3 ? parts[2] : null;
+        for (var subscriber : subscribers) {
+            subscriber.invalidate(parts[1], key);
+        }
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+/**
+ * Java serialization of cache values for the shared tier.
+ *
+ * <p>Reads are restricted by an {@link ObjectInputFilter} to domain types and the JDK value and
+ * collection classes they are built from, so a tampered table cannot instantiate arbitrary
+ * classes.
+ */
+final class CacheValueSerializer {
+
+    private static final ObjectInputFilter FILTER =
+            ObjectInputFilter.Config.createFilter(
+                    "maxdepth=16;maxbytes=16777216;"
+                            + "java.lang.*;java.math.*;java.util.*;java.time.*;"
+                            + "com.epam.xm.recommendations.domain.*;!*");
+
+    private CacheValueSerializer() {}
+
+    /**
+     * @param value cache value
+     * @return serialized form, or empty when the value is not serializable
+     */
+    static Optional<byte[]> serialize(Object value) {
+        if (!(value instanceof Serializable)) {
+            return Optional.empty();
+        }
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.of(bytes.toByteArray());
+    }
+
+    /**
+     * @param bytes serialized form written by {@link #serialize(Object)}
+     * @return the value
+     */
+    static Object deserialize(byte[] bytes) {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(FILTER);
+            return in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown cached class", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link SharedCacheStore} keeping entries in the unlogged {@code crypto_cache_entries} table.
+ *
+ * <p>The template must be bound straight to the primary pool rather than to the transaction-aware
+ * routing data source: every statement commits on its own, independently of the business
+ * transaction that triggered the cache operation, and reads never hit a lagging replica. Losing the
+ * table contents on a database crash only costs a recomputation. Ages are measured against {@code
+ * updated_at} on the database clock, so instances with skewed clocks agree on what has expired.
+ */
+public class JdbcSharedCacheStore implements SharedCacheStore {
+
+    private static final String SELECT_SQL =
+            "SELECT value FROM crypto_cache_entries WHERE cache_name = ? AND cache_key = ?";
+
+    private static final String SELECT_FRESH_SQL =
+            SELECT_SQL + " AND updated_at > CURRENT_TIMESTAMP - make_interval(secs => ?)";
+
+    private static final String PURGE_SQL =
+            """
+            DELETE FROM crypto_cache_entries
+             WHERE cache_name = ? AND updated_at <= CURRENT_TIMESTAMP - make_interval(secs => ?)
+            """;
+
+    private static final String UPSERT_SQL =
+            """
+            INSERT INTO crypto_cache_entries (cache_name, cache_key, value)
+            VALUES (?, ?, ?)
+            ON CONFLICT (cache_name, cache_key)
+            DO UPDATE SET value = EXCLUDED.value, updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param jdbcTemplate template bound to the primary pool, outside Spring transactions
+     */
+    public JdbcSharedCacheStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public byte @Nullable [] get(String cacheName, String key, @Nullable Duration maxAge) {
+        var values =
+                maxAge == null
+                        ? jdbcTemplate.query(
+                                SELECT_SQL, (rs, rowNum) -> rs.getBytes("value"), cacheName, key)
+                        : jdbcTemplate.query(
+                                SELECT_FRESH_SQL,
+                                (rs, rowNum) -> rs.getBytes("value"),
+                                cacheName,
+                                key,
+                                seconds(maxAge));
+        return values.isEmpty() ? null : values.getFirst();
+    }
+
+    @Override
+    public void put(String cacheName, String key, byte[] value) {
+        jdbcTemplate.update(UPSERT_SQL, cacheName, key, value);
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        jdbcTemplate.update(
+                "DELETE FROM crypto_cache_entries WHERE cache_name = ? AND cache_key = ?",
+                cacheName,
+                key);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        jdbcTemplate.update("DELETE FROM crypto_cache_entries WHERE cache_name = ?", cacheName);
+    }
+
+    @Override
+    public void purge(String cacheName, Duration maxAge) {
+        jdbcTemplate.update(PURGE_SQL, cacheName, seconds(maxAge));
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
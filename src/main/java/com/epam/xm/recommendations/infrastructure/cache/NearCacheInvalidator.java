@@ -0,0 +1,16 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import org.jspecify.annotations.Nullable;
+
+/** Drops near-cache copies that another instance has replaced in the shared tier. */
+public interface NearCacheInvalidator {
+
+    /**
+     * @param cacheName cache name
+     * @param key string form of the key to drop, or {@code null} to drop the whole cache
+     */
+    void invalidate(String cacheName, @Nullable String key);
+
+    /** Drops every near-cache entry, e.g. after invalidation messages may have been missed. */
+    void invalidateAll();
+}
@@ -0,0 +1,60 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Recomputes entries of refresh-ahead caches in the background, on virtual threads.
+ *
+ * <p>Loaders take the string form of a cache key, the form under which {@link TwoTierCache} keys
+ * both tiers. Closing this object stops the executor, so refreshes do not outlive the application
+ * context.
+ */
+public final class RefreshAheadLoaders implements AutoCloseable {
+
+    private final Duration refreshAfterWrite;
+    private final Map<String, Function<String, Object>> loaders;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param refreshAfterWrite age after which the next read of an entry triggers its recompute
+     * @param loaders recompute functions by cache name
+     */
+    public RefreshAheadLoaders(
+            Duration refreshAfterWrite, Map<String, Function<String, Object>> loaders) {
+        this.refreshAfterWrite = refreshAfterWrite;
+        this.loaders = Map.copyOf(loaders);
+    }
+
+    /**
+     * @return age after which the next read of an entry triggers its recompute
+     */
+    public Duration refreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    /**
+     * @param cacheName cache name
+     * @return recompute function of the cache, or {@code null} when it does not refresh ahead
+     */
+    public @Nullable Function<String, Object> loader(String cacheName) {
+        return loaders.get(cacheName);
+    }
+
+    /**
+     * @return executor running the recomputes
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
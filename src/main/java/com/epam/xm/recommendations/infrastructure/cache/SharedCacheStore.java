@@ -0,0 +1,50 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Second cache tier shared by all application instances, holding serialized cache values.
+ *
+ * <p>Implementations are pluggable and selected with {@code app.cache.shared.type}; they must be
+ * safe for concurrent use. Failures are reported as unchecked exceptions and treated as misses by
+ * {@link TwoTierCache}.
+ */
+public interface SharedCacheStore {
+
+    /**
+     * @param cacheName cache name
+     * @param key string form of the cache key
+     * @param maxAge age beyond which a stored value counts as absent, or {@code null} for no limit
+     * @return serialized value, or {@code null} when absent or older than {@code maxAge}
+     */
+    byte @Nullable [] get(String cacheName, String key, @Nullable Duration maxAge);
+
+    /**
+     * Stores or replaces a value.
+     *
+     * @param cacheName cache name
+     * @param key string form of the cache key
+     * @param value serialized value
+     */
+    void put(String cacheName, String key, byte[] value);
+
+    /**
+     * @param cacheName cache name
+     * @param key string form of the cache key
+     */
+    void evict(String cacheName, String key);
+
+    /**
+     * @param cacheName cache whose entries are all removed
+     */
+    void clear(String cacheName);
+
+    /**
+     * Removes the entries of a cache that {@link #get} no longer returns.
+     *
+     * @param cacheName cache name
+     * @param maxAge age beyond which entries are removed
+     */
+    void purge(String cacheName, Duration maxAge);
+}
@@ -0,0 +1,280 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Policy.FixedExpiration;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * {@link Cache} reading through an in-process near cache to a {@link SharedCacheStore}.
+ *
+ * <p>Near-cache entries are keyed by the string form of the cache key, which is also the key in
+ * the shared tier and in invalidation messages. A near miss is served from the shared tier before
+ * the value is computed, so a value computed by one instance, typically the importer refreshing
+ * its caches, is reused by all others. Writes and evictions update the shared tier and broadcast
+ * an invalidation, after which other instances drop their near copy and pick up the new value on
+ * their next read.
+ *
+ * <p>Shared entries older than the {@code expireAfterWrite} of a Caffeine near cache are treated
+ * as misses, so refilling an expired near entry from the shared tier cannot extend its lifetime.
+ * Caches with a {@link RefreshAheadLoaders} loader recompute a near entry older than {@code
+ * refreshAfterWrite} in the background on its next read, while the current value keeps being
+ * served. The result is written like any other value, to both tiers with an invalidation, so one
+ * recompute serves every instance.
+ *
+ * <p>An invalidation can arrive while a value read from the shared tier is on its way into the
+ * near cache. Every invalidation therefore bumps a counter before it drops the near copy, and a
+ * shared value whose read overlapped an invalidation is dropped again right after it was cached,
+ * so a superseded value never outlives the message that replaced it.
+ *
+ * <p>The shared tier is an optimization only: its failures are logged and treated as misses.
+ */
+public final class TwoTierCache implements Cache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final Cache near;
+    private final SharedCacheStore store;
+    private final CacheInvalidationBus bus;
+    private final com.github.benmanes.caffeine.cache.@Nullable Cache<Object, Object> caffeine;
+    private final @Nullable Duration timeToLive;
+    private final @Nullable RefreshAheadLoaders refreshAhead;
+    private final @Nullable Function<String, Object> refreshLoader;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param near in-process cache
+     * @param store shared tier
+     * @param bus broadcaster of invalidations to other instances
+     */
+    public TwoTierCache(Cache near, SharedCacheStore store, CacheInvalidationBus bus) {
+        this(near, store, bus, null);
+    }
+
+    /**
+     * @param near in-process cache
+     * @param store shared tier
+     * @param bus broadcaster of invalidations to other instances
+     * @param refreshAhead background recomputes, or {@code null} when no cache refreshes ahead
+     */
+    @SuppressWarnings("unchecked")
+    public TwoTierCache(
+            Cache near,
+            SharedCacheStore store,
+            CacheInvalidationBus bus,
+            @Nullable RefreshAheadLoaders refreshAhead) {
+        this.near = near;
+        this.store = store;
+        this.bus = bus;
+        Object nativeCache = near.getNativeCache();
+        this.caffeine =
+                nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?>
+                        ? (com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache
+                        : null;
+        this.timeToLive = expiration().map(FixedExpiration::getExpiresAfter).orElse(null);
+        this.refreshAhead = refreshAhead;
+        this.refreshLoader = refreshAhead == null ? null : refreshAhead.loader(getName());
+    }
+
+    @Override
+    public String getName() {
+        return near.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return near.getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        var sharedKey = sharedKey(key);
+        var local = near.get(sharedKey);
+        if (local != null) {
+            refreshIfStale(sharedKey);
+            return local;
+        }
+        long generation = invalidations.get();
+        var shared = readShared(sharedKey);
+        if (shared == null) {
+            return null;
+        }
+        near.put(sharedKey, shared);
+        dropIfInvalidatedSince(generation, sharedKey);
+        return new SimpleValueWrapper(shared);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+        var sharedKey = sharedKey(key);
+        long generation = invalidations.get();
+        var fromShared = new boolean[1];
+        T value =
+                near.get(
+                        sharedKey,
+                        () -> {
+                            var shared = readShared(sharedKey);
+                            if (shared != null) {
+                                fromShared[0] = true;
+                                return (T) shared;
+                            }
+                            T loaded = valueLoader.call();
+                            writeShared(sharedKey, loaded);
+                            return loaded;
+                        });
+        if (fromShared[0]) {
+            dropIfInvalidatedSince(generation, sharedKey);
+        }
+        refreshIfStale(sharedKey);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        var sharedKey = sharedKey(key);
+        near.put(sharedKey, value);
+        writeShared(sharedKey, value);
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void evict(Object key) {
+        var sharedKey = sharedKey(key);
+        near.evict(sharedKey);
+        try {
+            store.evict(getName(), sharedKey);
+            bus.publish(getName(), sharedKey);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not evict {} from shared cache {}", sharedKey, getName(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void clear() {
+        near.clear();
+        try {
+            store.clear(getName());
+            bus.publish(getName(), null);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not clear shared cache {}", getName(), e);
+        }
+    }
+
+    /**
+     * Drops the near copy of an entry without touching the shared tier.
+     *
+     * @param sharedKey string form of the key
+     */
+    void evictLocal(String sharedKey) {
+        invalidations.incrementAndGet();
+        near.evict(sharedKey);
+    }
+
+    /** Drops all near copies without touching the shared tier. */
+    void clearLocal() {
+        invalidations.incrementAndGet();
+        near.clear();
+    }
+
+    /**
+     * Drops a near copy taken from the shared tier when an invalidation arrived since {@code
+     * generation}, which may have been handled before the copy was cached.
+     */
+    private void dropIfInvalidatedSince(long generation, String sharedKey) {
+        if (invalidations.get() != generation) {
+            near.evict(sharedKey);
+        }
+    }
+
+    /** Deletes the shared entries that have outlived the near-cache expiry. */
+    void purgeExpired() {
+        if (timeToLive != null) {
+            store.purge(getName(), timeToLive);
+        }
+    }
+
+    private Optional<FixedExpiration<Object, Object>> expiration() {
+        return caffeine == null ? Optional.empty() : caffeine.policy().expireAfterWrite();
+    }
+
+    /** Starts one background recompute of an entry older than {@code refreshAfterWrite}. */
+    private void refreshIfStale(String sharedKey) {
+        var loader = refreshLoader;
+        if (refreshAhead == null || loader == null) {
+            return;
+        }
+        var age = expiration().flatMap(expiration -> expiration.ageOf(sharedKey));
+        if (age.isEmpty()
+                || age.get().compareTo(refreshAhead.refreshAfterWrite()) < 0
+                || !refreshing.add(sharedKey)) {
+            return;
+        }
+        refreshAhead.executor().execute(() -> refresh(sharedKey, loader));
+    }
+
+    /** Replaces an entry in both tiers; a failed recompute keeps the current value. */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void refresh(String sharedKey, Function<String, Object> loader) {
+        try {
+            put(sharedKey, loader.apply(sharedKey));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not refresh {} in cache {}", sharedKey, getName(), e);
+        } finally {
+            refreshing.remove(sharedKey);
+        }
+    }
+
+    private static String sharedKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private @Nullable Object readShared(String sharedKey) {
+        try {
+            var bytes = store.get(getName(), sharedKey, timeToLive);
+            return bytes == null ? null : CacheValueSerializer.deserialize(bytes);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not read {} from shared cache {}", sharedKey, getName(), e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void writeShared(String sharedKey, @Nullable Object value) {
+        try {
+            var bytes = value == null ? null : CacheValueSerializer.serialize(value).orElse(null);
+            if (bytes == null) {
+                store.evict(getName(), sharedKey);
+            } else {
+                store.put(getName(), sharedKey, bytes);
+            }
+            bus.publish(getName(), sharedKey);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not write {} to shared cache {}", sharedKey, getName(), e);
+        }
+    }
+}
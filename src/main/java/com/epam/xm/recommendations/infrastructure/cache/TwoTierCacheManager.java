@@ -0,0 +1,94 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheManager} layering a {@link SharedCacheStore} under the caches of an in-process
+ * manager, which keeps its own configuration (names, sizes, expiry) for the near tier.
+ */
+public class TwoTierCacheManager implements CacheManager, NearCacheInvalidator {
+
+    private final CacheManager nearCaches;
+    private final SharedCacheStore store;
+    private final CacheInvalidationBus bus;
+    private final @Nullable RefreshAheadLoaders refreshAhead;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param nearCaches in-process caches, e.g. Caffeine
+     * @param store shared tier
+     * @param bus broadcaster of invalidations; this manager subscribes to it
+     */
+    public TwoTierCacheManager(
+            CacheManager nearCaches, SharedCacheStore store, CacheInvalidationBus bus) {
+        this(nearCaches, store, bus, null);
+    }
+
+    /**
+     * @param nearCaches in-process caches, e.g. Caffeine
+     * @param store shared tier
+     * @param bus broadcaster of invalidations; this manager subscribes to it
+     * @param refreshAhead background recomputes, or {@code null} when no cache refreshes ahead
+     */
+    public TwoTierCacheManager(
+            CacheManager nearCaches,
+            SharedCacheStore store,
+            CacheInvalidationBus bus,
+            @Nullable RefreshAheadLoaders refreshAhead) {
+        this.nearCaches = nearCaches;
+        this.store = store;
+        this.bus = bus;
+        this.refreshAhead = refreshAhead;
+        bus.subscribe(this);
+    }
+
+    @Override
+    public @Nullable Cache getCache(String name) {
+        var existing = caches.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        var near = nearCaches.getCache(name);
+        if (near == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoTierCache(near, store, bus, refreshAhead));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return nearCaches.getCacheNames();
+    }
+
+    @Override
+    public void invalidate(String cacheName, @Nullable String key) {
+        var cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        caches.values().forEach(TwoTierCache::clearLocal);
+    }
+
+    /** Deletes the shared entries of every cache that have outlived its near-cache expiry. */
+    public void purgeExpired() {
+        for (var name : getCacheNames()) {
+            if (getCache(name) instanceof TwoTierCache cache) {
+                cache.purgeExpired();
+            }
+        }
+    }
+}
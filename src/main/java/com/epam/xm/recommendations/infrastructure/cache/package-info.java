@@ -0,0 +1,2 @@
+@org.jspecify.annotations.NullMarked
+package com.epam.xm.recommendations.infrastructure.cache;
@@ -0,0 +1,35 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Refresh-ahead settings of the {@code crypto-stats} and {@code crypto-ranges} caches, bound from
+ * {@code app.cache.refresh.*}.
+ *
+ * @param refreshAfterWrite age after which the next read triggers a background recompute while the
+ *     current value keeps being served
+ * @param expireAfterWrite age after which an entry is dropped and the next read waits for the
+ *     recompute; bounds staleness of entries nobody reads
+ * @param maximumSize entries kept per cache
+ */
+@ConfigurationProperties(prefix = "app.cache.refresh")
+@Validated
+public record AppCacheRefreshProperties(
+        @DefaultValue("30m") @NotNull Duration refreshAfterWrite,
+        @DefaultValue("1h") @NotNull Duration expireAfterWrite,
+        @DefaultValue("100") @Positive long maximumSize) {
+
+    /**
+     * @return whether entries become eligible for refresh before they expire
+     */
+    @AssertTrue(message = "refresh-after-write must be shorter than expire-after-write")
+    public boolean isRefreshBeforeExpiry() {
+        return refreshAfterWrite.isPositive() && refreshAfterWrite.compareTo(expireAfterWrite) < 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Startup cache warm-up settings bound from {@code app.cache.warm-up.*}.
+ *
+ * @param enabled whether caches are precomputed before the instance reports ready
+ * @param parallelism symbols computed at the same time
+ * @param timeout after this the instance reports ready even if warm-up has not finished
+ */
+@ConfigurationProperties(prefix = "app.cache.warm-up")
+@Validated
+public record AppCacheWarmUpProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("4") @Positive int parallelism,
+        @DefaultValue("2m") @NotNull Duration timeout) {}
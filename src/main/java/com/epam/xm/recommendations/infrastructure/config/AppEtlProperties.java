@@ -0,0 +1,45 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * ETL tuning properties bound from {@code app.etl.*}.
+ *
+ * @param batchSize number of rows per JDBC batch in {@link IngestMode#BATCH} mode
+ * @param ingestMode how parsed rows are written to the database
+ * @param incremental whether unchanged files are skipped and appended files resumed from the
+ *     offset recorded in the import ledger; {@code false} forces full re-imports
+ * @param chunkSize files larger than this are split on line boundaries into ranges of about this
+ *     size that are parsed and written concurrently
+ * @param maxConcurrentFiles files imported at the same time; further files wait for a slot
+ * @param writePoolShare share of the connection pool that import writers across all files and
+ *     chunks may hold at once; the rest stays available to API reads
+ * @param partitionMonthsAhead future months for which {@code crypto_prices} partitions are kept
+ *     ready; quotes beyond them go to the default partition
+ */
+@ConfigurationProperties(prefix = "app.etl")
+@Validated
+public record AppEtlProperties(
+        @DefaultValue("1000") @Positive int batchSize,
+        @DefaultValue("BATCH") @NotNull IngestMode ingestMode,
+        @DefaultValue("true") boolean incremental,
+        @DefaultValue("64MB") @NotNull DataSize chunkSize,
+        @DefaultValue("16") @Positive int maxConcurrentFiles,
+        @DefaultValue("0.25") @Positive @DecimalMax("1.0") double writePoolShare,
+        @DefaultValue("3") @PositiveOrZero int partitionMonthsAhead) {
+
+    /** Strategy used to persist parsed CSV rows. */
+    public enum IngestMode {
+        /** {@code INSERT ... ON CONFLICT DO NOTHING} sent through JDBC batches. */
+        BATCH,
+        /** PostgreSQL {@code COPY} into an unlogged staging table, then one set-based merge. */
+        COPY
+    }
+}
@@ -0,0 +1,16 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Settings of streamed responses (raw price export, per-day rankings) bound from {@code
+ * app.export.*}.
+ *
+ * @param fetchSize rows a JDBC cursor fetches per round-trip; bounds the memory of one response
+ */
+@ConfigurationProperties(prefix = "app.export")
+@Validated
+public record AppExportProperties(@DefaultValue("5000") @Positive int fetchSize) {}
@@ -0,0 +1,45 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Rate limiting properties bound from {@code app.rate-limit.*}.
+ *
+ * @param capacity requests a client may burst
+ * @param tokensPerMinute requests added back to a client's budget every minute
+ * @param tableSlots slots of the per-instance bucket table, 16 bytes each
+ * @param mode whether budgets are per instance or shared by the cluster
+ * @param leaseSize in {@link Mode#CLUSTER} mode, tokens an instance takes from the shared bucket
+ *     per database round-trip
+ * @param leaseTtl in {@link Mode#CLUSTER} mode, how long leased tokens, or the knowledge that a
+ *     bucket is empty, are kept by an instance
+ * @param storeTimeout in {@link Mode#CLUSTER} mode, query timeout of a lease, rounded up to whole
+ *     seconds
+ * @param storeBackoff in {@link Mode#CLUSTER} mode, how long an instance limits per instance,
+ *     without asking the database, after a lease failed
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Validated
+public record AppRateLimitProperties(
+        @DefaultValue("10") @Positive int capacity,
+        @DefaultValue("10") @Positive int tokensPerMinute,
+        @DefaultValue("1048576") @Positive int tableSlots,
+        @DefaultValue("LOCAL") @NotNull Mode mode,
+        @DefaultValue("5") @Positive int leaseSize,
+        @DefaultValue("5s") @NotNull Duration leaseTtl,
+        @DefaultValue("1s") @NotNull Duration storeTimeout,
+        @DefaultValue("10s") @NotNull Duration storeBackoff) {
+
+    /** Scope of a client's budget. */
+    public enum Mode {
+        /** Every instance enforces the full budget on its own. */
+        LOCAL,
+        /** One budget per client across all instances, kept in PostgreSQL. */
+        CLUSTER
+    }
+}
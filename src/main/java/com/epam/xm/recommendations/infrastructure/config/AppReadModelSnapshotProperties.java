@@ -0,0 +1,22 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import jakarta.validation.constraints.NotNull;
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Snapshot settings of the in-memory read model bound from {@code app.read-model.snapshot.*}.
+ *
+ * <p>The defaults match {@code application.yaml}: the snapshot is enabled and lives next to the
+ * price files under {@code data/}, which the container image makes writable.
+ *
+ * @param enabled whether the read model is written to and restored from a snapshot file
+ * @param path snapshot file; replicas sharing a volume can start from the same file
+ */
+@ConfigurationProperties(prefix = "app.read-model.snapshot")
+@Validated
+public record AppReadModelSnapshotProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("data/read-model.snapshot") @NotNull Path path) {}
@@ -0,0 +1,28 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Second-level cache properties bound from {@code app.cache.shared.*}.
+ *
+ * @param type where the shared tier lives; {@link Type#NONE} keeps caches purely in-process
+ * @param channel PostgreSQL notification channel carrying near-cache invalidations
+ */
+@ConfigurationProperties(prefix = "app.cache.shared")
+@Validated
+public record AppSharedCacheProperties(
+        @DefaultValue("JDBC") @NotNull Type type,
+        @DefaultValue("crypto_cache") @Pattern(regexp = "[a-z_][a-z0-9_]{0,62}") String channel) {
+
+    /** Backing store of the shared tier. */
+    public enum Type {
+        /** In-process Caffeine caches only. */
+        NONE,
+        /** Unlogged PostgreSQL table, invalidated through {@code LISTEN}/{@code NOTIFY}. */
+        JDBC
+    }
+}
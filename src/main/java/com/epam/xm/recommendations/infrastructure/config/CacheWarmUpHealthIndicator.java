@@ -0,0 +1,40 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import com.epam.xm.recommendations.application.service.CacheWarmUp;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@link #WARMING_UP} until the startup cache warm-up is over.
+ *
+ * <p>The {@code readiness} health group ranks that status above {@code UP} and maps it to 503, so
+ * load balancers only route traffic to warm instances. The root health endpoint ranks it below
+ * {@code UP}, so a warm-up never makes {@code /actuator/health} fail.
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    /** Status of an instance whose caches are still being computed. */
+    public static final Status WARMING_UP = new Status("WARMING_UP", "Cache warm-up in progress");
+
+    private final CacheWarmUp cacheWarmUp;
+
+    /**
+     * @param cacheWarmUp startup cache warm-up
+     */
+    public CacheWarmUpHealthIndicator(CacheWarmUp cacheWarmUp) {
+        this.cacheWarmUp = cacheWarmUp;
+    }
+
+    @Override
+    public Health health() {
+        var progress = cacheWarmUp.progress();
+        var health = progress.complete() ? Health.up() : Health.status(WARMING_UP);
+        return health.withDetail("total", progress.total())
+                .withDetail("warmed", progress.warmed())
+                .withDetail("failed", progress.failed())
+                .build();
+    }
+}
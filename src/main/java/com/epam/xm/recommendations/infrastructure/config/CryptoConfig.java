@@ -1,14 +1,29 @@
 package com.epam.xm.recommendations.infrastructure.config;
 
+import com.epam.xm.recommendations.application.service.CryptoApplicationService;
 import com.epam.xm.recommendations.domain.SetBasedSymbolValidator;
 import com.epam.xm.recommendations.domain.SymbolValidator;
+import com.epam.xm.recommendations.infrastructure.cache.RefreshAheadLoaders;
+import com.epam.xm.recommendations.infrastructure.cache.TwoTierCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -22,6 +37,120 @@ import org.springframework.context.annotation.Configuration;
 @EnableCaching
 public class CryptoConfig {
 
+    /** Upper bound for cached days; ten years of history fit comfortably. */
+    private static final long DAILY_RANGE_CACHE_SIZE = 4_000;
+
+    /**
+     * Registers {@code crypto-daily-range} without the time-based expiry of the shared Caffeine
+     * spec: only completed UTC days are cached there and their answers are refreshed explicitly
+     * by the ETL.
+     *
+     * @return customizer applied to the auto-configured {@link CaffeineCacheManager}
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> dailyRangeCacheCustomizer() {
+        return cacheManager ->
+                cacheManager.registerCustomCache(
+                        "crypto-daily-range",
+                        Caffeine.newBuilder().maximumSize(DAILY_RANGE_CACHE_SIZE).build());
+    }
+
+    /**
+     * Recomputes {@code crypto-stats}, {@code crypto-ranges} and {@code crypto-top-ranges} entries
+     * ahead of expiry. Closed with the context, which stops its virtual-thread executor.
+     *
+     * @param properties refresh and expiry settings
+     * @param applicationService source of uncached values, resolved lazily
+     * @return loaders of the refresh-ahead caches by cache name
+     */
+    @Bean
+    public RefreshAheadLoaders refreshAheadLoaders(
+            AppCacheRefreshProperties properties,
+            ObjectProvider<CryptoApplicationService> applicationService) {
+        return new RefreshAheadLoaders(
+                properties.refreshAfterWrite(),
+                Map.<String, Function<String, Object>>of(
+                        "crypto-stats",
+                        key -> applicationService.getObject().loadStats(key),
+                        "crypto-ranges",
+                        key -> applicationService.getObject().loadAllSortedStats(),
+                        "crypto-top-ranges",
+                        key ->
+                                applicationService
+                                        .getObject()
+                                        .loadTopSortedStats(Integer.parseInt(key))));
+    }
+
+    /**
+     * Registers the caches of {@link RefreshAheadLoaders} with {@code maximum-size} and {@code
+     * expire-after-write}.
+     *
+     * <p>A read of an entry older than {@code refresh-after-write} returns it immediately and
+     * starts one background recompute; further reads keep getting the old value until the new one
+     * replaces it, and a failed recompute keeps the old value. Together with {@code
+     * @Cacheable(sync = true)}, which makes concurrent misses on a key wait for a single
+     * computation, expiry never turns into a burst of identical aggregations.
+     *
+     * <p>With a shared tier the caches are plain Caffeine caches and {@link TwoTierCache} drives
+     * the refresh, so a recomputed value reaches the shared tier and the other instances. A
+     * Caffeine loading cache would answer every lookup itself and never consult the shared tier.
+     * Without a shared tier Caffeine refreshes the entries.
+     *
+     * @param properties refresh and expiry settings
+     * @param sharedProperties second-level cache settings
+     * @param refreshAhead loaders and executor of the background recomputes
+     * @return customizer applied to the auto-configured {@link CaffeineCacheManager}
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> refreshAheadCacheCustomizer(
+            AppCacheRefreshProperties properties,
+            AppSharedCacheProperties sharedProperties,
+            RefreshAheadLoaders refreshAhead) {
+        boolean shared = sharedProperties.type() != AppSharedCacheProperties.Type.NONE;
+        return cacheManager -> {
+            for (String name : List.of("crypto-stats", "crypto-ranges", "crypto-top-ranges")) {
+                Function<String, Object> loader = Objects.requireNonNull(refreshAhead.loader(name));
+                cacheManager.registerCustomCache(
+                        name,
+                        shared
+                                ? expiringCache(properties)
+                                : refreshingCache(
+                                        properties,
+                                        refreshAhead.executor(),
+                                        key -> loader.apply(String.valueOf(key))));
+            }
+        };
+    }
+
+    /**
+     * @param properties expiry settings
+     * @return Caffeine cache dropping entries after {@code expire-after-write}
+     */
+    static Cache<Object, Object> expiringCache(AppCacheRefreshProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .build();
+    }
+
+    /**
+     * @param properties refresh and expiry settings
+     * @param executor runs background refreshes
+     * @param loader computes the value of a key
+     * @return Caffeine cache refreshing entries asynchronously
+     */
+    static LoadingCache<Object, Object> refreshingCache(
+            AppCacheRefreshProperties properties,
+            Executor executor,
+            CacheLoader<Object, Object> loader) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .refreshAfterWrite(properties.refreshAfterWrite())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .executor(executor)
+                .build(loader);
+    }
+
     @Bean
     public SymbolValidator symbolValidator(AppImportProperties importProperties)
             throws IOException {
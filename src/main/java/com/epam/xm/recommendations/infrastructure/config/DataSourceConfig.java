@@ -0,0 +1,86 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Data source configuration separating writes from reads.
+ *
+ * <p>Two Hikari pools are created: the primary pool from {@code spring.datasource.*} and the
+ * replica pool from {@code app.datasource.replica.*}, each sized independently through its own
+ * {@code hikari} block. The replica falls back to the primary connection settings, so a single
+ * PostgreSQL instance is simply reached through two pools.
+ *
+ * <p>The application-wide {@link DataSource} is a {@link LazyConnectionDataSourceProxy} that only
+ * fetches a physical connection on the first statement. By then the transaction manager has
+ * flagged the connection as read-only for {@code @Transactional(readOnly = true)} work, which is
+ * routed to the replica pool; every other transaction, including ETL writes through {@code
+ * JdbcTemplate}, Flyway and ShedLock, goes to the primary. Both sides share one transaction
+ * manager, so batch inserts and their rollup updates still commit together.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * @return connection settings of the primary (write) database
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * @param properties primary connection settings
+     * @return pool used for writes and read-write transactions
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * @return connection settings of the read replica
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * @param properties replica connection settings
+     * @return pool used for read-only transactions
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * @param primaryDataSource pool for writes
+     * @param replicaDataSource pool for read-only transactions
+     * @return routing data source used by JPA, JDBC templates and Flyway
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        var routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(replicaDataSource);
+        return routing;
+    }
+}
@@ -0,0 +1,41 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import com.epam.xm.recommendations.domain.ImportThrottle;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** ETL configuration sizing the import backpressure from the connection pool. */
+@Configuration
+public class EtlConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EtlConfig.class);
+
+    /**
+     * Creates the throttle shared by every import run, reserving {@code app.etl.write-pool-share}
+     * of the primary pool for import writers.
+     *
+     * @param primaryDataSource pool the import writes through
+     * @param etlProperties ETL settings
+     * @param meterRegistry registry for queue-depth and wait-time meters
+     * @return import throttle
+     */
+    @Bean
+    public ImportThrottle importThrottle(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            AppEtlProperties etlProperties,
+            MeterRegistry meterRegistry) {
+        int poolSize = primaryDataSource.getMaximumPoolSize();
+        int writers = ImportThrottle.writersFor(poolSize, etlProperties.writePoolShare());
+        LOGGER.info(
+                "Import limited to {} concurrent files and {} of {} pool connections",
+                etlProperties.maxConcurrentFiles(),
+                writers,
+                poolSize);
+        return new ImportThrottle(etlProperties.maxConcurrentFiles(), writers, meterRegistry);
+    }
+}
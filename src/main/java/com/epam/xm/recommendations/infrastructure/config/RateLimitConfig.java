@@ -0,0 +1,80 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import com.epam.xm.recommendations.infrastructure.ratelimit.ClusterRateLimiter;
+import com.epam.xm.recommendations.infrastructure.ratelimit.RateLimiter;
+import com.epam.xm.recommendations.infrastructure.ratelimit.TokenBucketTable;
+import com.epam.xm.recommendations.infrastructure.ratelimit.TokenLeaseStore;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link RateLimiter} behind {@link RateLimitingFilter} from {@code
+ * app.rate-limit.mode}.
+ *
+ * <p>In {@code local} mode each instance enforces the configured budget itself, so N replicas
+ * admit N times as many requests per client. In {@code cluster} mode budgets live in PostgreSQL,
+ * which already coordinates ShedLock, and instances lease tokens from them in batches through a
+ * pool of their own.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * @param properties rate limiting settings
+     * @param leaseStore shared buckets, present in cluster mode only
+     * @return limiter consulted by the filter for every request
+     */
+    @Bean
+    public RateLimiter rateLimiter(
+            AppRateLimitProperties properties, ObjectProvider<TokenLeaseStore> leaseStore) {
+        var local =
+                new TokenBucketTable(
+                        properties.tableSlots(),
+                        properties.capacity(),
+                        properties.tokensPerMinute(),
+                        Duration.ofMinutes(1).toMillis());
+        if (properties.mode() == AppRateLimitProperties.Mode.LOCAL) {
+            return local;
+        }
+        return new ClusterRateLimiter(
+                leaseStore.getObject(),
+                Math.min(properties.leaseSize(), properties.capacity()),
+                properties.leaseTtl(),
+                properties.storeBackoff(),
+                local,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * @return connection settings of the lease pool
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "mode", havingValue = "cluster")
+    @ConfigurationProperties("app.datasource.rate-limit")
+    public DataSourceProperties rateLimitDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Keeps leases off the primary pool, whose connection timeout suits imports rather than a
+     * check made on the request path.
+     *
+     * @param properties lease pool connection settings
+     * @return small pool failing fast, used for leases only
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit", name = "mode", havingValue = "cluster")
+    @ConfigurationProperties("app.datasource.rate-limit.hikari")
+    public HikariDataSource rateLimitDataSource(
+            @Qualifier("rateLimitDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -1,45 +1,44 @@
 package com.epam.xm.recommendations.infrastructure.config;
 
 import com.epam.xm.recommendations.infrastructure.error.RateLimitExceededException;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import com.epam.xm.recommendations.infrastructure.ratelimit.RateLimiter;
+import com.epam.xm.recommendations.infrastructure.ratelimit.TokenBucketTable;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 /**
- * Servlet filter enforcing per-IP rate limiting via Bucket4j.
+ * Servlet filter enforcing per-IP rate limiting with token buckets.
  *
- * <p>The filter uses an in-memory Caffeine cache of token buckets keyed by client IP. On
- * exhaustion, it delegates to {@link org.springframework.web.servlet.HandlerExceptionResolver} to
- * produce a consistent RFC 7807 response.
+ * <p>Budgets come from the configured {@link RateLimiter}: by default a fixed-size {@link
+ * TokenBucketTable} keyed by a hash of the client IP, so memory stays at {@code
+ * app.rate-limit.table-slots} x 16 bytes however many clients show up, or buckets shared by the
+ * cluster with {@code app.rate-limit.mode=cluster}. On exhaustion, it delegates to {@link
+ * org.springframework.web.servlet.HandlerExceptionResolver} to produce a consistent RFC 7807
+ * response.
  */
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitingFilter.class);
 
-    private final Cache<String, Bucket> buckets;
+    private static final int DEFAULT_TABLE_SLOTS = 1 << 20;
+
+    private final RateLimiter rateLimiter;
     private final HandlerExceptionResolver handlerExceptionResolver;
-    private final int capacity;
-    private final int tokensPerMinute;
 
     /**
-     * Constructor for manual creation/tests with default expiration (60 min).
+     * Constructor for manual creation/tests with the default table size (1M slots, 16 MB).
      *
      * @param handlerExceptionResolver resolver for exceptions
      * @param capacity bucket capacity
@@ -47,24 +46,27 @@ public class RateLimitingFilter extends OncePerRequestFilter {
      */
     public RateLimitingFilter(
             HandlerExceptionResolver handlerExceptionResolver, int capacity, int tokensPerMinute) {
-        this(handlerExceptionResolver, capacity, tokensPerMinute, 60);
+        this(
+                handlerExceptionResolver,
+                new TokenBucketTable(
+                        DEFAULT_TABLE_SLOTS,
+                        capacity,
+                        tokensPerMinute,
+                        Duration.ofMinutes(1).toMillis()));
     }
 
+    /**
+     * @param handlerExceptionResolver resolver for exceptions
+     * @param rateLimiter per-client budgets
+     */
     @Autowired
     public RateLimitingFilter(
             @Qualifier("handlerExceptionResolver")
                     HandlerExceptionResolver handlerExceptionResolver,
-            @Value("${app.rate-limit.capacity:10}") int capacity,
-            @Value("${app.rate-limit.tokens-per-minute:10}") int tokensPerMinute,
-            @Value("${app.rate-limit.bucket-expiration-minutes:60}") int bucketExpirationMinutes) {
+            RateLimiter rateLimiter) {
         super();
         this.handlerExceptionResolver = handlerExceptionResolver;
-        this.capacity = capacity;
-        this.tokensPerMinute = tokensPerMinute;
-        this.buckets =
-                Caffeine.newBuilder()
-                        .expireAfterAccess(bucketExpirationMinutes, TimeUnit.MINUTES)
-                        .build();
+        this.rateLimiter = rateLimiter;
     }
 
     @Override
@@ -81,9 +83,8 @@ public class RateLimitingFilter extends OncePerRequestFilter {
          * @throws IOException on I/O errors
          */
         String ip = request.getRemoteAddr();
-        Bucket bucket = buckets.get(ip, key -> newBucket());
 
-        if (bucket != null && bucket.tryConsume(1)) {
+        if (rateLimiter.tryConsume(ip)) {
             filterChain.doFilter(request, response);
         } else {
             LOGGER.warn("Rate limit exceeded for IP: {}", ip);
@@ -94,14 +95,4 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                     new RateLimitExceededException("Rate limit exceeded. Try again later."));
         }
     }
-
-    private Bucket newBucket() {
-        return Bucket.builder()
-                .addLimit(
-                        Bandwidth.builder()
-                                .capacity(capacity)
-                                .refillIntervally(tokensPerMinute, Duration.ofMinutes(1))
-                                .build())
-                .build();
-    }
 }
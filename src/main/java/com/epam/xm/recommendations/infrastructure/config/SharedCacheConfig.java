@@ -0,0 +1,111 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import com.epam.xm.recommendations.infrastructure.cache.CacheInvalidationBus;
+import com.epam.xm.recommendations.infrastructure.cache.JdbcSharedCacheStore;
+import com.epam.xm.recommendations.infrastructure.cache.RefreshAheadLoaders;
+import com.epam.xm.recommendations.infrastructure.cache.SharedCacheStore;
+import com.epam.xm.recommendations.infrastructure.cache.TwoTierCacheManager;
+import javax.sql.DataSource;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Layers a PostgreSQL-backed shared tier under the auto-configured Caffeine caches, so instances
+ * behind a load balancer reuse each other's computed stats instead of each recomputing them after
+ * an import.
+ *
+ * <p>Caffeine stays the near tier with its existing spec and custom caches. Both the store and the
+ * invalidation bus talk to the primary pool directly: shared entries are never read from a lagging
+ * replica and cache writes do not join the business transaction. Disabled with {@code
+ * app.cache.shared.type=none}.
+ */
+@Configuration
+@ConditionalOnProperty(
+        prefix = "app.cache.shared",
+        name = "type",
+        havingValue = "jdbc",
+        matchIfMissing = true)
+public class SharedCacheConfig {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    /**
+     * @param cacheManager cache manager whose expired shared entries are purged, resolved lazily
+     */
+    public SharedCacheConfig(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @param primaryDataSource pool for writes
+     * @return shared tier backed by {@code crypto_cache_entries}
+     */
+    @Bean
+    public SharedCacheStore sharedCacheStore(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        return new JdbcSharedCacheStore(new JdbcTemplate(primaryDataSource));
+    }
+
+    /**
+     * @param primaryDataSource pool for writes
+     * @param properties shared cache settings
+     * @return broadcaster of near-cache invalidations
+     */
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            AppSharedCacheProperties properties) {
+        return new CacheInvalidationBus(primaryDataSource, properties.channel());
+    }
+
+    /**
+     * Deletes shared entries that no read returns any more because they outlived the expiry of
+     * their near cache. Entries of caches without expiry are kept until replaced or evicted.
+     */
+    @Scheduled(cron = "${app.cache.shared.purge-cron:0 */15 * * * *}")
+    @SchedulerLock(name = "sharedCachePurgeLock", lockAtLeastFor = "10s", lockAtMostFor = "5m")
+    public void purgeExpiredSharedEntries() {
+        if (cacheManager.getObject() instanceof TwoTierCacheManager twoTier) {
+            twoTier.purgeExpired();
+        }
+    }
+
+    /**
+     * Wraps the Caffeine cache manager once Boot has applied its spec and customizers. Declared
+     * static with lazy providers so that it does not pull the data sources into early
+     * initialization.
+     *
+     * @param store shared tier
+     * @param bus broadcaster of near-cache invalidations
+     * @param refreshAhead background recomputes of the refresh-ahead caches
+     * @return post-processor replacing the {@link CaffeineCacheManager}
+     */
+    @Bean
+    public static BeanPostProcessor twoTierCacheManagerPostProcessor(
+            ObjectProvider<SharedCacheStore> store,
+            ObjectProvider<CacheInvalidationBus> bus,
+            ObjectProvider<RefreshAheadLoaders> refreshAhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CaffeineCacheManager caffeine) {
+                    return new TwoTierCacheManager(
+                            caffeine,
+                            store.getObject(),
+                            bus.getObject(),
+                            refreshAhead.getIfAvailable());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,252 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.ImportDelta;
+import com.epam.xm.recommendations.domain.PricePartitions;
+import com.epam.xm.recommendations.domain.PriceRowSink;
+import com.epam.xm.recommendations.domain.PriceStatsAccumulator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk loader streaming rows through the PostgreSQL {@code COPY} protocol.
+ *
+ * <p>Rows are copied into the unlogged {@code crypto_prices_staging} table and then merged into
+ * {@code crypto_prices} with a single set-based {@code INSERT ... SELECT DISTINCT ON ... ON
+ * CONFLICT DO NOTHING}, which also folds the new rows into the {@code crypto_daily_stats} rollup.
+ * The copy, merge and staging cleanup run in one transaction, so a failed load leaves no trace and
+ * concurrent loads are isolated by their transaction id ({@code load_id} defaults to {@code
+ * txid_current()}). When called inside an existing Spring transaction the load joins it and
+ * commit/rollback is left to the caller.
+ *
+ * <p>The time range of the copied rows is tracked while streaming, and the {@code crypto_prices}
+ * partitions covering it are created through {@link PricePartitions} before the merge runs.
+ */
+@Component
+public class CopyPriceLoader {
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private static final long SCALE_FACTOR = 100_000_000L;
+
+    private static final String COPY_SQL =
+            "COPY crypto_prices_staging (symbol, price, epoch_millis) FROM STDIN";
+
+    // Duplicates inside a load keep the first row in file order, like sequential batch inserts.
+    // Newly inserted rows are folded into the daily rollup within the same statement.
+    private static final String MERGE_SQL =
+            """
+            WITH inserted AS (
+                INSERT INTO crypto_prices (symbol, price, price_timestamp)
+                SELECT DISTINCT ON (s.symbol, s.epoch_millis)
+                       s.symbol,
+                       s.price,
+                       TIMESTAMPTZ 'epoch' + s.epoch_millis * INTERVAL '1 millisecond'
+                  FROM crypto_prices_staging s
+                 WHERE s.load_id = txid_current()
+                 ORDER BY s.symbol, s.epoch_millis, s.seq
+                ON CONFLICT (symbol, price_timestamp) DO NOTHING
+                RETURNING symbol, price, price_timestamp
+            ),
+            daily AS (
+                SELECT symbol,
+                       (price_timestamp AT TIME ZONE 'UTC')::date AS day,
+                       (ARRAY_AGG(price ORDER BY price_timestamp ASC))[1] AS open_price,
+                       MIN(price_timestamp) AS open_time,
+                       (ARRAY_AGG(price ORDER BY price_timestamp DESC))[1] AS close_price,
+                       MAX(price_timestamp) AS close_time,
+                       MIN(price) AS min_price,
+                       MAX(price) AS max_price,
+                       COUNT(*) AS tick_count
+                  FROM inserted
+                 GROUP BY 1, 2
+            ),
+            rollup AS (
+                INSERT INTO crypto_daily_stats AS d
+                       (symbol, day, open_price, open_time, close_price, close_time,
+                        min_price, max_price, tick_count)
+                SELECT symbol, day, open_price, open_time, close_price, close_time,
+                       min_price, max_price, tick_count
+                  FROM daily
+                 ORDER BY symbol, day
+            """
+                    + DailyStatsRollup.MERGE_CONFLICT_CLAUSE
+                    + """
+            )
+            SELECT symbol, day, tick_count AS inserted FROM daily
+            """;
+
+    private static final String CLEANUP_SQL =
+            "DELETE FROM crypto_prices_staging WHERE load_id = txid_current()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PricePartitions pricePartitions;
+
+    /**
+     * @param jdbcTemplate template bound to the primary (writable) data source
+     */
+    public CopyPriceLoader(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, PricePartitions.NONE);
+    }
+
+    /**
+     * @param jdbcTemplate template bound to the primary (writable) data source
+     * @param pricePartitions partitions prepared before copied rows are merged
+     */
+    @Autowired
+    public CopyPriceLoader(JdbcTemplate jdbcTemplate, PricePartitions pricePartitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pricePartitions = pricePartitions;
+    }
+
+    /**
+     * Streams the rows emitted by {@code producer} into the database.
+     *
+     * @param producer callback writing rows into the provided sink; runs on the calling thread
+     *     while a connection is held
+     * @return rows actually inserted into {@code crypto_prices}
+     * @throws org.springframework.dao.DataAccessException on database failures
+     */
+    public ImportDelta load(Consumer<PriceRowSink> producer) {
+        ImportDelta inserted =
+                jdbcTemplate.execute(
+                        (ConnectionCallback<ImportDelta>)
+                                connection -> copyAndMerge(connection, producer));
+        return inserted == null ? new ImportDelta() : inserted;
+    }
+
+    private ImportDelta copyAndMerge(
+            Connection connection, Consumer<PriceRowSink> producer) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            return copyAndMergeInTransaction(connection, producer);
+        }
+        connection.setAutoCommit(false);
+        try {
+            var inserted = copyAndMergeInTransaction(connection, producer);
+            connection.commit();
+            return inserted;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private ImportDelta copyAndMergeInTransaction(
+            Connection connection, Consumer<PriceRowSink> producer) throws SQLException {
+        var writer = copy(connection.unwrap(PGConnection.class), producer);
+        if (writer.minEpochMilli <= writer.maxEpochMilli) {
+            pricePartitions.ensureCovered(writer.minEpochMilli, writer.maxEpochMilli);
+        }
+        var inserted = new ImportDelta();
+        try (var merge = connection.prepareStatement(MERGE_SQL);
+                var rs = merge.executeQuery()) {
+            while (rs.next()) {
+                inserted.record(
+                        rs.getString("symbol"),
+                        rs.getObject("day", LocalDate.class),
+                        rs.getInt("inserted"));
+            }
+        }
+        try (var cleanup = connection.prepareStatement(CLEANUP_SQL)) {
+            cleanup.executeUpdate();
+        }
+        return inserted;
+    }
+
+    private CopyRowWriter copy(PGConnection connection, Consumer<PriceRowSink> producer)
+            throws SQLException {
+        try (var out = new PGCopyOutputStream(connection, COPY_SQL, COPY_BUFFER_SIZE)) {
+            var writer = new CopyRowWriter(out);
+            producer.accept(writer);
+            return writer;
+        } catch (IOException | UncheckedIOException e) {
+            throw new SQLException("COPY into staging table failed", e);
+        }
+    }
+
+    /**
+     * Encodes rows in COPY text format into a reused byte buffer. Symbols are validated upstream
+     * and need no escaping; the encoded form of the previous symbol is reused while it repeats.
+     */
+    private static final class CopyRowWriter implements PriceRowSink {
+
+        private static final int MAX_LINE_LENGTH = 64;
+
+        private final OutputStream out;
+        private final byte[] line = new byte[MAX_LINE_LENGTH];
+        private final byte[] digits = new byte[20];
+        private String symbol = "";
+        private byte[] symbolBytes = new byte[0];
+        private long minEpochMilli = Long.MAX_VALUE;
+        private long maxEpochMilli = Long.MIN_VALUE;
+
+        CopyRowWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(String symbol, long scaledPrice, long epochMilli) {
+            if (!symbol.equals(this.symbol)) {
+                this.symbol = symbol;
+                this.symbolBytes = symbol.getBytes(StandardCharsets.US_ASCII);
+            }
+            System.arraycopy(symbolBytes, 0, line, 0, symbolBytes.length);
+            int length = symbolBytes.length;
+            line[length++] = '\t';
+            length = appendPrice(scaledPrice, length);
+            line[length++] = '\t';
+            length = appendLong(epochMilli, length);
+            line[length++] = '\n';
+            minEpochMilli = Math.min(minEpochMilli, epochMilli);
+            maxEpochMilli = Math.max(maxEpochMilli, epochMilli);
+            try {
+                out.write(line, 0, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /** Writes a positive scaled price as a plain decimal with all fractional digits. */
+        private int appendPrice(long scaledPrice, int offset) {
+            int length = appendLong(scaledPrice / SCALE_FACTOR, offset);
+            line[length++] = '.';
+            long fraction = scaledPrice % SCALE_FACTOR;
+            for (int i = length + PriceStatsAccumulator.PRICE_SCALE - 1; i >= length; i--) {
+                line[i] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            return length + PriceStatsAccumulator.PRICE_SCALE;
+        }
+
+        private int appendLong(long value, int offset) {
+            int length = offset;
+            long remaining = value;
+            if (remaining < 0) {
+                line[length++] = '-';
+                remaining = -remaining;
+            }
+            int count = 0;
+            do {
+                digits[count++] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining > 0);
+            while (count > 0) {
+                line[length++] = digits[--count];
+            }
+            return length;
+        }
+    }
+}
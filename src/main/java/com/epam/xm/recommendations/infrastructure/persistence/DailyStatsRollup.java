@@ -0,0 +1,144 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.PriceStatsAccumulator;
+import com.epam.xm.recommendations.domain.SymbolDay;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writer of the {@code crypto_daily_stats} rollup.
+ *
+ * <p>Freshly inserted quotes are folded into existing rows with an {@code ON CONFLICT DO UPDATE}
+ * merge, so the cost of an import is proportional to the new data. Keys are always written in
+ * {@link SymbolDay} order to keep lock acquisition consistent across concurrent import tasks.
+ * Callers run these methods in the same transaction as the corresponding quote inserts.
+ */
+@Component
+public class DailyStatsRollup {
+
+    /**
+     * Folds the proposed row ({@code EXCLUDED}) into the existing row aliased {@code d}. Quotes are
+     * unique per (symbol, timestamp), so open/close times never tie. Shared with {@link
+     * CopyPriceLoader}.
+     */
+    static final String MERGE_CONFLICT_CLAUSE =
+            """
+            ON CONFLICT (symbol, day) DO UPDATE SET
+                   open_price = CASE WHEN EXCLUDED.open_time < d.open_time
+                                     THEN EXCLUDED.open_price ELSE d.open_price END,
+                   open_time = LEAST(d.open_time, EXCLUDED.open_time),
+                   close_price = CASE WHEN EXCLUDED.close_time > d.close_time
+                                      THEN EXCLUDED.close_price ELSE d.close_price END,
+                   close_time = GREATEST(d.close_time, EXCLUDED.close_time),
+                   min_price = LEAST(d.min_price, EXCLUDED.min_price),
+                   max_price = GREATEST(d.max_price, EXCLUDED.max_price),
+                   tick_count = d.tick_count + EXCLUDED.tick_count,
+                   updated_at = clock_timestamp()
+            """;
+
+    private static final String MERGE_SQL =
+            """
+            INSERT INTO crypto_daily_stats AS d
+                   (symbol, day, open_price, open_time, close_price, close_time,
+                    min_price, max_price, tick_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """
+                    + MERGE_CONFLICT_CLAUSE;
+
+    private static final String REBUILD_DAY_SQL =
+            """
+            INSERT INTO crypto_daily_stats
+                   (symbol, day, open_price, open_time, close_price, close_time,
+                    min_price, max_price, tick_count)
+            SELECT symbol,
+                   (price_timestamp AT TIME ZONE 'UTC')::date,
+                   (ARRAY_AGG(price ORDER BY price_timestamp ASC))[1],
+                   MIN(price_timestamp),
+                   (ARRAY_AGG(price ORDER BY price_timestamp DESC))[1],
+                   MAX(price_timestamp),
+                   MIN(price),
+                   MAX(price),
+                   COUNT(*)
+              FROM crypto_prices
+             WHERE symbol = ?
+               AND price_timestamp >= ?
+               AND price_timestamp < ?
+             GROUP BY 1, 2
+            ON CONFLICT (symbol, day) DO UPDATE SET
+                   open_price = EXCLUDED.open_price,
+                   open_time = EXCLUDED.open_time,
+                   close_price = EXCLUDED.close_price,
+                   close_time = EXCLUDED.close_time,
+                   min_price = EXCLUDED.min_price,
+                   max_price = EXCLUDED.max_price,
+                   tick_count = EXCLUDED.tick_count,
+                   updated_at = clock_timestamp()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyStatsRollup(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Folds summaries of newly inserted quotes into the rollup.
+     *
+     * @param summaries per-key summaries of quotes that were actually inserted
+     */
+    public void merge(SortedMap<SymbolDay, PriceStatsAccumulator> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        var params = new ArrayList<Object[]>(summaries.size());
+        summaries.forEach(
+                (key, summary) ->
+                        params.add(
+                                new Object[] {
+                                    key.symbol(),
+                                    key.day(),
+                                    toPrice(summary.oldestPrice()),
+                                    toTimestamp(summary.oldestTime()),
+                                    toPrice(summary.newestPrice()),
+                                    toTimestamp(summary.newestTime()),
+                                    toPrice(summary.minPrice()),
+                                    toPrice(summary.maxPrice()),
+                                    summary.count()
+                                }));
+        jdbcTemplate.batchUpdate(MERGE_SQL, params);
+    }
+
+    /**
+     * Recomputes rollup rows from raw quotes, e.g. when the driver did not report which rows of a
+     * batch were inserted.
+     *
+     * @param keys keys to recompute
+     */
+    public void rebuild(SortedSet<SymbolDay> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object[]> params = new ArrayList<>(keys.size());
+        for (SymbolDay key : keys) {
+            var start = key.day().atStartOfDay().atOffset(ZoneOffset.UTC);
+            params.add(new Object[] {key.symbol(), start, start.plusDays(1)});
+        }
+        jdbcTemplate.batchUpdate(REBUILD_DAY_SQL, params);
+    }
+
+    private static BigDecimal toPrice(long scaledPrice) {
+        return BigDecimal.valueOf(scaledPrice, PriceStatsAccumulator.PRICE_SCALE);
+    }
+
+    private static OffsetDateTime toTimestamp(long epochMilli) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+}
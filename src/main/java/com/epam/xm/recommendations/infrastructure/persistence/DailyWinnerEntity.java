@@ -0,0 +1,95 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * JPA entity holding the coin with the highest normalized range of a UTC day.
+ *
+ * <p>Rows are written by the ETL after each import that touches the day, so a lookup by primary key
+ * answers {@code /highest-range} without scanning quotes.
+ */
+@Entity
+@Table(name = "crypto_daily_winners")
+public class DailyWinnerEntity {
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    @Column(name = "oldest_price", nullable = false, precision = 20, scale = 8)
+    private BigDecimal oldestPrice;
+
+    @Column(name = "newest_price", nullable = false, precision = 20, scale = 8)
+    private BigDecimal newestPrice;
+
+    @Column(name = "min_price", nullable = false, precision = 20, scale = 8)
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price", nullable = false, precision = 20, scale = 8)
+    private BigDecimal maxPrice;
+
+    @Column(name = "normalized_range", nullable = false, precision = 20, scale = 4)
+    private BigDecimal normalizedRange;
+
+    @UpdateTimestamp
+    @Column(name = "computed_at", nullable = false)
+    private OffsetDateTime computedAt;
+
+    public DailyWinnerEntity() {}
+
+    public DailyWinnerEntity(
+            LocalDate day,
+            String symbol,
+            BigDecimal oldestPrice,
+            BigDecimal newestPrice,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal normalizedRange) {
+        this.day = day;
+        this.symbol = symbol;
+        this.oldestPrice = oldestPrice;
+        this.newestPrice = newestPrice;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.normalizedRange = normalizedRange;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public BigDecimal getOldestPrice() {
+        return oldestPrice;
+    }
+
+    public BigDecimal getNewestPrice() {
+        return newestPrice;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public BigDecimal getNormalizedRange() {
+        return normalizedRange;
+    }
+
+    public OffsetDateTime getComputedAt() {
+        return computedAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import java.time.LocalDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** JPA repository for precomputed per-day winners, keyed by UTC day. */
+@Repository
+public interface DailyWinnerRepository extends JpaRepository<DailyWinnerEntity, LocalDate> {}
@@ -0,0 +1,385 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.CryptoAnalysisService;
+import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.PriceReadModel;
+import com.epam.xm.recommendations.domain.PriceSeries;
+import com.epam.xm.recommendations.domain.PricesImportedEvent;
+import com.epam.xm.recommendations.infrastructure.config.AppReadModelSnapshotProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link PriceReadModel} answering every query from an in-process columnar copy of {@code
+ * crypto_prices}, enabled with {@code app.read-model.type=memory}.
+ *
+ * <p>Each symbol is held as a {@link PriceSeries} of primitive {@code long} columns, so statistics
+ * are folded over contiguous arrays without touching the database or allocating per quote. The
+ * whole table is loaded once at startup; memory use is about 16 bytes per quote.
+ *
+ * <p>After every import the windows of the affected days are reloaded for the affected symbols
+ * and spliced into their series. The listener runs before any other {@link PricesImportedEvent}
+ * listener, so cache refreshes triggered by the same event already see the new quotes. The event
+ * is only published on the instance that ran the import, so every instance also compares its
+ * series with the tick counts of {@code crypto_daily_stats} every {@code
+ * app.read-model.catch-up-interval} and reloads the days that differ. Only rollup rows updated
+ * since the previous check are compared, and each run of consecutive days is reloaded in one
+ * window.
+ *
+ * <p>With {@code app.read-model.snapshot.enabled} the series are also written to a {@link
+ * PriceSnapshotFile} after the initial load. Later changes only mark that file stale; it is
+ * rewritten off the import path every {@code app.read-model.snapshot.write-interval} while stale,
+ * and once more at shutdown, so a burst of imports costs one write. A restart maps the file
+ * instead of scanning {@code crypto_prices} and only reloads the symbol days whose tick count in
+ * {@code crypto_daily_stats} differs from the snapshot. Quotes are never updated in place, so an
+ * unchanged count means an unchanged day.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.read-model", name = "type", havingValue = "memory")
+public class InMemoryPriceReadModel implements PriceReadModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryPriceReadModel.class);
+
+    /** Timestamps and prices are converted to fixed-point {@code BIGINT} by the database. */
+    private static final String QUOTE_COLUMNS =
+            """
+            SELECT symbol,
+                   (EXTRACT(EPOCH FROM price_timestamp) * 1000)::BIGINT AS epoch_milli,
+                   (price * 100000000)::BIGINT AS scaled_price
+              FROM crypto_prices
+            """;
+
+    private static final String DAY_TICK_COUNTS =
+            "SELECT symbol, day, tick_count, updated_at FROM crypto_daily_stats";
+
+    /**
+     * How far before the newest rollup change seen so far a catch-up looks again, so rows written
+     * by transactions still open at the previous check are not missed.
+     */
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(5);
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CryptoAnalysisService analysisService;
+    private final AppReadModelSnapshotProperties snapshotProperties;
+    private final Map<String, PriceSeries> series = new ConcurrentHashMap<>();
+    private final AtomicBoolean snapshotStale = new AtomicBoolean();
+    private @Nullable OffsetDateTime rollupSeenUpTo;
+
+    /**
+     * Creates a read model without a snapshot file.
+     *
+     * @param jdbcTemplate JDBC template used to load quotes
+     * @param analysisService domain service turning folded quotes into statistics
+     */
+    public InMemoryPriceReadModel(
+            JdbcTemplate jdbcTemplate, CryptoAnalysisService analysisService) {
+        this(
+                jdbcTemplate,
+                analysisService,
+                new AppReadModelSnapshotProperties(false, Path.of("data/read-model.snapshot")));
+    }
+
+    /**
+     * @param jdbcTemplate JDBC template used to load quotes
+     * @param analysisService domain service turning folded quotes into statistics
+     * @param snapshotProperties where the series are persisted between restarts
+     */
+    @Autowired
+    public InMemoryPriceReadModel(
+            JdbcTemplate jdbcTemplate,
+            CryptoAnalysisService analysisService,
+            AppReadModelSnapshotProperties snapshotProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.analysisService = analysisService;
+        this.snapshotProperties = snapshotProperties;
+    }
+
+    /**
+     * Restores the price history from the snapshot, if there is a valid one, and loads the whole
+     * history from the database otherwise.
+     */
+    @PostConstruct
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void load() {
+        if (snapshotProperties.enabled() && Files.exists(snapshotProperties.path())) {
+            try {
+                restore();
+                return;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn(
+                        "Ignoring read-model snapshot {}, loading from the database",
+                        snapshotProperties.path(),
+                        e);
+            }
+        }
+        loadAll();
+        writeSnapshot();
+    }
+
+    private void restore() throws IOException {
+        long startTime = System.currentTimeMillis();
+        var restored = PriceSnapshotFile.read(snapshotProperties.path());
+        series.clear();
+        series.putAll(restored.series());
+        int reloaded = catchUp();
+        var age = Duration.between(restored.writtenAt(), Instant.now());
+        LOGGER.info(
+                "Restored {} symbols from a read-model snapshot written {} ago and reloaded {}"
+                        + " changed symbol days in {} ms",
+                restored.series().size(),
+                age.truncatedTo(ChronoUnit.SECONDS),
+                reloaded,
+                System.currentTimeMillis() - startTime);
+        if (reloaded > 0) {
+            snapshotStale.set(true);
+        }
+    }
+
+    /**
+     * Compares the tick count of the rollup days with the series and reloads the days that differ.
+     * The first call compares every day and drops symbols the database does not know; later calls
+     * only compare the days updated since the newest change seen before, less {@link
+     * #CATCH_UP_OVERLAP}.
+     *
+     * @return number of symbol days that differed
+     */
+    private int catchUp() {
+        var staleDays = new HashMap<String, Set<LocalDate>>();
+        var present = new HashSet<String>();
+        var seenUpTo = rollupSeenUpTo;
+        var newest = new OffsetDateTime[] {seenUpTo};
+        RowCallbackHandler compare =
+                rs -> {
+                    String symbol = rs.getString("symbol");
+                    var day = rs.getObject("day", LocalDate.class);
+                    var updatedAt = rs.getObject("updated_at", OffsetDateTime.class);
+                    present.add(symbol);
+                    if (newest[0] == null || updatedAt.isAfter(newest[0])) {
+                        newest[0] = updatedAt;
+                    }
+                    var symbolSeries = series.getOrDefault(symbol, PriceSeries.EMPTY);
+                    long from = startOfDay(day);
+                    long ticks = rs.getLong("tick_count");
+                    if (symbolSeries.count(from, from + MILLIS_PER_DAY) != ticks) {
+                        staleDays.computeIfAbsent(symbol, key -> new TreeSet<>()).add(day);
+                    }
+                };
+        if (seenUpTo == null) {
+            jdbcTemplate.query(DAY_TICK_COUNTS, compare);
+            series.keySet().retainAll(present);
+        } else {
+            jdbcTemplate.query(
+                    DAY_TICK_COUNTS + " WHERE updated_at >= ?",
+                    compare,
+                    seenUpTo.minus(CATCH_UP_OVERLAP));
+        }
+        rollupSeenUpTo = newest[0];
+        int stale = 0;
+        for (var symbolDays : staleDays.entrySet()) {
+            reload(symbolDays.getKey(), symbolDays.getValue());
+            stale += symbolDays.getValue().size();
+        }
+        return stale;
+    }
+
+    private void loadAll() {
+        long startTime = System.currentTimeMillis();
+        var builders = new HashMap<String, PriceSeries.Builder>();
+        jdbcTemplate.query(
+                QUOTE_COLUMNS + " ORDER BY symbol, price_timestamp",
+                rs -> {
+                    builders.computeIfAbsent(
+                                    rs.getString("symbol"), symbol -> new PriceSeries.Builder())
+                            .append(rs.getLong("epoch_milli"), rs.getLong("scaled_price"));
+                });
+        series.clear();
+        builders.forEach((symbol, builder) -> series.put(symbol, builder.build()));
+        LOGGER.info(
+                "Loaded {} symbols into the in-memory read model in {} ms",
+                series.size(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Reloads the imported days of every imported symbol.
+     *
+     * @param event symbols and days that received new rows
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void onPricesImported(PricesImportedEvent event) {
+        if (event.days().isEmpty()) {
+            return;
+        }
+        for (String symbol : event.symbols()) {
+            reload(symbol, event.days());
+        }
+        LOGGER.debug("Reloaded {} symbols in the in-memory read model", event.symbols().size());
+        snapshotStale.set(true);
+    }
+
+    /**
+     * Reloads the days imported by other instances, whose events this instance never sees. The
+     * snapshot is left to the importing instance.
+     */
+    @Scheduled(
+            fixedDelayString = "${app.read-model.catch-up-interval:1m}",
+            initialDelayString = "${app.read-model.catch-up-interval:1m}")
+    public synchronized void catchUpWithImports() {
+        int reloaded = catchUp();
+        if (reloaded > 0) {
+            LOGGER.info("Reloaded {} symbol days imported by another instance", reloaded);
+        }
+    }
+
+    /** Rewrites the snapshot when an import or catch-up changed the series since the last write. */
+    @Scheduled(
+            fixedDelayString = "${app.read-model.snapshot.write-interval:5m}",
+            initialDelayString = "${app.read-model.snapshot.write-interval:5m}")
+    @PreDestroy
+    public void writeSnapshotIfStale() {
+        if (snapshotStale.getAndSet(false)) {
+            writeSnapshot();
+        }
+    }
+
+    /** Reloads each run of consecutive days of one symbol and splices it into its series. */
+    private void reload(String symbol, Set<LocalDate> days) {
+        var sorted = List.copyOf(new TreeSet<>(days));
+        int runStart = 0;
+        for (int i = 1; i <= sorted.size(); i++) {
+            if (i == sorted.size() || !sorted.get(i).equals(sorted.get(i - 1).plusDays(1))) {
+                long from = startOfDay(sorted.get(runStart));
+                long to = startOfDay(sorted.get(i - 1)) + MILLIS_PER_DAY;
+                var window = loadWindow(symbol, from, to);
+                series.merge(
+                        symbol, window, (current, loaded) -> current.splice(from, to, loaded));
+                runStart = i;
+            }
+        }
+    }
+
+    /** Persists the current series; a failure only costs the next restart a full load. */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void writeSnapshot() {
+        if (!snapshotProperties.enabled()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            PriceSnapshotFile.write(snapshotProperties.path(), Map.copyOf(series));
+            LOGGER.info(
+                    "Wrote read-model snapshot {} in {} ms",
+                    snapshotProperties.path(),
+                    System.currentTimeMillis() - startTime);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not write read-model snapshot {}", snapshotProperties.path(), e);
+        }
+    }
+
+    private PriceSeries loadWindow(String symbol, long from, long to) {
+        var builder = new PriceSeries.Builder();
+        jdbcTemplate.query(
+                QUOTE_COLUMNS
+                        + " WHERE symbol = ? AND price_timestamp >= ? AND price_timestamp < ?"
+                        + " ORDER BY price_timestamp",
+                rs -> {
+                    builder.append(rs.getLong("epoch_milli"), rs.getLong("scaled_price"));
+                },
+                symbol,
+                toTimestamp(from),
+                toTimestamp(to));
+        return builder.build();
+    }
+
+    @Override
+    public Optional<CryptoStats> findStats(String symbol) {
+        var symbolSeries = series.get(symbol);
+        if (symbolSeries == null || symbolSeries.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(analysisService.statsFromAccumulator(symbol, symbolSeries.summarize()));
+    }
+
+    @Override
+    public Optional<CryptoStats> findStats(String symbol, Instant from, Instant to) {
+        var symbolSeries = series.get(symbol);
+        if (symbolSeries == null) {
+            return Optional.empty();
+        }
+        var accumulator = symbolSeries.summarize(from.toEpochMilli(), to.toEpochMilli() + 1);
+        if (accumulator.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(analysisService.statsFromAccumulator(symbol, accumulator));
+    }
+
+    @Override
+    public List<CryptoStats> findAllStats() {
+        var stats = new ArrayList<CryptoStats>(series.size());
+        series.forEach(
+                (symbol, symbolSeries) -> {
+                    if (!symbolSeries.isEmpty()) {
+                        stats.add(
+                                analysisService.statsFromAccumulator(
+                                        symbol, symbolSeries.summarize()));
+                    }
+                });
+        return stats;
+    }
+
+    @Override
+    public List<CryptoStats> findStatsForDay(LocalDate day) {
+        long from = startOfDay(day);
+        var stats = new ArrayList<CryptoStats>();
+        series.forEach(
+                (symbol, symbolSeries) -> {
+                    var accumulator = symbolSeries.summarize(from, from + MILLIS_PER_DAY);
+                    if (!accumulator.isEmpty()) {
+                        stats.add(analysisService.statsFromAccumulator(symbol, accumulator));
+                    }
+                });
+        return stats;
+    }
+
+    private static long startOfDay(LocalDate day) {
+        return day.toEpochDay() * MILLIS_PER_DAY;
+    }
+
+    private static OffsetDateTime toTimestamp(long epochMilli) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,83 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.DailyRangeHistory;
+import com.epam.xm.recommendations.infrastructure.config.AppExportProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link DailyRangeHistory} ranking the {@code crypto_daily_stats} rollup with a window function.
+ *
+ * <p>The database reads one rollup row per symbol and day through the {@code day} index, numbers
+ * the symbols of each day with {@code ROW_NUMBER()} and returns only the first {@code k}, so the
+ * result is ranked and trimmed before it leaves PostgreSQL. {@code ROUND} on {@code NUMERIC} rounds
+ * halves away from zero, which for the positive ranges is the {@code HALF_UP} of the Java side.
+ * Rows are read through a cursor like {@link JdbcPriceHistory}, so callers must run inside a
+ * transaction.
+ */
+@Repository
+public class JdbcDailyRangeHistory implements DailyRangeHistory {
+
+    private static final String TOP_RANGES =
+            """
+            WITH ranked AS (
+                SELECT day, symbol, normalized_range,
+                       ROW_NUMBER() OVER (PARTITION BY day
+                                          ORDER BY normalized_range DESC, symbol) AS day_rank
+                  FROM (SELECT day, symbol,
+                               ROUND((max_price - min_price) / min_price, 4) AS normalized_range
+                          FROM crypto_daily_stats
+                         WHERE day BETWEEN ? AND ?) ranges
+            )
+            SELECT day, symbol, normalized_range
+              FROM ranked
+             WHERE day_rank <= ?
+             ORDER BY day, day_rank
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    /**
+     * @param jdbcTemplate JDBC template joining the caller's transaction
+     * @param exportProperties cursor fetch size
+     */
+    public JdbcDailyRangeHistory(JdbcTemplate jdbcTemplate, AppExportProperties exportProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = exportProperties.fetchSize();
+    }
+
+    @Override
+    public long streamTopRanges(LocalDate from, LocalDate to, int k, DailyRangeSink sink) {
+        var streamed = new long[1];
+        jdbcTemplate.query(
+                connection -> {
+                    var statement =
+                            connection.prepareStatement(
+                                    TOP_RANGES,
+                                    ResultSet.TYPE_FORWARD_ONLY,
+                                    ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    statement.setObject(1, from);
+                    statement.setObject(2, to);
+                    statement.setInt(3, k);
+                    return statement;
+                },
+                rs -> {
+                    try {
+                        sink.accept(
+                                rs.getObject("day", LocalDate.class),
+                                rs.getString("symbol"),
+                                rs.getBigDecimal("normalized_range"));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    streamed[0]++;
+                });
+        return streamed[0];
+    }
+}
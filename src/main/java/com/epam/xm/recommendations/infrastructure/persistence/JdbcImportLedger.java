@@ -0,0 +1,67 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.ImportLedger;
+import com.epam.xm.recommendations.domain.ImportLedgerEntry;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** {@link ImportLedger} backed by the {@code csv_import_ledger} table. */
+@Repository
+public class JdbcImportLedger implements ImportLedger {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcImportLedger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<ImportLedgerEntry> find(String fileName) {
+        var sql =
+                """
+                SELECT file_name, file_size, last_modified, content_hash, processed_offset
+                  FROM csv_import_ledger
+                 WHERE file_name = ?
+                """;
+        return jdbcTemplate
+                .query(
+                        sql,
+                        (rs, rowNum) ->
+                                new ImportLedgerEntry(
+                                        rs.getString("file_name"),
+                                        rs.getLong("file_size"),
+                                        rs.getObject("last_modified", OffsetDateTime.class)
+                                                .toInstant(),
+                                        rs.getString("content_hash"),
+                                        rs.getLong("processed_offset")),
+                        fileName)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void record(ImportLedgerEntry entry) {
+        var sql =
+                """
+                INSERT INTO csv_import_ledger
+                       (file_name, file_size, last_modified, content_hash, processed_offset)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (file_name) DO UPDATE
+                   SET file_size = EXCLUDED.file_size,
+                       last_modified = EXCLUDED.last_modified,
+                       content_hash = EXCLUDED.content_hash,
+                       processed_offset = EXCLUDED.processed_offset,
+                       updated_at = CURRENT_TIMESTAMP
+                """;
+        jdbcTemplate.update(
+                sql,
+                entry.fileName(),
+                entry.fileSize(),
+                OffsetDateTime.ofInstant(entry.lastModified(), ZoneOffset.UTC),
+                entry.contentHash(),
+                entry.processedOffset());
+    }
+}
@@ -0,0 +1,87 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.PriceHistory;
+import com.epam.xm.recommendations.infrastructure.config.AppExportProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link PriceHistory} reading {@code crypto_prices} through a server-side cursor.
+ *
+ * <p>The PostgreSQL driver only uses a cursor, fetching {@code app.export.fetch-size} rows per
+ * round-trip, when auto-commit is off; callers must therefore run inside a transaction, otherwise
+ * the whole result is buffered by the driver. Rows are handed to the sink as they arrive, already
+ * converted to fixed-point {@code BIGINT}s by the database, and never collected.
+ */
+@Repository
+public class JdbcPriceHistory implements PriceHistory {
+
+    private static final String QUOTES =
+            """
+            SELECT (EXTRACT(EPOCH FROM price_timestamp) * 1000)::BIGINT AS epoch_milli,
+                   (price * 100000000)::BIGINT AS scaled_price
+              FROM crypto_prices
+             WHERE symbol = ?
+            """;
+
+    private static final String WINDOW = " AND price_timestamp BETWEEN ? AND ?";
+
+    private static final String ORDER = " ORDER BY price_timestamp";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    /**
+     * @param jdbcTemplate JDBC template joining the caller's transaction
+     * @param exportProperties cursor fetch size
+     */
+    public JdbcPriceHistory(JdbcTemplate jdbcTemplate, AppExportProperties exportProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = exportProperties.fetchSize();
+    }
+
+    @Override
+    public long streamQuotes(String symbol, QuoteSink sink) {
+        return stream(QUOTES + ORDER, sink, symbol);
+    }
+
+    @Override
+    public long streamQuotes(String symbol, Instant from, Instant to, QuoteSink sink) {
+        return stream(
+                QUOTES + WINDOW + ORDER,
+                sink,
+                symbol,
+                OffsetDateTime.ofInstant(from, ZoneOffset.UTC),
+                OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+    }
+
+    private long stream(String sql, QuoteSink sink, Object... args) {
+        var streamed = new long[1];
+        jdbcTemplate.query(
+                connection -> {
+                    var statement =
+                            connection.prepareStatement(
+                                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    for (int i = 0; i < args.length; i++) {
+                        statement.setObject(i + 1, args[i]);
+                    }
+                    return statement;
+                },
+                rs -> {
+                    try {
+                        sink.accept(rs.getLong("epoch_milli"), rs.getLong("scaled_price"));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    streamed[0]++;
+                });
+        return streamed[0];
+    }
+}
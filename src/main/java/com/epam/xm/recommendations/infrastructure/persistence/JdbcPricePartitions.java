@@ -0,0 +1,152 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.PricePartitions;
+import com.epam.xm.recommendations.infrastructure.config.AppEtlProperties;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link PricePartitions} for the monthly range partitions of {@code crypto_prices}, created by the
+ * {@code crypto_prices_ensure_partitions} database function.
+ *
+ * <p>Months later than {@code app.etl.partition-months-ahead} from now are left to the default
+ * partition. Months known to exist are remembered, so writers pay for a database round-trip only
+ * the first time they meet a month. Partitions are created in their own short transaction, never
+ * inside the caller's import transaction, so the locks of the attach are released immediately. A
+ * daily job keeps {@code app.etl.partition-months-ahead} future months available and moves quotes
+ * that reached the default partition into partitions of their own.
+ */
+@Repository
+public class JdbcPricePartitions implements PricePartitions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcPricePartitions.class);
+
+    private static final String ENSURE_SQL = "SELECT crypto_prices_ensure_partitions(?, ?)";
+
+    private static final String SPLIT_DEFAULT_SQL =
+            """
+            SELECT crypto_prices_ensure_partitions(MIN(price_timestamp), MAX(price_timestamp))
+              FROM crypto_prices_default
+            HAVING COUNT(*) > 0
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations newTransaction;
+    private final int monthsAhead;
+    private final Set<YearMonth> knownMonths = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public JdbcPricePartitions(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AppEtlProperties etlProperties) {
+        this(
+                jdbcTemplate,
+                newTransaction(transactionManager),
+                etlProperties.partitionMonthsAhead());
+    }
+
+    /**
+     * @param jdbcTemplate template bound to the primary data source
+     * @param newTransaction runs partition maintenance outside any caller transaction
+     * @param monthsAhead future months kept available by {@link #createUpcomingPartitions()}
+     */
+    public JdbcPricePartitions(
+            JdbcTemplate jdbcTemplate, TransactionOperations newTransaction, int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = newTransaction;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Override
+    public void ensureCovered(long fromEpochMilli, long toEpochMilli) {
+        var first = YearMonth.from(Instant.ofEpochMilli(fromEpochMilli).atOffset(ZoneOffset.UTC));
+        var last = YearMonth.from(Instant.ofEpochMilli(toEpochMilli).atOffset(ZoneOffset.UTC));
+        // A damaged far-future timestamp must not create thousands of empty partitions
+        var horizon = YearMonth.now(ZoneOffset.UTC).plusMonths(monthsAhead);
+        if (last.isAfter(horizon)) {
+            last = horizon;
+        }
+        if (first.isAfter(last) || isKnown(first, last)) {
+            return;
+        }
+        try {
+            Integer created =
+                    newTransaction.execute(
+                            status ->
+                                    jdbcTemplate.queryForObject(
+                                            ENSURE_SQL,
+                                            Integer.class,
+                                            startOf(first),
+                                            startOf(last)));
+            remember(first, last);
+            if (created != null && created > 0) {
+                LOGGER.info("Created {} price partitions for {} to {}", created, first, last);
+            }
+        } catch (DataAccessException e) {
+            // Quotes still land in the default partition and are moved out by the daily job
+            LOGGER.warn("Could not create price partitions for {} to {}", first, last, e);
+        }
+    }
+
+    /**
+     * Creates the partitions of the current and the next {@code partition-months-ahead} months and
+     * moves quotes out of the default partition.
+     */
+    @Scheduled(cron = "${app.etl.partition-cron}")
+    @SchedulerLock(name = "pricePartitionsLock", lockAtLeastFor = "10s", lockAtMostFor = "10m")
+    public void createUpcomingPartitions() {
+        var now = OffsetDateTime.now(ZoneOffset.UTC);
+        ensureCovered(
+                now.toInstant().toEpochMilli(),
+                now.plusMonths(monthsAhead).toInstant().toEpochMilli());
+        try {
+            newTransaction.executeWithoutResult(
+                    status -> jdbcTemplate.queryForList(SPLIT_DEFAULT_SQL, Integer.class));
+        } catch (DataAccessException e) {
+            LOGGER.warn("Could not move quotes out of the default price partition", e);
+        }
+    }
+
+    private boolean isKnown(YearMonth first, YearMonth last) {
+        for (var month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!knownMonths.contains(month)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void remember(YearMonth first, YearMonth last) {
+        for (var month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            knownMonths.add(month);
+        }
+    }
+
+    private static OffsetDateTime startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private static TransactionOperations newTransaction(
+            PlatformTransactionManager transactionManager) {
+        var template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
@@ -13,6 +13,10 @@ import org.hibernate.annotations.CreationTimestamp;
  *
  * <p>The composite index on (symbol, price_timestamp DESC) accelerates newest/oldest fetches and
  * range scans. A unique constraint prevents duplicate ingestions for the same (symbol, timestamp).
+ *
+ * <p>The table is range-partitioned by UTC month on {@code price_timestamp}; its database primary
+ * key is therefore {@code (id, price_timestamp)}, while {@code id} alone stays unique through its
+ * sequence.
  */
 @Entity
 @Table(
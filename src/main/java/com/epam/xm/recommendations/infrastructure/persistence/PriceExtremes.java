@@ -0,0 +1,17 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import java.math.BigDecimal;
+
+/** Interface-based projection carrying the price extremes of a symbol over a range of days. */
+public interface PriceExtremes {
+
+    /**
+     * @return minimum price within the range
+     */
+    BigDecimal getMinPrice();
+
+    /**
+     * @return maximum price within the range
+     */
+    BigDecimal getMaxPrice();
+}
@@ -1,6 +1,7 @@
 package com.epam.xm.recommendations.infrastructure.persistence;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +38,29 @@ public interface PriceRepository extends JpaRepository<PriceEntity, Long> {
      */
     Optional<PriceEntity> findFirstBySymbolOrderByPriceTimestampDesc(String symbol);
 
+    /**
+     * Finds the earliest quote of a symbol within a time interval, walking the (symbol,
+     * price_timestamp) index from the start of the interval.
+     *
+     * @param symbol coin ticker
+     * @param start inclusive start of interval (UTC)
+     * @param end inclusive end of interval (UTC)
+     * @return optional earliest record in the interval
+     */
+    Optional<PriceEntity> findFirstBySymbolAndPriceTimestampBetweenOrderByPriceTimestampAsc(
+            String symbol, OffsetDateTime start, OffsetDateTime end);
+
+    /**
+     * Finds the latest quote of a symbol within a time interval.
+     *
+     * @param symbol coin ticker
+     * @param start inclusive start of interval (UTC)
+     * @param end inclusive end of interval (UTC)
+     * @return optional latest record in the interval
+     */
+    Optional<PriceEntity> findFirstBySymbolAndPriceTimestampBetweenOrderByPriceTimestampDesc(
+            String symbol, OffsetDateTime start, OffsetDateTime end);
+
     /**
      * Returns the minimum price for a given symbol and time interval.
      *
@@ -68,30 +92,85 @@ public interface PriceRepository extends JpaRepository<PriceEntity, Long> {
             @Param("end") OffsetDateTime end);
 
     /**
-     * @return distinct list of all symbols present in storage
+     * Combines the {@code crypto_daily_stats} rollup into one all-time row per symbol: the open of
+     * the first day, the close of the last day and the extremes over all days.
+     *
+     * @return per-symbol summaries (oldest, newest, min, max price)
      */
-    @Query("SELECT DISTINCT p.symbol FROM PriceEntity p")
-    List<String> findAllSymbols();
+    @Query(
+            value =
+                    """
+                    SELECT d.symbol AS "symbol",
+                           (ARRAY_AGG(d.open_price ORDER BY d.day ASC))[1] AS "oldestPrice",
+                           (ARRAY_AGG(d.close_price ORDER BY d.day DESC))[1] AS "newestPrice",
+                           MIN(d.min_price) AS "minPrice",
+                           MAX(d.max_price) AS "maxPrice"
+                      FROM crypto_daily_stats d
+                     GROUP BY d.symbol
+                    """,
+            nativeQuery = true)
+    List<SymbolPriceSummary> findRollupSummaries();
 
     /**
+     * Combines the daily rollup rows of one symbol into its all-time summary.
+     *
      * @param symbol coin ticker
-     * @return all quotes for the symbol
+     * @return summary, or empty when the symbol has no data
      */
-    List<PriceEntity> findAllBySymbol(String symbol);
+    @Query(
+            value =
+                    """
+                    SELECT d.symbol AS "symbol",
+                           (ARRAY_AGG(d.open_price ORDER BY d.day ASC))[1] AS "oldestPrice",
+                           (ARRAY_AGG(d.close_price ORDER BY d.day DESC))[1] AS "newestPrice",
+                           MIN(d.min_price) AS "minPrice",
+                           MAX(d.max_price) AS "maxPrice"
+                      FROM crypto_daily_stats d
+                     WHERE d.symbol = :symbol
+                     GROUP BY d.symbol
+                    """,
+            nativeQuery = true)
+    Optional<SymbolPriceSummary> findRollupSummary(@Param("symbol") String symbol);
 
     /**
-     * @param start inclusive start (UTC)
-     * @param end inclusive end (UTC)
-     * @return all quotes in the time window across symbols
+     * Folds the price extremes of a symbol over a range of whole UTC days from the daily rollup.
+     *
+     * @param symbol coin ticker
+     * @param fromDay inclusive first day
+     * @param toDay exclusive last day
+     * @return extremes, or empty when the rollup has no rows in the range
      */
-    List<PriceEntity> findAllByPriceTimestampBetween(OffsetDateTime start, OffsetDateTime end);
+    @Query(
+            value =
+                    """
+                    SELECT MIN(d.min_price) AS "minPrice", MAX(d.max_price) AS "maxPrice"
+                      FROM crypto_daily_stats d
+                     WHERE d.symbol = :symbol AND d.day >= :fromDay AND d.day < :toDay
+                     GROUP BY d.symbol
+                    """,
+            nativeQuery = true)
+    Optional<PriceExtremes> findRollupExtremes(
+            @Param("symbol") String symbol,
+            @Param("fromDay") LocalDate fromDay,
+            @Param("toDay") LocalDate toDay);
 
     /**
-     * @param symbol coin ticker
-     * @param start inclusive start (UTC)
-     * @param end inclusive end (UTC)
-     * @return all quotes for the symbol in the time window
+     * Reads the daily rollup rows of a single UTC day.
+     *
+     * @param day UTC day
+     * @return one summary per symbol with quotes on that day
      */
-    List<PriceEntity> findAllBySymbolAndPriceTimestampBetween(
-            String symbol, OffsetDateTime start, OffsetDateTime end);
+    @Query(
+            value =
+                    """
+                    SELECT d.symbol AS "symbol",
+                           d.open_price AS "oldestPrice",
+                           d.close_price AS "newestPrice",
+                           d.min_price AS "minPrice",
+                           d.max_price AS "maxPrice"
+                      FROM crypto_daily_stats d
+                     WHERE d.day = :day
+                    """,
+            nativeQuery = true)
+    List<SymbolPriceSummary> findRollupSummariesForDay(@Param("day") LocalDate day);
 }
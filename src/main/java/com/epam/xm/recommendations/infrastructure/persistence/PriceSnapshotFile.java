@@ -0,0 +1,207 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.PriceSeries;
+import com.epam.xm.recommendations.domain.PriceStatsAccumulator;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Binary, memory-mapped snapshot of the in-memory read model.
+ *
+ * <p>The file holds the {@link PriceSeries} of every symbol together with its whole-series
+ * statistics, in the layout the columns have in memory, so restoring it is a bulk copy out of the
+ * page cache instead of a full scan of {@code crypto_prices}. All values are little-endian and
+ * 8-byte aligned:
+ *
+ * <pre>
+ * header     magic, version, symbol count, written-at epoch millis, file size     32 bytes
+ * directory  per symbol: symbol, quote count, data offset, oldest time/price,
+ *            newest time/price, min price, max price                              80 bytes each
+ * data       per symbol: epoch millis column, then scaled prices column           16 bytes/quote
+ * </pre>
+ *
+ * <p>Snapshots are written to a temporary file next to the target and moved into place
+ * atomically, so a reader never maps a partially written file.
+ */
+final class PriceSnapshotFile {
+
+    private static final long MAGIC = 0x50414E5350495243L; // "CRIPSNAP", little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int SYMBOL_BYTES = 16;
+    private static final int ENTRY_BYTES = 80;
+
+    private static final ValueLayout.OfLong LONG =
+            ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT =
+            ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private PriceSnapshotFile() {}
+
+    /**
+     * Contents of a snapshot.
+     *
+     * @param writtenAt when the snapshot was written
+     * @param series price history per symbol
+     */
+    record Restored(Instant writtenAt, Map<String, PriceSeries> series) {}
+
+    /**
+     * Writes a snapshot, replacing any existing file at {@code path}.
+     *
+     * @param path target file; missing parent directories are created
+     * @param series price history per symbol
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a symbol is longer than 15 bytes
+     */
+    static void write(Path path, Map<String, PriceSeries> series) throws IOException {
+        var sorted = new TreeMap<>(series);
+        long size = HEADER_BYTES + (long) ENTRY_BYTES * sorted.size();
+        for (var symbolSeries : sorted.values()) {
+            size += 16L * symbolSeries.size();
+        }
+        var directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (var arena = Arena.ofConfined();
+                    var channel =
+                            FileChannel.open(
+                                    temporary,
+                                    StandardOpenOption.READ,
+                                    StandardOpenOption.WRITE,
+                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                var file = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+                writeContents(file, sorted, size);
+                file.force();
+            }
+            Files.move(
+                    temporary,
+                    path,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeContents(
+            MemorySegment file, Map<String, PriceSeries> series, long size) {
+        file.set(LONG, 0, MAGIC);
+        file.set(INT, 8, VERSION);
+        file.set(INT, 12, series.size());
+        file.set(LONG, 16, System.currentTimeMillis());
+        file.set(LONG, 24, size);
+        long entry = HEADER_BYTES;
+        long data = HEADER_BYTES + (long) ENTRY_BYTES * series.size();
+        for (var symbolSeries : series.entrySet()) {
+            byte[] symbol = symbolSeries.getKey().getBytes(StandardCharsets.UTF_8);
+            if (symbol.length >= SYMBOL_BYTES) {
+                throw new IllegalArgumentException(
+                        "Symbol too long for a snapshot: " + symbolSeries.getKey());
+            }
+            MemorySegment.copy(symbol, 0, file, ValueLayout.JAVA_BYTE, entry, symbol.length);
+            var summary = symbolSeries.getValue().summarize();
+            file.set(LONG, entry + 16, summary.count());
+            file.set(LONG, entry + 24, data);
+            file.set(LONG, entry + 32, summary.oldestTime());
+            file.set(LONG, entry + 40, summary.oldestPrice());
+            file.set(LONG, entry + 48, summary.newestTime());
+            file.set(LONG, entry + 56, summary.newestPrice());
+            file.set(LONG, entry + 64, summary.minPrice());
+            file.set(LONG, entry + 72, summary.maxPrice());
+            long millisStart = data;
+            long pricesStart = data + 8 * summary.count();
+            symbolSeries
+                    .getValue()
+                    .readColumns(
+                            (epochMillis, scaledPrices) -> {
+                                int count = epochMillis.length;
+                                MemorySegment.copy(epochMillis, 0, file, LONG, millisStart, count);
+                                MemorySegment.copy(scaledPrices, 0, file, LONG, pricesStart, count);
+                            });
+            entry += ENTRY_BYTES;
+            data += 16L * summary.count();
+        }
+    }
+
+    /**
+     * Maps a snapshot read-only and copies its series onto the heap.
+     *
+     * @param path snapshot file
+     * @return snapshot contents
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    static Restored read(Path path) throws IOException {
+        try (var arena = Arena.ofConfined();
+                var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            check(size >= HEADER_BYTES, path);
+            var file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            check(file.get(LONG, 0) == MAGIC && file.get(INT, 8) == VERSION, path);
+            check(file.get(LONG, 24) == size, path);
+            int symbols = file.get(INT, 12);
+            long dataStart = HEADER_BYTES + (long) ENTRY_BYTES * symbols;
+            check(symbols >= 0 && dataStart <= size, path);
+            var series = LinkedHashMap.<String, PriceSeries>newLinkedHashMap(symbols);
+            for (long entry = HEADER_BYTES; entry < dataStart; entry += ENTRY_BYTES) {
+                series.put(readSymbol(file, entry, path), readSeries(file, entry, dataStart, path));
+            }
+            return new Restored(Instant.ofEpochMilli(file.get(LONG, 16)), series);
+        }
+    }
+
+    private static String readSymbol(MemorySegment file, long entry, Path path)
+            throws IOException {
+        var field = file.asSlice(entry, SYMBOL_BYTES).toArray(ValueLayout.JAVA_BYTE);
+        int length = 0;
+        while (length < SYMBOL_BYTES && field[length] != 0) {
+            length++;
+        }
+        check(length > 0 && length < SYMBOL_BYTES, path);
+        return new String(field, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static PriceSeries readSeries(
+            MemorySegment file, long entry, long dataStart, Path path) throws IOException {
+        long count = file.get(LONG, entry + 16);
+        long offset = file.get(LONG, entry + 24);
+        check(count >= 0 && count <= Integer.MAX_VALUE - 8, path);
+        check(offset >= dataStart && offset % 8 == 0, path);
+        check(offset + 16 * count <= file.byteSize(), path);
+        int length = (int) count;
+        var epochMillis = new long[length];
+        var scaledPrices = new long[length];
+        MemorySegment.copy(file, LONG, offset, epochMillis, 0, length);
+        MemorySegment.copy(file, LONG, offset + 8L * length, scaledPrices, 0, length);
+        var summary =
+                PriceStatsAccumulator.restore(
+                        count,
+                        file.get(LONG, entry + 32),
+                        file.get(LONG, entry + 40),
+                        file.get(LONG, entry + 48),
+                        file.get(LONG, entry + 56),
+                        file.get(LONG, entry + 64),
+                        file.get(LONG, entry + 72));
+        return PriceSeries.restore(epochMillis, scaledPrices, summary);
+    }
+
+    private static void check(boolean valid, Path path) throws IOException {
+        if (!valid) {
+            throw new IOException("Not a valid price snapshot: " + path);
+        }
+    }
+}
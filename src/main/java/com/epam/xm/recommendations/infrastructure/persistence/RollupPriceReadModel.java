@@ -0,0 +1,131 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import com.epam.xm.recommendations.domain.CryptoAnalysisService;
+import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
+import com.epam.xm.recommendations.domain.PriceReadModel;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Default {@link PriceReadModel} answering from the {@code crypto_daily_stats} rollup in the
+ * database, so a request reads at most one row per symbol and day. Active unless {@code
+ * app.read-model.type} selects another implementation.
+ *
+ * <p>Time windows are answered without fetching quotes: the first and last quote come from two
+ * {@code LIMIT 1} index lookups, whole days inside the window from the rollup, and the partial days
+ * at either edge from the index-backed {@code MIN}/{@code MAX} queries.
+ */
+@Repository
+@ConditionalOnProperty(
+        prefix = "app.read-model",
+        name = "type",
+        havingValue = "database",
+        matchIfMissing = true)
+public class RollupPriceReadModel implements PriceReadModel {
+
+    private final PriceRepository priceRepository;
+    private final CryptoAnalysisService analysisService;
+
+    /**
+     * @param priceRepository repository exposing the rollup queries
+     * @param analysisService domain service turning aggregates into statistics
+     */
+    public RollupPriceReadModel(
+            PriceRepository priceRepository, CryptoAnalysisService analysisService) {
+        this.priceRepository = priceRepository;
+        this.analysisService = analysisService;
+    }
+
+    @Override
+    public Optional<CryptoStats> findStats(String symbol) {
+        return priceRepository.findRollupSummary(symbol).map(this::toStats);
+    }
+
+    @Override
+    public Optional<CryptoStats> findStats(String symbol, Instant from, Instant to) {
+        var start = OffsetDateTime.ofInstant(from, ZoneOffset.UTC);
+        var end = OffsetDateTime.ofInstant(to, ZoneOffset.UTC);
+        var oldest =
+                priceRepository.findFirstBySymbolAndPriceTimestampBetweenOrderByPriceTimestampAsc(
+                        symbol, start, end);
+        if (oldest.isEmpty()) {
+            return Optional.empty();
+        }
+        var newest =
+                priceRepository
+                        .findFirstBySymbolAndPriceTimestampBetweenOrderByPriceTimestampDesc(
+                                symbol, start, end)
+                        .orElse(oldest.get());
+
+        var prices = new ArrayList<Price>();
+        prices.add(Price.of(oldest.get().getPrice()));
+        prices.add(Price.of(newest.getPrice()));
+        var firstDay = start.toLocalDate();
+        if (start.isAfter(startOfDay(firstDay))) {
+            firstDay = firstDay.plusDays(1);
+        }
+        // Days before the one containing the window end are covered entirely
+        var endDay = end.toLocalDate();
+        if (firstDay.isBefore(endDay)) {
+            priceRepository
+                    .findRollupExtremes(symbol, firstDay, endDay)
+                    .ifPresent(
+                            extremes -> {
+                                prices.add(Price.of(extremes.getMinPrice()));
+                                prices.add(Price.of(extremes.getMaxPrice()));
+                            });
+            if (start.isBefore(startOfDay(firstDay))) {
+                addExtremes(prices, symbol, start, startOfDay(firstDay));
+            }
+            addExtremes(prices, symbol, startOfDay(endDay), end);
+        } else {
+            addExtremes(prices, symbol, start, end);
+        }
+
+        return Optional.of(
+                analysisService.statsFromAggregates(
+                        symbol,
+                        Price.of(oldest.get().getPrice()),
+                        Price.of(newest.getPrice()),
+                        Collections.min(prices),
+                        Collections.max(prices)));
+    }
+
+    private void addExtremes(
+            List<Price> prices, String symbol, OffsetDateTime start, OffsetDateTime end) {
+        priceRepository.findMinPrice(symbol, start, end).map(Price::of).ifPresent(prices::add);
+        priceRepository.findMaxPrice(symbol, start, end).map(Price::of).ifPresent(prices::add);
+    }
+
+    private static OffsetDateTime startOfDay(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    @Override
+    public List<CryptoStats> findAllStats() {
+        return priceRepository.findRollupSummaries().stream().map(this::toStats).toList();
+    }
+
+    @Override
+    public List<CryptoStats> findStatsForDay(LocalDate day) {
+        return priceRepository.findRollupSummariesForDay(day).stream().map(this::toStats).toList();
+    }
+
+    private CryptoStats toStats(SymbolPriceSummary summary) {
+        return analysisService.statsFromAggregates(
+                summary.getSymbol(),
+                Price.of(summary.getOldestPrice()),
+                Price.of(summary.getNewestPrice()),
+                Price.of(summary.getMinPrice()),
+                Price.of(summary.getMaxPrice()));
+    }
+}
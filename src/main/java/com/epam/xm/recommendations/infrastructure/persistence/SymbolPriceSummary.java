@@ -0,0 +1,37 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import java.math.BigDecimal;
+
+/**
+ * Interface-based projection carrying per-symbol aggregates computed by the database.
+ *
+ * <p>One instance is produced per symbol, so memory usage on the application side is bounded by
+ * the number of tracked coins rather than by the number of stored quotes.
+ */
+public interface SymbolPriceSummary {
+
+    /**
+     * @return coin ticker
+     */
+    String getSymbol();
+
+    /**
+     * @return price of the earliest quote
+     */
+    BigDecimal getOldestPrice();
+
+    /**
+     * @return price of the latest quote
+     */
+    BigDecimal getNewestPrice();
+
+    /**
+     * @return minimum price across all quotes
+     */
+    BigDecimal getMinPrice();
+
+    /**
+     * @return maximum price across all quotes
+     */
+    BigDecimal getMaxPrice();
+}
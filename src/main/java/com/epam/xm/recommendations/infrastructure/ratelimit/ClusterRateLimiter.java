@@ -0,0 +1,146 @@
+package com.epam.xm.recommendations.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * {@link RateLimiter} enforcing one budget per client across all instances.
+ *
+ * <p>Buckets live in a shared {@link TokenLeaseStore}. An instance leases up to {@code leaseSize}
+ * tokens of a client at a time and serves the next requests of that client from the lease, so only
+ * about one request in {@code leaseSize} reaches the store. An empty bucket is remembered as a
+ * denied lease, so rejected clients do not reach the store on every request either. Leases expire
+ * after {@code leaseTtl}; tokens left in an expired lease are dropped, never returned, so the
+ * cluster-wide limit can only err on the strict side, by at most {@code leaseSize - 1} tokens per
+ * instance serving the client.
+ *
+ * <p>Store calls run on {@code executor}, never inside a cache computation, and concurrent
+ * requests of a client wait for the single lease in flight. When a call fails, requests are
+ * limited per instance by {@code fallback} and skip the store for {@code storeBackoff}, so an
+ * unreachable database costs one timeout per backoff period rather than one per request.
+ */
+public class ClusterRateLimiter implements RateLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterRateLimiter.class);
+
+    private static final long MAX_LEASES = 1_000_000;
+
+    private final TokenLeaseStore store;
+    private final int leaseSize;
+    private final long storeBackoffNanos;
+    private final RateLimiter fallback;
+    private final Ticker ticker;
+    private final AsyncCache<Long, Lease> leases;
+    private volatile long storeRetryAt;
+
+    /**
+     * @param store shared buckets
+     * @param leaseSize tokens leased per round-trip to the store
+     * @param leaseTtl lifetime of a lease, granted or denied
+     * @param storeBackoff how long the store is skipped after a failed call
+     * @param fallback limiter used while the store is unavailable
+     * @param executor runs store calls
+     */
+    public ClusterRateLimiter(
+            TokenLeaseStore store,
+            int leaseSize,
+            Duration leaseTtl,
+            Duration storeBackoff,
+            RateLimiter fallback,
+            Executor executor) {
+        this(store, leaseSize, leaseTtl, storeBackoff, fallback, executor, Ticker.systemTicker());
+    }
+
+    ClusterRateLimiter(
+            TokenLeaseStore store,
+            int leaseSize,
+            Duration leaseTtl,
+            Duration storeBackoff,
+            RateLimiter fallback,
+            Executor executor,
+            Ticker ticker) {
+        this.store = store;
+        this.leaseSize = leaseSize;
+        this.storeBackoffNanos = storeBackoff.toNanos();
+        this.fallback = fallback;
+        this.ticker = ticker;
+        this.leases =
+                Caffeine.newBuilder()
+                        .maximumSize(MAX_LEASES)
+                        .expireAfterWrite(leaseTtl)
+                        .executor(executor)
+                        .ticker(ticker)
+                        .buildAsync();
+        this.storeRetryAt = ticker.read();
+    }
+
+    @Override
+    public boolean tryConsume(CharSequence clientKey) {
+        long keyHash = TokenBucketTable.hash(clientKey);
+        while (true) {
+            var pending = leases.getIfPresent(keyHash);
+            if (pending == null) {
+                if (ticker.read() - storeRetryAt < 0) {
+                    return fallback.tryConsume(clientKey);
+                }
+                // Installs the future only; the store is called on the executor
+                pending = leases.get(keyHash, key -> new Lease(store.lease(key, leaseSize)));
+            }
+            Lease lease;
+            try {
+                lease = pending.join();
+            } catch (CompletionException e) {
+                return storeFailed(e, clientKey);
+            }
+            if (lease.tryTake()) {
+                return true;
+            }
+            if (lease.denied()) {
+                return false;
+            }
+            // Used up: the first request to get here drops it, the others wait for its successor
+            leases.asMap().remove(keyHash, pending);
+        }
+    }
+
+    private boolean storeFailed(CompletionException e, CharSequence clientKey) {
+        if (!(e.getCause() instanceof DataAccessException cause)) {
+            throw e;
+        }
+        // Failed futures are evicted by the cache, so the next call after the backoff retries
+        storeRetryAt = ticker.read() + storeBackoffNanos;
+        LOGGER.warn(
+                "Rate limit store unavailable, limiting per instance for {}",
+                Duration.ofNanos(storeBackoffNanos),
+                cause);
+        return fallback.tryConsume(clientKey);
+    }
+
+    /** Tokens of one client held by this instance; a lease of zero tokens marks an empty bucket. */
+    private static final class Lease {
+
+        private final AtomicInteger remaining;
+        private final boolean denied;
+
+        Lease(int granted) {
+            this.remaining = new AtomicInteger(granted);
+            this.denied = granted == 0;
+        }
+
+        boolean tryTake() {
+            return remaining.getAndUpdate(left -> left > 0 ? left - 1 : left) > 0;
+        }
+
+        boolean denied() {
+            return denied;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.epam.xm.recommendations.infrastructure.ratelimit;
+
+import com.epam.xm.recommendations.infrastructure.config.AppRateLimitProperties;
+import java.time.Duration;
+import javax.sql.DataSource;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link TokenLeaseStore} keeping buckets in the unlogged {@code rate_limit_buckets} table, updated
+ * by the {@code rate_limit_lease} database function against the database clock.
+ *
+ * <p>Leases are taken outside any Spring transaction, so every call commits on its own and holds
+ * the row lock only for the duration of the function. They go through the small {@code
+ * rateLimitDataSource} pool with a short query timeout, so an unreachable database fails a lease
+ * within a second instead of after the connection timeout of the main pool. Buckets idle for longer
+ * than a full refill are equivalent to new ones and are deleted by a periodic job on the primary
+ * pool.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "mode", havingValue = "cluster")
+public class JdbcTokenLeaseStore implements TokenLeaseStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcTokenLeaseStore.class);
+
+    private static final String LEASE_SQL = "SELECT rate_limit_lease(?, ?, ?, ?, ?)";
+
+    private static final String DELETE_IDLE_SQL =
+            """
+            DELETE FROM rate_limit_buckets
+             WHERE touched_at < (extract(epoch FROM clock_timestamp()) * 1000)::BIGINT - ?
+            """;
+
+    private final JdbcTemplate leaseTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final int refillTokens;
+    private final long periodMillis;
+
+    /**
+     * @param leaseDataSource pool dedicated to leases
+     * @param jdbcTemplate template used outside transactions, hence on the primary pool
+     * @param properties bucket settings and lease timeout
+     */
+    @Autowired
+    public JdbcTokenLeaseStore(
+            @Qualifier("rateLimitDataSource") DataSource leaseDataSource,
+            JdbcTemplate jdbcTemplate,
+            AppRateLimitProperties properties) {
+        this(
+                leaseTemplate(leaseDataSource, properties.storeTimeout()),
+                jdbcTemplate,
+                properties.capacity(),
+                properties.tokensPerMinute(),
+                Duration.ofMinutes(1).toMillis());
+    }
+
+    /**
+     * @param jdbcTemplate template used for leases and cleanup
+     * @param capacity bucket capacity
+     * @param refillTokens tokens added per period
+     * @param periodMillis refill period
+     */
+    public JdbcTokenLeaseStore(
+            JdbcTemplate jdbcTemplate, int capacity, int refillTokens, long periodMillis) {
+        this(jdbcTemplate, jdbcTemplate, capacity, refillTokens, periodMillis);
+    }
+
+    private JdbcTokenLeaseStore(
+            JdbcTemplate leaseTemplate,
+            JdbcTemplate jdbcTemplate,
+            int capacity,
+            int refillTokens,
+            long periodMillis) {
+        this.leaseTemplate = leaseTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.refillTokens = refillTokens;
+        this.periodMillis = periodMillis;
+    }
+
+    @Override
+    public int lease(long keyHash, int tokens) {
+        Integer granted =
+                leaseTemplate.queryForObject(
+                        LEASE_SQL,
+                        Integer.class,
+                        keyHash,
+                        capacity,
+                        refillTokens,
+                        periodMillis,
+                        tokens);
+        return granted == null ? 0 : granted;
+    }
+
+    /** Deletes buckets that have been idle long enough to be full again. */
+    @Scheduled(cron = "${app.rate-limit.cleanup-cron:0 */10 * * * *}")
+    @SchedulerLock(name = "rateLimitCleanupLock", lockAtLeastFor = "10s", lockAtMostFor = "5m")
+    public void deleteIdleBuckets() {
+        long refillPeriods = (capacity + refillTokens - 1) / refillTokens;
+        int deleted = jdbcTemplate.update(DELETE_IDLE_SQL, refillPeriods * periodMillis);
+        LOGGER.debug("Deleted {} idle rate limit buckets", deleted);
+    }
+
+    /** JDBC query timeouts are whole seconds, so {@code timeout} is rounded up to one at least. */
+    private static JdbcTemplate leaseTemplate(DataSource dataSource, Duration timeout) {
+        var template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout((int) Math.max(1, timeout.plusMillis(999).toSeconds()));
+        return template;
+    }
+}
@@ -0,0 +1,13 @@
+package com.epam.xm.recommendations.infrastructure.ratelimit;
+
+/** Per-client request budget enforced by {@code RateLimitingFilter}. */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket of a client.
+     *
+     * @param clientKey client identifier, e.g. the remote address
+     * @return {@code true} when the request may proceed
+     */
+    boolean tryConsume(CharSequence clientKey);
+}
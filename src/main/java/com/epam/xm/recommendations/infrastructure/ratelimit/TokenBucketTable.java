@@ -0,0 +1,212 @@
+package com.epam.xm.recommendations.infrastructure.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size, lock-free table of token buckets keyed by a 64-bit hash of the client key.
+ *
+ * <p>Every slot is two {@code long}s, the key hash and the packed bucket state (time of the last
+ * refill in milliseconds and the remaining tokens), so memory stays at 16 bytes per slot no matter
+ * how many distinct clients show up and no objects are allocated per request. Slots are spread over
+ * independent stripes, each an {@link AtomicLongArray} probed linearly over a few slots and updated
+ * with compare-and-set only; the only wait is a short spin while another thread installs a new
+ * client in a slot.
+ *
+ * <p>When all probed slots belong to other clients, the one refilled longest ago is taken over.
+ * A bucket idle for longer than its full refill time is indistinguishable from a new one, so
+ * eviction is only approximate under a flood of more active clients than slots, and then errs on
+ * the lenient side: the evicted client starts over with a full bucket. Refill is interval based
+ * like {@code Bandwidth.refillIntervally}: {@code tokensPerPeriod} tokens are added at the end of
+ * every full period.
+ */
+public final class TokenBucketTable implements RateLimiter {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final int MAX_CAPACITY = (int) TOKEN_MASK;
+    private static final int PROBES = 8;
+    private static final int STRIPES = 64;
+    private static final long EMPTY = 0L;
+    private static final long CLAIMING = -1L;
+    private static final int GRANTED = 1;
+    private static final int REJECTED = 0;
+    private static final int RETRY = -1;
+
+    private final AtomicLongArray[] keys;
+    private final AtomicLongArray[] states;
+    private final int slotMask;
+    private final int capacity;
+    private final int tokensPerPeriod;
+    private final long periodMillis;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a table driven by a monotonic clock.
+     *
+     * @param slots total number of slots, rounded up to a power of two
+     * @param capacity bucket capacity
+     * @param tokensPerPeriod tokens added per period
+     * @param periodMillis refill period
+     */
+    public TokenBucketTable(int slots, int capacity, int tokensPerPeriod, long periodMillis) {
+        this(slots, capacity, tokensPerPeriod, periodMillis, monotonicMillis());
+    }
+
+    /**
+     * @param slots total number of slots, rounded up to a power of two
+     * @param capacity bucket capacity, at most 2^20 - 1
+     * @param tokensPerPeriod tokens added per period
+     * @param periodMillis refill period
+     * @param clock non-decreasing milliseconds, starting well below 2^43
+     */
+    TokenBucketTable(
+            int slots, int capacity, int tokensPerPeriod, long periodMillis, LongSupplier clock) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be in [1, " + MAX_CAPACITY + "]");
+        }
+        if (tokensPerPeriod <= 0 || periodMillis <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        int perStripe = Integer.highestOneBit(Math.max(PROBES, (slots + STRIPES - 1) / STRIPES));
+        if (perStripe * STRIPES < slots) {
+            perStripe <<= 1;
+        }
+        this.keys = new AtomicLongArray[STRIPES];
+        this.states = new AtomicLongArray[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            keys[i] = new AtomicLongArray(perStripe);
+            states[i] = new AtomicLongArray(perStripe);
+        }
+        this.slotMask = perStripe - 1;
+        this.capacity = capacity;
+        this.tokensPerPeriod = tokensPerPeriod;
+        this.periodMillis = periodMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean tryConsume(CharSequence clientKey) {
+        return tryConsume(hash(clientKey));
+    }
+
+    /**
+     * Takes one token from the bucket of a hashed client key.
+     *
+     * @param keyHash hash of the client identifier
+     * @return {@code true} when a token was available
+     */
+    public boolean tryConsume(long keyHash) {
+        long key = keyHash == EMPTY ? 1L : keyHash;
+        int stripe = (int) (key >>> 58) & (STRIPES - 1);
+        var stripeKeys = keys[stripe];
+        var stripeStates = states[stripe];
+        long now = clock.getAsLong();
+        int home = (int) key & slotMask;
+        probing:
+        while (true) {
+            int victim = -1;
+            long victimState = EMPTY;
+            long victimRefill = Long.MAX_VALUE;
+            for (int probe = 0; probe < PROBES; probe++) {
+                int slot = (home + probe) & slotMask;
+                long slotKey = stripeKeys.get(slot);
+                long state = stripeStates.get(slot);
+                if (state == CLAIMING) {
+                    // Finishes within two stores
+                    Thread.onSpinWait();
+                    continue probing;
+                }
+                if (slotKey == key) {
+                    int outcome = consume(stripeKeys, stripeStates, slot, key, now);
+                    if (outcome == RETRY) {
+                        continue probing;
+                    }
+                    return outcome == GRANTED;
+                }
+                if (slotKey == EMPTY) {
+                    victim = slot;
+                    victimState = state;
+                    break;
+                }
+                long refilledAt = state >>> TOKEN_BITS;
+                if (refilledAt < victimRefill) {
+                    victim = slot;
+                    victimState = state;
+                    victimRefill = refilledAt;
+                }
+            }
+            // Claiming parks the slot state so that neither the evicted client nor a competing
+            // claimer can update it until it holds the new key and a full bucket
+            if (stripeStates.compareAndSet(victim, victimState, CLAIMING)) {
+                stripeKeys.set(victim, key);
+                stripeStates.set(victim, pack(now, capacity - 1L));
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return heap taken by the slot arrays, independent of the number of clients
+     */
+    public long footprintBytes() {
+        return 2L * Long.BYTES * STRIPES * (slotMask + 1);
+    }
+
+    private int consume(
+            AtomicLongArray stripeKeys,
+            AtomicLongArray stripeStates,
+            int slot,
+            long key,
+            long now) {
+        while (true) {
+            long state = stripeStates.get(slot);
+            if (state == CLAIMING || stripeKeys.get(slot) != key) {
+                return RETRY;
+            }
+            long refilledAt = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+            long periods = now > refilledAt ? (now - refilledAt) / periodMillis : 0;
+            if (periods > 0) {
+                tokens = Math.min(capacity, tokens + periods * tokensPerPeriod);
+                refilledAt += periods * periodMillis;
+            }
+            if (tokens == 0) {
+                return REJECTED;
+            }
+            if (stripeStates.compareAndSet(slot, state, pack(refilledAt, tokens - 1))) {
+                return GRANTED;
+            }
+        }
+    }
+
+    private static long pack(long refilledAt, long tokens) {
+        return refilledAt << TOKEN_BITS | tokens;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer; collisions
+     * among millions of addresses are negligible, unlike with {@link String#hashCode()}.
+     *
+     * @param key client identifier
+     * @return hash of the key
+     */
+    static long hash(CharSequence key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+
+    private static LongSupplier monotonicMillis() {
+        long origin = System.nanoTime();
+        return () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - origin);
+    }
+}
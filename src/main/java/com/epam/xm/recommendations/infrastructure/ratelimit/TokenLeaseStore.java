@@ -0,0 +1,14 @@
+package com.epam.xm.recommendations.infrastructure.ratelimit;
+
+/** Cluster-wide token buckets from which instances lease tokens in batches. */
+public interface TokenLeaseStore {
+
+    /**
+     * Refills the bucket of a client and takes up to {@code tokens} tokens from it.
+     *
+     * @param keyHash hash of the client identifier
+     * @param tokens tokens wanted
+     * @return tokens taken, zero when the bucket is empty
+     */
+    int lease(long keyHash, int tokens);
+}
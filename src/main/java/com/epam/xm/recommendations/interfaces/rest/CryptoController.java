@@ -4,20 +4,34 @@ import com.epam.xm.recommendations.application.dto.CryptoRangeDto;
 import com.epam.xm.recommendations.application.dto.CryptoStatsDto;
 import com.epam.xm.recommendations.application.mapper.CryptoMapper;
 import com.epam.xm.recommendations.application.service.CryptoApplicationService;
+import com.epam.xm.recommendations.application.service.PriceExportService;
+import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.RangeRanking;
 import com.epam.xm.recommendations.infrastructure.error.ApiError;
+import com.epam.xm.recommendations.infrastructure.error.InvalidDataException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Locale;
+import org.jspecify.annotations.Nullable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * REST controller exposing read-only analytics endpoints.
@@ -31,23 +45,41 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class CryptoController {
 
+    /** Page size when only a cursor is given. */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_TOP = 100;
+
     private final CryptoApplicationService cryptoService;
     private final CryptoMapper cryptoMapper;
+    private final PriceExportService exportService;
 
-    public CryptoController(CryptoApplicationService cryptoService, CryptoMapper cryptoMapper) {
+    public CryptoController(
+            CryptoApplicationService cryptoService,
+            CryptoMapper cryptoMapper,
+            PriceExportService exportService) {
         this.cryptoService = cryptoService;
         this.cryptoMapper = cryptoMapper;
+        this.exportService = exportService;
     }
 
     @Operation(
             summary = "Get statistics for a specific coin",
-            description = "Returns oldest, newest, min, and max prices for the entire period",
+            description =
+                    "Returns oldest, newest, min, and max prices for the entire period, or for"
+                            + " the inclusive window between from and to when both are given",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Successful response"),
                 @ApiResponse(
                         responseCode = "400",
                         description = "Invalid request or unsupported ticker",
                         content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(
+                        responseCode = "422",
+                        description = "Only one window bound given, or from after to",
+                        content = @Content(schema = @Schema(implementation = ApiError.class))),
                 @ApiResponse(
                         responseCode = "404",
                         description = "Coin data not found",
@@ -64,19 +96,120 @@ public class CryptoController {
                     @Pattern(
                             regexp = "^[A-Z]{3,10}$",
                             message = "Symbol must be 3-10 uppercase letters")
-                    String symbol) {
+                    String symbol,
+            @Parameter(
+                            description = "Inclusive window start (ISO-8601 date-time)",
+                            example = "2022-01-01T00:00:00Z")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    @Nullable OffsetDateTime from,
+            @Parameter(
+                            description = "Inclusive window end (ISO-8601 date-time)",
+                            example = "2022-01-31T23:59:59Z")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    @Nullable OffsetDateTime to) {
         /*
-         * Retrieves summary stats for the given symbol.
+         * Retrieves summary stats for the given symbol, optionally limited to a time window.
          *
          * @param symbol coin ticker, validated by regex
+         * @param from inclusive window start; must be given together with {@code to}
+         * @param to inclusive window end; must be given together with {@code from}
          * @return 200 with {@link CryptoStatsDto} or an RFC 7807 error otherwise
          */
-        return ResponseEntity.ok(cryptoMapper.toDto(cryptoService.getStats(symbol)));
+        if (from == null && to == null) {
+            return ResponseEntity.ok(cryptoMapper.toDto(cryptoService.getStats(symbol)));
+        }
+        if (from == null || to == null) {
+            throw new InvalidDataException("Both from and to must be given for a time window");
+        }
+        return ResponseEntity.ok(
+                cryptoMapper.toDto(
+                        cryptoService.getStats(symbol, from.toInstant(), to.toInstant())));
+    }
+
+    @Operation(
+            summary = "Export raw prices of a coin",
+            description =
+                    "Streams every quote in ascending time order, or those of the inclusive window"
+                            + " between from and to when both are given, as NDJSON or as CSV in"
+                            + " the import file layout",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Quotes, one per line",
+                        content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                        }),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid request or unsupported ticker",
+                        content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(
+                        responseCode = "422",
+                        description = "Only one window bound given, or from after to",
+                        content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(
+                        responseCode = "429",
+                        description = "Rate limit exceeded",
+                        content = @Content(schema = @Schema(implementation = ApiError.class)))
+            })
+    @GetMapping("/prices/{symbol}")
+    public void exportPrices(
+            @Parameter(description = "Coin ticker (e.g., BTC)", example = "BTC")
+                    @PathVariable
+                    @Pattern(
+                            regexp = "^[A-Z]{3,10}$",
+                            message = "Symbol must be 3-10 uppercase letters")
+                    String symbol,
+            @Parameter(
+                            description = "Inclusive window start (ISO-8601 date-time)",
+                            example = "2022-01-01T00:00:00Z")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    @Nullable OffsetDateTime from,
+            @Parameter(
+                            description = "Inclusive window end (ISO-8601 date-time)",
+                            example = "2022-01-31T23:59:59Z")
+                    @RequestParam(required = false)
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    @Nullable OffsetDateTime to,
+            @Parameter(description = "Output format: ndjson or csv", example = "ndjson")
+                    @RequestParam(defaultValue = "ndjson")
+                    @Pattern(regexp = "^(ndjson|csv)$", message = "Format must be ndjson or csv")
+                    String format,
+            HttpServletResponse response)
+            throws IOException {
+        /*
+         * Streams raw quotes straight from a database cursor to the response body, so memory use
+         * does not depend on the length of the exported history.
+         *
+         * @param symbol coin ticker, validated by regex
+         * @param from inclusive window start; must be given together with {@code to}
+         * @param to inclusive window end; must be given together with {@code from}
+         * @param format ndjson (default) or csv
+         */
+        if ((from == null) != (to == null)) {
+            throw new InvalidDataException("Both from and to must be given for a time window");
+        }
+        var exportFormat = QuoteExportWriter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        var writer = new QuoteExportWriter(response, symbol, exportFormat);
+        if (from == null || to == null) {
+            exportService.exportQuotes(symbol, writer);
+        } else {
+            exportService.exportQuotes(symbol, from.toInstant(), to.toInstant(), writer);
+        }
+        writer.finish();
     }
 
     @Operation(
             summary = "Get all coins sorted by volatility",
-            description = "Sorts by descending normalized range (max-min)/min",
+            description =
+                    "Sorts by descending normalized range (max-min)/min, ties by symbol. With"
+                            + " top only the N most volatile coins are returned. With limit or"
+                            + " cursor the list is paged; a Link header with rel=\"next\""
+                            + " points to the following page",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Successful response"),
                 @ApiResponse(
@@ -87,19 +220,67 @@ public class CryptoController {
                         responseCode = "404",
                         description = "Data not found",
                         content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(
+                        responseCode = "422",
+                        description = "Invalid cursor, or top combined with paging",
+                        content = @Content(schema = @Schema(implementation = ApiError.class))),
                 @ApiResponse(
                         responseCode = "429",
                         description = "Rate limit exceeded",
                         content = @Content(schema = @Schema(implementation = ApiError.class)))
             })
     @GetMapping("/sorted")
-    public List<CryptoRangeDto> getSortedRange() {
+    public ResponseEntity<List<CryptoRangeDto>> getSortedRange(
+            @Parameter(description = "Return only the N most volatile coins", example = "20")
+                    @RequestParam(required = false)
+                    @Min(1)
+                    @Max(MAX_TOP)
+                    @Nullable Integer top,
+            @Parameter(description = "Page size; enables paging", example = "100")
+                    @RequestParam(required = false)
+                    @Min(1)
+                    @Max(MAX_PAGE_SIZE)
+                    @Nullable Integer limit,
+            @Parameter(description = "Opaque cursor from the Link header of the previous page")
+                    @RequestParam(required = false)
+                    @Nullable String cursor) {
         /*
-         * Lists all coins sorted by descending normalized range.
+         * Lists coins sorted by descending normalized range.
          *
+         * @param top number of coins to return; cannot be combined with paging
+         * @param limit page size, 100 when only a cursor is given
+         * @param cursor position after which the page starts
          * @return array of {@link CryptoRangeDto}
          */
-        return cryptoService.getAllSortedStats().stream().map(cryptoMapper::toRangeDto).toList();
+        if (top != null) {
+            if (limit != null || cursor != null) {
+                throw new InvalidDataException("top cannot be combined with limit or cursor");
+            }
+            return ResponseEntity.ok(toRangeDtos(cryptoService.getTopSortedStats(top)));
+        }
+        var ranking = cryptoService.getAllSortedStats();
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(toRangeDtos(ranking));
+        }
+        var page =
+                RangeRanking.page(
+                        ranking,
+                        cursor == null ? null : RangeCursors.decode(cursor),
+                        limit == null ? DEFAULT_PAGE_SIZE : limit);
+        var response = ResponseEntity.ok();
+        if (page.next() != null) {
+            var next =
+                    ServletUriComponentsBuilder.fromCurrentRequest()
+                            .replaceQueryParam("cursor", RangeCursors.encode(page.next()))
+                            .build()
+                            .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(toRangeDtos(page.items()));
+    }
+
+    private List<CryptoRangeDto> toRangeDtos(List<CryptoStats> stats) {
+        return stats.stream().map(cryptoMapper::toRangeDto).toList();
     }
 
     @Operation(
@@ -136,4 +317,55 @@ public class CryptoController {
         return ResponseEntity.ok(
                 cryptoMapper.toRangeDto(cryptoService.getHighestRangeForDate(date)));
     }
+
+    @Operation(
+            summary = "Most volatile coins of every day in a range",
+            description =
+                    "Returns, for every UTC day between from and to with data, the k coins with"
+                            + " the highest normalized range, ranked in one query and streamed as"
+                            + " a single array",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Successful response"),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid date format or k",
+                        content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(
+                        responseCode = "422",
+                        description = "from after to",
+                        content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(
+                        responseCode = "429",
+                        description = "Rate limit exceeded",
+                        content = @Content(schema = @Schema(implementation = ApiError.class)))
+            })
+    @GetMapping(value = "/highest-range", params = {"from", "to"})
+    public void getHighestRanges(
+            @Parameter(description = "First day in yyyy-MM-dd format", example = "2022-01-01")
+                    @RequestParam
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate from,
+            @Parameter(description = "Last day in yyyy-MM-dd format", example = "2022-01-31")
+                    @RequestParam
+                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate to,
+            @Parameter(description = "Number of coins per day", example = "3")
+                    @RequestParam(defaultValue = "1")
+                    @Min(1)
+                    @Max(MAX_TOP)
+                    int k,
+            HttpServletResponse response)
+            throws IOException {
+        /*
+         * Streams the k coins with the highest normalized range of every day in the range.
+         *
+         * @param from first day in UTC, inclusive
+         * @param to last day in UTC, inclusive
+         * @param k coins per day
+         */
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        var writer = new DailyRangesWriter(response.getOutputStream());
+        cryptoService.streamHighestRanges(from, to, k, writer);
+        writer.finish();
+    }
 }
@@ -0,0 +1,66 @@
+package com.epam.xm.recommendations.interfaces.rest;
+
+import com.epam.xm.recommendations.domain.DailyRangeHistory.DailyRangeSink;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes streamed per-day rankings to a response body as one JSON array.
+ *
+ * <p>Consecutive rows of the same day are grouped into one element, {@code {"date":"2022-01-01",
+ * "ranking":[{"symbol":"BTC","normalizedRange":0.2857},...]}}, so the date is written once per day.
+ * Like {@link QuoteExportWriter}, nothing reaches the underlying stream before the first row or
+ * {@link #finish()}. Symbols are alphanumeric, as enforced by the importer, and need no escaping.
+ */
+final class DailyRangesWriter implements DailyRangeSink {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private @Nullable LocalDate currentDay;
+
+    /**
+     * @param out response body
+     */
+    DailyRangesWriter(OutputStream out) {
+        this.writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void accept(LocalDate day, String symbol, BigDecimal normalizedRange)
+            throws IOException {
+        if (day.equals(currentDay)) {
+            writer.append(',');
+        } else {
+            writer.append(currentDay == null ? "[" : "]},")
+                    .append("{\"date\":\"")
+                    .append(day.toString())
+                    .append("\",\"ranking\":[");
+            currentDay = day;
+        }
+        writer.append("{\"symbol\":\"")
+                .append(symbol)
+                .append("\",\"normalizedRange\":")
+                .append(normalizedRange.toPlainString())
+                .append('}');
+    }
+
+    /**
+     * Closes the array and writes out everything still buffered; call once streaming completed.
+     *
+     * @throws IOException when the response cannot be written
+     */
+    void finish() throws IOException {
+        writer.append(currentDay == null ? "[]" : "]}]");
+        writer.flush();
+    }
+}
@@ -0,0 +1,120 @@
+package com.epam.xm.recommendations.interfaces.rest;
+
+import com.epam.xm.recommendations.domain.Price;
+import com.epam.xm.recommendations.domain.PriceHistory.QuoteSink;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Writes streamed quotes to a response body as NDJSON or CSV.
+ *
+ * <p>Neither the headers nor the body are touched before the first quote or {@link #finish()},
+ * so a request rejected before streaming starts is answered with a regular error response rather
+ * than offered as a download. CSV output uses the {@code timestamp,symbol,price} layout of the
+ * import files, with epoch milliseconds, so an export can be imported again.
+ */
+final class QuoteExportWriter implements QuoteSink {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Supported export formats. */
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        String mediaType() {
+            return mediaType;
+        }
+
+        String extension() {
+            return extension;
+        }
+    }
+
+    private final HttpServletResponse response;
+    private final String symbol;
+    private final Format format;
+    private @Nullable Writer writer;
+
+    /**
+     * @param response response receiving the export as an attachment
+     * @param symbol coin ticker written with every quote
+     * @param format output format
+     */
+    QuoteExportWriter(HttpServletResponse response, String symbol, Format format) {
+        this.response = response;
+        this.symbol = symbol;
+        this.format = format;
+    }
+
+    @Override
+    public void accept(long epochMilli, long scaledPrice) throws IOException {
+        var writer = start();
+        var price = Price.ofScaled(scaledPrice).toString();
+        if (format == Format.CSV) {
+            writer.append(Long.toString(epochMilli))
+                    .append(',')
+                    .append(symbol)
+                    .append(',')
+                    .append(price)
+                    .append('\n');
+        } else {
+            writer.append("{\"timestamp\":\"")
+                    .append(Instant.ofEpochMilli(epochMilli).toString())
+                    .append("\",\"symbol\":\"")
+                    .append(symbol)
+                    .append("\",\"price\":")
+                    .append(price)
+                    .append("}\n");
+        }
+    }
+
+    /**
+     * Writes out everything still buffered; call once the export has completed.
+     *
+     * @throws IOException when the response cannot be written
+     */
+    void finish() throws IOException {
+        start().flush();
+    }
+
+    /** Sets the download headers and opens the body on first use. */
+    private Writer start() throws IOException {
+        var current = writer;
+        if (current == null) {
+            response.setContentType(format.mediaType());
+            response.setHeader(
+                    HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment()
+                            .filename(symbol + "." + format.extension())
+                            .build()
+                            .toString());
+            current =
+                    new BufferedWriter(
+                            new OutputStreamWriter(
+                                    response.getOutputStream(), StandardCharsets.UTF_8),
+                            BUFFER_SIZE);
+            if (format == Format.CSV) {
+                current.append("timestamp,symbol,price\n");
+            }
+            writer = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,51 @@
+package com.epam.xm.recommendations.interfaces.rest;
+
+import com.epam.xm.recommendations.domain.RangeRanking;
+import com.epam.xm.recommendations.infrastructure.error.InvalidDataException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Converts ranking keys to and from the opaque {@code cursor} parameter of {@code /sorted}.
+ *
+ * <p>A cursor is the URL-safe Base64 form of {@code <normalizedRange>:<symbol>}. Clients only pass
+ * it back, so the encoding can change without breaking them.
+ */
+final class RangeCursors {
+
+    private static final char SEPARATOR = ':';
+
+    private RangeCursors() {}
+
+    /**
+     * @param key position of the last row returned
+     * @return cursor of the following page
+     */
+    static String encode(RangeRanking.Key key) {
+        var plain = key.normalizedRange().toPlainString() + SEPARATOR + key.symbol();
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor value received from a client
+     * @return position to resume after
+     * @throws InvalidDataException when {@code cursor} was not produced by {@link #encode}
+     */
+    static RangeRanking.Key decode(String cursor) {
+        try {
+            var plain = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = plain.indexOf(SEPARATOR);
+            var symbol = plain.substring(separator + 1);
+            if (separator < 1 || symbol.isEmpty()) {
+                throw new InvalidDataException("Invalid cursor: " + cursor);
+            }
+            return new RangeRanking.Key(new BigDecimal(plain.substring(0, separator)), symbol);
+        } catch (IllegalArgumentException e) {
+            // also covers NumberFormatException
+            throw new InvalidDataException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
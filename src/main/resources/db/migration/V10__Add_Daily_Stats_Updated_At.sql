@@ -0,0 +1,9 @@
+-- Time of the last write of each rollup row, so replicas of the in-memory read model only compare
+-- the days changed since their previous check. The constant default avoids a table rewrite; new
+-- rows then take the time of the write itself.
+ALTER TABLE crypto_daily_stats
+    ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+ALTER TABLE crypto_daily_stats ALTER COLUMN updated_at SET DEFAULT clock_timestamp();
+
+CREATE INDEX idx_crypto_daily_stats_updated_at ON crypto_daily_stats (updated_at);
@@ -0,0 +1,12 @@
+-- Staging area for COPY-based bulk loads. UNLOGGED skips WAL for rows that only live for the
+-- duration of a single load transaction; load_id defaults to the loading transaction id so
+-- concurrent loads never see each other's rows. seq preserves file order for deduplication.
+CREATE UNLOGGED TABLE crypto_prices_staging (
+    load_id BIGINT NOT NULL DEFAULT txid_current(),
+    seq BIGSERIAL NOT NULL,
+    symbol VARCHAR(10) NOT NULL,
+    price NUMERIC(20, 8) NOT NULL,
+    epoch_millis BIGINT NOT NULL
+);
+
+CREATE INDEX idx_crypto_prices_staging_load ON crypto_prices_staging (load_id);
@@ -0,0 +1,12 @@
+-- One row per imported CSV file. processed_offset is the byte offset just past the last complete
+-- line consumed by the previous run; content_hash fingerprints the bytes before that offset so a
+-- rewritten file is detected and re-imported from the start instead of resumed.
+CREATE TABLE csv_import_ledger (
+    file_name VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    last_modified TIMESTAMP WITH TIME ZONE NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    processed_offset BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (file_name)
+);
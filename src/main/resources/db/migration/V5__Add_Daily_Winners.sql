@@ -0,0 +1,29 @@
+-- Precomputed answer of /highest-range per UTC day, maintained by the importer. Ties on the
+-- rounded normalized range are broken by symbol so the stored winner is deterministic.
+CREATE TABLE crypto_daily_winners (
+    day DATE NOT NULL,
+    symbol VARCHAR(10) NOT NULL,
+    oldest_price NUMERIC(20, 8) NOT NULL,
+    newest_price NUMERIC(20, 8) NOT NULL,
+    min_price NUMERIC(20, 8) NOT NULL,
+    max_price NUMERIC(20, 8) NOT NULL,
+    normalized_range NUMERIC(20, 4) NOT NULL,
+    computed_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (day)
+);
+
+-- Backfill from data imported before this table existed
+INSERT INTO crypto_daily_winners
+       (day, symbol, oldest_price, newest_price, min_price, max_price, normalized_range)
+SELECT DISTINCT ON (d.day)
+       d.day, d.symbol, d.oldest_price, d.newest_price, d.min_price, d.max_price,
+       ROUND((d.max_price - d.min_price) / d.min_price, 4)
+  FROM (SELECT (price_timestamp AT TIME ZONE 'UTC')::date AS day,
+               symbol,
+               (ARRAY_AGG(price ORDER BY price_timestamp ASC))[1] AS oldest_price,
+               (ARRAY_AGG(price ORDER BY price_timestamp DESC))[1] AS newest_price,
+               MIN(price) AS min_price,
+               MAX(price) AS max_price
+          FROM crypto_prices
+         GROUP BY 1, 2) d
+ ORDER BY d.day, ROUND((d.max_price - d.min_price) / d.min_price, 4) DESC, d.symbol;
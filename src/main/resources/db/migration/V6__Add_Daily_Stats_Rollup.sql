@@ -0,0 +1,31 @@
+-- Per-symbol, per-UTC-day OHLC rollup of crypto_prices maintained by the importer. Statistics over
+-- any set of whole days combine a handful of these rows instead of scanning raw quotes.
+CREATE TABLE crypto_daily_stats (
+    symbol VARCHAR(10) NOT NULL,
+    day DATE NOT NULL,
+    open_price NUMERIC(20, 8) NOT NULL,
+    open_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    close_price NUMERIC(20, 8) NOT NULL,
+    close_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    min_price NUMERIC(20, 8) NOT NULL,
+    max_price NUMERIC(20, 8) NOT NULL,
+    tick_count BIGINT NOT NULL,
+    PRIMARY KEY (symbol, day)
+);
+
+CREATE INDEX idx_crypto_daily_stats_day ON crypto_daily_stats (day);
+
+INSERT INTO crypto_daily_stats
+       (symbol, day, open_price, open_time, close_price, close_time, min_price, max_price,
+        tick_count)
+SELECT symbol,
+       (price_timestamp AT TIME ZONE 'UTC')::date,
+       (ARRAY_AGG(price ORDER BY price_timestamp ASC))[1],
+       MIN(price_timestamp),
+       (ARRAY_AGG(price ORDER BY price_timestamp DESC))[1],
+       MAX(price_timestamp),
+       MIN(price),
+       MAX(price),
+       COUNT(*)
+  FROM crypto_prices
+ GROUP BY 1, 2;
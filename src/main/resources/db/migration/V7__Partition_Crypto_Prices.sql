@@ -0,0 +1,112 @@
+-- Native monthly range partitioning of crypto_prices on price_timestamp (UTC months). Every
+-- partition carries its own small indexes, so vacuum and index maintenance stay bounded and
+-- time-range predicates are pruned to the months they cover. The unique constraint and the primary
+-- key include the partition key, as PostgreSQL requires.
+--
+-- Runs outside a transaction (see the .conf file) so the quotes can be copied one month per
+-- transaction below instead of holding the whole table in a single one.
+ALTER TABLE crypto_prices RENAME TO crypto_prices_unpartitioned;
+ALTER TABLE crypto_prices_unpartitioned
+    RENAME CONSTRAINT crypto_prices_pkey TO crypto_prices_unpartitioned_pkey;
+ALTER TABLE crypto_prices_unpartitioned
+    RENAME CONSTRAINT uq_crypto_prices_symbol_timestamp
+    TO uq_crypto_prices_unpartitioned_symbol_timestamp;
+ALTER INDEX idx_crypto_prices_symbol_timestamp
+    RENAME TO idx_crypto_prices_unpartitioned_symbol_timestamp;
+-- Keep the id sequence when the old table is dropped
+ALTER SEQUENCE crypto_prices_id_seq OWNED BY NONE;
+
+CREATE TABLE crypto_prices (
+    id BIGINT NOT NULL DEFAULT nextval('crypto_prices_id_seq'),
+    symbol VARCHAR(10) NOT NULL,
+    price NUMERIC(20, 8) NOT NULL CHECK (price > 0),
+    price_timestamp TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT crypto_prices_pkey PRIMARY KEY (id, price_timestamp),
+    CONSTRAINT uq_crypto_prices_symbol_timestamp UNIQUE (symbol, price_timestamp)
+) PARTITION BY RANGE (price_timestamp);
+
+ALTER SEQUENCE crypto_prices_id_seq OWNED BY crypto_prices.id;
+
+CREATE INDEX idx_crypto_prices_symbol_timestamp
+ON crypto_prices (symbol, price_timestamp DESC);
+
+-- Safety net for quotes of months without a partition yet; crypto_prices_ensure_partitions moves
+-- them out when their month is created, so it normally stays empty.
+CREATE TABLE crypto_prices_default PARTITION OF crypto_prices DEFAULT;
+
+-- Creates the monthly partitions crypto_prices_YYYY_MM covering [from_ts, to_ts] that do not exist
+-- yet and returns how many were created. Rows of those months are first moved out of the default
+-- partition; the new table is then attached, which only locks the parent in SHARE UPDATE EXCLUSIVE
+-- mode, so concurrent reads and inserts of other months keep running. Writes to the default
+-- partition are blocked from the move until the attach commits, so no row of the month can reach it
+-- in between and make the attach fail. Concurrent callers are serialized by an advisory lock taken
+-- only when a partition is actually missing.
+CREATE FUNCTION crypto_prices_ensure_partitions(from_ts TIMESTAMPTZ, to_ts TIMESTAMPTZ)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', from_ts AT TIME ZONE 'UTC');
+    month_end TIMESTAMP;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_ts AT TIME ZONE 'UTC' LOOP
+        month_end := month_start + INTERVAL '1 month';
+        partition_name := 'crypto_prices_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            PERFORM pg_advisory_xact_lock(hashtext('crypto_prices_partitions'));
+            IF to_regclass(partition_name) IS NULL THEN
+                LOCK TABLE crypto_prices_default IN SHARE ROW EXCLUSIVE MODE;
+                EXECUTE format(
+                    'CREATE TABLE %I (LIKE crypto_prices INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                    partition_name);
+                EXECUTE format(
+                    'WITH moved AS (DELETE FROM crypto_prices_default'
+                    ' WHERE price_timestamp >= $1 AND price_timestamp < $2 RETURNING *)'
+                    ' INSERT INTO %I SELECT * FROM moved',
+                    partition_name)
+                    USING month_start AT TIME ZONE 'UTC', month_end AT TIME ZONE 'UTC';
+                EXECUTE format(
+                    'ALTER TABLE crypto_prices ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                    partition_name,
+                    month_start AT TIME ZONE 'UTC',
+                    month_end AT TIME ZONE 'UTC');
+                created := created + 1;
+            END IF;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+SELECT crypto_prices_ensure_partitions(
+           LEAST(COALESCE((SELECT MIN(price_timestamp) FROM crypto_prices_unpartitioned), now()),
+                 now()),
+           now() + INTERVAL '3 months');
+
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(
+                   (SELECT date_trunc('month', MIN(price_timestamp) AT TIME ZONE 'UTC')
+                      FROM crypto_prices_unpartitioned),
+                   (SELECT date_trunc('month', MAX(price_timestamp) AT TIME ZONE 'UTC')
+                      FROM crypto_prices_unpartitioned),
+                   INTERVAL '1 month')
+    LOOP
+        INSERT INTO crypto_prices (id, symbol, price, price_timestamp, created_at)
+        SELECT id, symbol, price, price_timestamp, created_at
+          FROM crypto_prices_unpartitioned
+         WHERE price_timestamp >= month_start AT TIME ZONE 'UTC'
+           AND price_timestamp < (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC';
+        COMMIT;
+    END LOOP;
+END;
+$$;
+
+DROP TABLE crypto_prices_unpartitioned;
@@ -0,0 +1,10 @@
+-- Second cache tier shared by all application instances. Values are serialized cache entries
+-- written by whichever instance computed them first (normally the one that ran the import), so
+-- the other instances never recompute them. UNLOGGED: the contents are disposable and skip WAL.
+CREATE UNLOGGED TABLE crypto_cache_entries (
+    cache_name VARCHAR(64) NOT NULL,
+    cache_key VARCHAR(255) NOT NULL,
+    value BYTEA NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (cache_name, cache_key)
+);
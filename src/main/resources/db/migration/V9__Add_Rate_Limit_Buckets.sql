@@ -0,0 +1,48 @@
+-- Cluster-wide token buckets for app.rate-limit.mode=cluster, keyed by a 64-bit hash of the client
+-- address. Times are epoch milliseconds of the database clock, so every instance refills against
+-- the same clock. UNLOGGED: after a crash clients simply start over with full buckets.
+CREATE UNLOGGED TABLE rate_limit_buckets (
+    client_key BIGINT PRIMARY KEY,
+    tokens INTEGER NOT NULL,
+    refilled_at BIGINT NOT NULL,
+    touched_at BIGINT NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_buckets_touched_at ON rate_limit_buckets (touched_at);
+
+-- Refills a bucket by whole periods, takes up to lease_size tokens from it and returns how many
+-- were taken. The row lock serializes instances leasing for the same client.
+CREATE FUNCTION rate_limit_lease(
+    key_hash BIGINT,
+    capacity INTEGER,
+    refill_tokens INTEGER,
+    period_millis BIGINT,
+    lease_size INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    now_millis BIGINT := (extract(epoch FROM clock_timestamp()) * 1000)::BIGINT;
+    bucket rate_limit_buckets%ROWTYPE;
+    periods BIGINT;
+    available BIGINT;
+    granted INTEGER;
+BEGIN
+    INSERT INTO rate_limit_buckets (client_key, tokens, refilled_at, touched_at)
+    VALUES (key_hash, capacity, now_millis, now_millis)
+    ON CONFLICT (client_key) DO NOTHING;
+
+    SELECT * INTO bucket FROM rate_limit_buckets WHERE client_key = key_hash FOR UPDATE;
+
+    periods := GREATEST(0, (now_millis - bucket.refilled_at) / period_millis);
+    available := LEAST(capacity, bucket.tokens + periods * refill_tokens);
+    granted := LEAST(lease_size, available);
+
+    UPDATE rate_limit_buckets
+       SET tokens = available - granted,
+           refilled_at = bucket.refilled_at + periods * period_millis,
+           touched_at = now_millis
+     WHERE client_key = key_hash;
+    RETURN granted;
+END;
+$$;
@@ -1,10 +1,15 @@
 package com.epam.xm.recommendations;
 
+import com.epam.xm.recommendations.domain.SymbolDay;
+import com.epam.xm.recommendations.infrastructure.persistence.DailyStatsRollup;
+import java.time.LocalDate;
+import java.util.TreeSet;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -51,10 +56,34 @@ public abstract class BaseIntegrationTest {
 
     @Autowired protected WebApplicationContext context;
 
+    @Autowired private JdbcTemplate rollupJdbcTemplate;
+
+    @Autowired private DailyStatsRollup rollupWriter;
+
     protected MockMvc mockMvc;
 
     @BeforeEach
     void setUpMockMvc() {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
     }
+
+    /**
+     * Recreates the {@code crypto_daily_stats} rollup from {@code crypto_prices} with the per-day
+     * rebuild of the importer, for tests that insert quotes directly instead of importing them.
+     */
+    protected void rebuildDailyStatsRollup() {
+        rollupJdbcTemplate.update("DELETE FROM crypto_daily_stats");
+        var keys = new TreeSet<SymbolDay>();
+        rollupJdbcTemplate.query(
+                """
+                SELECT DISTINCT symbol, (price_timestamp AT TIME ZONE 'UTC')::date AS day
+                  FROM crypto_prices
+                """,
+                rs -> {
+                    keys.add(
+                            new SymbolDay(
+                                    rs.getString("symbol"), rs.getObject("day", LocalDate.class)));
+                });
+        rollupWriter.rebuild(keys);
+    }
 }
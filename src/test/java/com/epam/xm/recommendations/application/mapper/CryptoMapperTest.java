@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import com.epam.xm.recommendations.application.dto.CryptoRangeDto;
 import com.epam.xm.recommendations.application.dto.CryptoStatsDto;
 import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
 import java.math.BigDecimal;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -18,19 +19,19 @@ class CryptoMapperTest {
         CryptoStats stats =
                 new CryptoStats(
                         "BTC",
-                        new BigDecimal("40000"),
-                        new BigDecimal("42000"),
-                        new BigDecimal("38000"),
-                        new BigDecimal("45000"),
+                        Price.of("40000"),
+                        Price.of("42000"),
+                        Price.of("38000"),
+                        Price.of("45000"),
                         new BigDecimal("0.1842"));
 
         CryptoStatsDto dto = mapper.toDto(stats);
 
         assertEquals(stats.symbol(), dto.symbol());
-        assertEquals(stats.oldestPrice(), dto.oldestPrice());
-        assertEquals(stats.newestPrice(), dto.newestPrice());
-        assertEquals(stats.minPrice(), dto.minPrice());
-        assertEquals(stats.maxPrice(), dto.maxPrice());
+        assertEquals(stats.oldestPrice().toBigDecimal(), dto.oldestPrice());
+        assertEquals(stats.newestPrice().toBigDecimal(), dto.newestPrice());
+        assertEquals(stats.minPrice().toBigDecimal(), dto.minPrice());
+        assertEquals(stats.maxPrice().toBigDecimal(), dto.maxPrice());
         assertEquals(stats.normalizedRange(), dto.normalizedRange());
     }
 
@@ -45,10 +46,10 @@ class CryptoMapperTest {
         CryptoStats stats =
                 new CryptoStats(
                         "BTC",
-                        new BigDecimal("40000"),
-                        new BigDecimal("42000"),
-                        new BigDecimal("38000"),
-                        new BigDecimal("45000"),
+                        Price.of("40000"),
+                        Price.of("42000"),
+                        Price.of("38000"),
+                        Price.of("45000"),
                         new BigDecimal("0.1842"));
 
         CryptoRangeDto dto = mapper.toRangeDto(stats);
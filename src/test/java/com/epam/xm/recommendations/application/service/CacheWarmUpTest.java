@@ -0,0 +1,80 @@
+package com.epam.xm.recommendations.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.epam.xm.recommendations.domain.SymbolValidator;
+import com.epam.xm.recommendations.infrastructure.config.AppCacheWarmUpProperties;
+import com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class CacheWarmUpTest {
+
+    private final CryptoApplicationService applicationService =
+            mock(CryptoApplicationService.class);
+    private final SymbolValidator symbolValidator = mock(SymbolValidator.class);
+
+    @Test
+    void shouldComputeRankingAndEverySymbolBeforeCompleting() {
+        when(symbolValidator.getSupportedSymbols()).thenReturn(List.of("BTC", "ETH", "NEW"));
+        when(applicationService.getStats("NEW"))
+                .thenThrow(new CryptoNotFoundException("No data found for symbol: NEW"));
+        var warmUp =
+                new CacheWarmUp(
+                        applicationService,
+                        symbolValidator,
+                        new AppCacheWarmUpProperties(true, 2, Duration.ofSeconds(10)));
+        assertThat(warmUp.progress().complete()).isFalse();
+
+        warmUp.warmUp();
+
+        verify(applicationService).getAllSortedStats();
+        verify(applicationService).getStats("BTC");
+        verify(applicationService).getStats("ETH");
+        assertThat(warmUp.progress()).isEqualTo(new CacheWarmUp.Progress(4, 3, 1, true));
+    }
+
+    @Test
+    void shouldInterruptComputationsStillRunningAfterTimeout() throws InterruptedException {
+        var interrupted = new CountDownLatch(1);
+        when(symbolValidator.getSupportedSymbols()).thenReturn(List.of());
+        when(applicationService.getAllSortedStats())
+                .thenAnswer(
+                        invocation -> {
+                            try {
+                                Thread.sleep(Duration.ofMinutes(1));
+                            } catch (InterruptedException e) {
+                                interrupted.countDown();
+                            }
+                            return List.of();
+                        });
+        var warmUp =
+                new CacheWarmUp(
+                        applicationService,
+                        symbolValidator,
+                        new AppCacheWarmUpProperties(true, 2, Duration.ofMillis(100)));
+
+        warmUp.warmUp();
+
+        assertThat(warmUp.progress().complete()).isTrue();
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldCompleteImmediatelyWhenDisabled() {
+        var warmUp =
+                new CacheWarmUp(
+                        applicationService,
+                        symbolValidator,
+                        new AppCacheWarmUpProperties(false, 2, Duration.ofSeconds(10)));
+
+        warmUp.onApplicationStarted();
+
+        assertThat(warmUp.progress().complete()).isTrue();
+        verifyNoInteractions(applicationService);
+    }
+}
@@ -0,0 +1,40 @@
+package com.epam.xm.recommendations.application.service;
+
+import static org.mockito.Mockito.*;
+
+import com.epam.xm.recommendations.domain.PricesImportedEvent;
+import com.epam.xm.recommendations.infrastructure.error.UnsupportedCryptoException;
+import java.time.LocalDate;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CryptoCacheRefresherTest {
+
+    private final CryptoApplicationService applicationService =
+            mock(CryptoApplicationService.class);
+    private final CryptoCacheRefresher refresher = new CryptoCacheRefresher(applicationService);
+
+    @Test
+    void shouldRefreshOnlyImportedSymbolsAndRankingOnce() {
+        var day = LocalDate.of(2022, 1, 1);
+        refresher.onPricesImported(new PricesImportedEvent(Set.of("BTC", "ETH"), Set.of(day)));
+
+        verify(applicationService).refreshStats("BTC");
+        verify(applicationService).refreshStats("ETH");
+        verify(applicationService, times(1)).refreshAllSortedStats();
+        verify(applicationService).evictTopSortedStats();
+        verify(applicationService).refreshHighestRangeForDate(day);
+        verify(applicationService, never()).evictStats(anyString());
+    }
+
+    @Test
+    void shouldEvictWhenRefreshFails() {
+        when(applicationService.refreshStats("NEW"))
+                .thenThrow(new UnsupportedCryptoException("Symbol NEW is not supported"));
+
+        refresher.onPricesImported(new PricesImportedEvent(Set.of("NEW"), Set.of()));
+
+        verify(applicationService).evictStats("NEW");
+        verify(applicationService).refreshAllSortedStats();
+    }
+}
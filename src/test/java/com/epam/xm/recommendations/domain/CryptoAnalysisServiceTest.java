@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -18,18 +19,17 @@ class CryptoAnalysisServiceTest {
         String symbol = "BTC";
         List<PricePoint> pricePoints =
                 List.of(
-                        new PricePoint(Instant.ofEpochMilli(1000), symbol, new BigDecimal("40000")),
-                        new PricePoint(Instant.ofEpochMilli(2000), symbol, new BigDecimal("42000")),
-                        new PricePoint(
-                                Instant.ofEpochMilli(3000), symbol, new BigDecimal("38000")));
+                        new PricePoint(Instant.ofEpochMilli(1000), symbol, Price.of("40000")),
+                        new PricePoint(Instant.ofEpochMilli(2000), symbol, Price.of("42000")),
+                        new PricePoint(Instant.ofEpochMilli(3000), symbol, Price.of("38000")));
 
         CryptoStats stats = service.calculateStats(symbol, pricePoints);
 
         assertEquals(symbol, stats.symbol());
-        assertEquals(new BigDecimal("40000"), stats.oldestPrice());
-        assertEquals(new BigDecimal("38000"), stats.newestPrice());
-        assertEquals(new BigDecimal("38000"), stats.minPrice());
-        assertEquals(new BigDecimal("42000"), stats.maxPrice());
+        assertEquals(Price.of("40000"), stats.oldestPrice());
+        assertEquals(Price.of("38000"), stats.newestPrice());
+        assertEquals(Price.of("38000"), stats.minPrice());
+        assertEquals(Price.of("42000"), stats.maxPrice());
 
         // (42000 - 38000) / 38000 = 4000 / 38000 = 0.105263... -> 0.1053 (HALF_UP)
         BigDecimal expectedRange =
@@ -47,8 +47,89 @@ class CryptoAnalysisServiceTest {
     @Test
     void shouldThrowExceptionWhenSymbolMismatch() {
         List<PricePoint> pricePoints =
-                List.of(new PricePoint(Instant.ofEpochMilli(1000), "ETH", new BigDecimal("40000")));
+                List.of(new PricePoint(Instant.ofEpochMilli(1000), "ETH", Price.of("40000")));
         assertThrows(
                 IllegalArgumentException.class, () -> service.calculateStats("BTC", pricePoints));
     }
+
+    @Test
+    void shouldBuildStatsFromAggregates() {
+        CryptoStats stats =
+                service.statsFromAggregates(
+                        "BTC",
+                        Price.of("40000"),
+                        Price.of("38000"),
+                        Price.of("38000"),
+                        Price.of("42000"));
+
+        assertEquals(Price.of("40000"), stats.oldestPrice());
+        assertEquals(Price.of("38000"), stats.newestPrice());
+        assertEquals(new BigDecimal("0.1053"), stats.normalizedRange());
+    }
+
+    @Test
+    void shouldRejectNonPositiveMinimumInAggregates() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        service.statsFromAggregates(
+                                "BTC",
+                                Price.of("1"),
+                                Price.of("1"),
+                                Price.ofScaled(0),
+                                Price.of("1")));
+    }
+
+    @Test
+    void columnarInputShouldMatchPricePointResult() {
+        String symbol = "XRP";
+        String[] prices = {"0.82910000", "0.83170000", "0.79990000", "0.84890000", "0.81000000"};
+        long[] epochMillis = {5000, 1000, 3000, 2000, 4000};
+        long[] scaledPrices = new long[prices.length];
+        List<PricePoint> pricePoints = new ArrayList<>();
+        for (int i = 0; i < prices.length; i++) {
+            BigDecimal decimal = new BigDecimal(prices[i]);
+            scaledPrices[i] =
+                    decimal.movePointRight(PriceStatsAccumulator.PRICE_SCALE).longValueExact();
+            Price price = Price.of(decimal);
+            pricePoints.add(new PricePoint(Instant.ofEpochMilli(epochMillis[i]), symbol, price));
+        }
+
+        CryptoStats expected = service.calculateStats(symbol, pricePoints);
+        CryptoStats actual = service.calculateStats(symbol, epochMillis, scaledPrices);
+
+        assertEquals(expected.normalizedRange(), actual.normalizedRange());
+        assertEquals(expected.oldestPrice(), actual.oldestPrice());
+        assertEquals(expected.newestPrice(), actual.newestPrice());
+        assertEquals(expected.minPrice(), actual.minPrice());
+        assertEquals(expected.maxPrice(), actual.maxPrice());
+    }
+
+    @Test
+    void shouldKeepFirstPointOnTimestampTies() {
+        String symbol = "BTC";
+        Instant same = Instant.ofEpochMilli(1000);
+        List<PricePoint> pricePoints =
+                List.of(
+                        new PricePoint(same, symbol, Price.of("100")),
+                        new PricePoint(same, symbol, Price.of("200")));
+
+        CryptoStats stats = service.calculateStats(symbol, pricePoints);
+
+        assertEquals(Price.of("100"), stats.oldestPrice());
+        assertEquals(Price.of("100"), stats.newestPrice());
+    }
+
+    @Test
+    void shouldRejectInvalidColumnarInput() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> service.calculateStats("BTC", new long[] {1}, new long[0]));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> service.calculateStats("BTC", new long[0], new long[0]));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> service.calculateStats("BTC", new long[] {1}, new long[] {0}));
+    }
 }
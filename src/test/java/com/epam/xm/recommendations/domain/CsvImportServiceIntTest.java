@@ -3,8 +3,14 @@ package com.epam.xm.recommendations.domain;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.epam.xm.recommendations.BaseIntegrationTest;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -43,6 +49,14 @@ class CsvImportServiceIntTest extends BaseIntegrationTest {
                     jdbcTemplate.queryForObject(
                             "SELECT count(*) FROM crypto_prices", Integer.class);
             assertThat(count2).isEqualTo(count1);
+
+            // And: every file is tracked in the import ledger
+            var tracked =
+                    jdbcTemplate.queryForObject(
+                            "SELECT count(*) FROM csv_import_ledger WHERE file_name = ?",
+                            Integer.class,
+                            "error_test.csv");
+            assertThat(tracked).isEqualTo(1);
         } catch (Exception e) {
             throw new RuntimeException(e);
         } finally {
@@ -52,4 +66,33 @@ class CsvImportServiceIntTest extends BaseIntegrationTest {
             }
         }
     }
+
+    @Test
+    void shouldStoreFullPriceOfLineCompletedAfterPreviousRun() throws IOException {
+        // Given: the last line is still being written
+        var growingFile = Path.of("src/main/resources/prices/growing_test.csv");
+        var timestamp =
+                OffsetDateTime.ofInstant(Instant.ofEpochMilli(1893459600000L), ZoneOffset.UTC);
+        try {
+            Files.writeString(
+                    growingFile,
+                    "timestamp,symbol,price\n1893456000000,BTC,46813.21\n1893459600000,BTC,4697");
+            csvImportService.importCsvFiles();
+
+            // When: the writer finishes the line
+            Files.writeString(growingFile, "9.61\n", StandardOpenOption.APPEND);
+            csvImportService.importCsvFiles();
+
+            // Then
+            var price =
+                    jdbcTemplate.queryForObject(
+                            "SELECT price FROM crypto_prices"
+                                    + " WHERE symbol = 'BTC' AND price_timestamp = ?",
+                            BigDecimal.class,
+                            timestamp);
+            assertThat(price).isEqualByComparingTo("46979.61");
+        } finally {
+            Files.deleteIfExists(growingFile);
+        }
+    }
 }
@@ -1,19 +1,46 @@
 package com.epam.xm.recommendations.domain;
 
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
+import com.epam.xm.recommendations.infrastructure.config.AppEtlProperties;
 import com.epam.xm.recommendations.infrastructure.config.AppImportProperties;
+import com.epam.xm.recommendations.infrastructure.persistence.CopyPriceLoader;
+import com.epam.xm.recommendations.infrastructure.persistence.DailyStatsRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
 
 class CsvImportServiceTest {
 
+    private static final LocalDate JAN_1 = LocalDate.of(2022, 1, 1);
+    private static final String PRICE_INSERT = "INSERT INTO crypto_prices ";
+
     private JdbcTemplate jdbcTemplate;
     private CsvImportService csvImportService;
 
@@ -23,7 +50,7 @@ class CsvImportServiceTest {
     void setUp() {
         jdbcTemplate = mock(JdbcTemplate.class);
         AppImportProperties props = new AppImportProperties(tempDir.toString());
-        csvImportService = new CsvImportService(jdbcTemplate, props, 100);
+        csvImportService = newBatchService(props);
     }
 
     @Test
@@ -32,22 +59,24 @@ class CsvImportServiceTest {
         Path csvFile = tempDir.resolve("BTC_values.csv");
         Files.writeString(
                 csvFile,
-                "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641013200000,BTC,46979.61");
+                "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641013200000,BTC,46979.61\n");
 
-        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1, 1});
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[] {1, 1});
 
         // When
         csvImportService.importCsvFiles();
 
         // Then
         // Wait a bit because it uses virtual threads
-        verify(jdbcTemplate, timeout(2000).atLeastOnce()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, timeout(2000).atLeastOnce())
+                .batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
     }
 
     @Test
     void shouldHandleMissingDirectory() {
         AppImportProperties props = new AppImportProperties("/non-existent-path");
-        csvImportService = new CsvImportService(jdbcTemplate, props, 100);
+        csvImportService = newBatchService(props);
         csvImportService.importCsvFiles();
         verifyNoInteractions(jdbcTemplate);
     }
@@ -57,7 +86,7 @@ class CsvImportServiceTest {
         Path file = tempDir.resolve("not-a-dir.txt");
         Files.createFile(file);
         AppImportProperties props = new AppImportProperties(file.toString());
-        csvImportService = new CsvImportService(jdbcTemplate, props, 100);
+        csvImportService = newBatchService(props);
         csvImportService.importCsvFiles();
         verifyNoInteractions(jdbcTemplate);
     }
@@ -67,14 +96,14 @@ class CsvImportServiceTest {
         Path csvFile = tempDir.resolve("BTC_values.csv");
         Files.createFile(csvFile);
         AppImportProperties props = new AppImportProperties(tempDir.toString());
-        csvImportService = new CsvImportService(jdbcTemplate, props, 100);
+        csvImportService = newBatchService(props);
         csvImportService.validateDirectory();
     }
 
     @Test
     void shouldThrowWhenDirectoryDoesNotExist() {
         AppImportProperties props = new AppImportProperties("/non-existent-path");
-        csvImportService = new CsvImportService(jdbcTemplate, props, 100);
+        csvImportService = newBatchService(props);
         org.junit.jupiter.api.Assertions.assertThrows(
                 IllegalStateException.class, () -> csvImportService.validateDirectory());
     }
@@ -84,7 +113,7 @@ class CsvImportServiceTest {
         Path file = tempDir.resolve("not-a-dir-val.txt");
         Files.createFile(file);
         AppImportProperties props = new AppImportProperties(file.toString());
-        csvImportService = new CsvImportService(jdbcTemplate, props, 100);
+        csvImportService = newBatchService(props);
         org.junit.jupiter.api.Assertions.assertThrows(
                 IllegalStateException.class, () -> csvImportService.validateDirectory());
     }
@@ -92,7 +121,7 @@ class CsvImportServiceTest {
     @Test
     void shouldThrowWhenNoCsvFiles() {
         AppImportProperties props = new AppImportProperties(tempDir.toString());
-        csvImportService = new CsvImportService(jdbcTemplate, props, 100);
+        csvImportService = newBatchService(props);
         org.junit.jupiter.api.Assertions.assertThrows(
                 IllegalStateException.class, () -> csvImportService.validateDirectory());
     }
@@ -108,10 +137,10 @@ class CsvImportServiceTest {
     void shouldHandleFileProcessingError() throws IOException {
         // Given
         Path csvFile = tempDir.resolve("error.csv");
-        Files.writeString(csvFile, "timestamp,symbol,price\n1641009600000,BTC,46813.21");
+        Files.writeString(csvFile, "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
 
         // Mock executeBatch to throw exception
-        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
                 .thenThrow(new RuntimeException("DB Error"));
 
         // When
@@ -119,7 +148,8 @@ class CsvImportServiceTest {
 
         // Then
         // Should log error and continue (nothing to assert except it doesn't crash)
-        verify(jdbcTemplate, timeout(2000).atLeastOnce()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, timeout(2000).atLeastOnce())
+                .batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
     }
 
     @Test
@@ -133,31 +163,35 @@ class CsvImportServiceTest {
     void shouldHandleEmptyBatch() throws IOException {
         // Given
         Path csvFile = tempDir.resolve("empty_batch.csv");
-        Files.writeString(csvFile, "timestamp,symbol,price\n1641009600000,BTC,46813.21");
+        Files.writeString(csvFile, "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
 
-        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1});
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[] {1});
 
         // When
         csvImportService.importCsvFiles();
 
         // Then
-        verify(jdbcTemplate, timeout(2000).atLeastOnce()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, timeout(2000).atLeastOnce())
+                .batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
     }
 
     @Test
     void shouldHandleJdbcNoInfo() throws IOException {
         // Given
         Path csvFile = tempDir.resolve("no_info.csv");
-        Files.writeString(csvFile, "timestamp,symbol,price\n1641009600000,BTC,46813.21");
+        Files.writeString(csvFile, "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
 
         // -2 is SUCCESS_NO_INFO
-        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {-2});
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[] {-2});
 
         // When
         csvImportService.importCsvFiles();
 
         // Then
-        verify(jdbcTemplate, timeout(2000).atLeastOnce()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, timeout(2000).atLeastOnce())
+                .batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
     }
 
     @Test
@@ -166,14 +200,346 @@ class CsvImportServiceTest {
         Path csvFile = tempDir.resolve("damaged.csv");
         Files.writeString(
                 csvFile,
-                "timestamp,symbol,price\nINVALID,BTC,46813.21\n1641013200000,BTC,46979.61");
+                "timestamp,symbol,price\nINVALID,BTC,46813.21\n1641013200000,BTC,46979.61\n");
+
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[] {1});
+
+        // When
+        csvImportService.importCsvFiles();
+
+        // Then
+        verify(jdbcTemplate, timeout(2000).atLeastOnce())
+                .batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    void shouldStreamValidRowsToCopyLoaderInCopyMode() throws IOException {
+        // Given
+        Path csvFile = tempDir.resolve("BTC_values.csv");
+        Files.writeString(
+                csvFile,
+                "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641013200000,BTC,-1\n"
+                        + "1641016800000,BT\tC,1\n1641020400000,BTC,46979.61\n");
+        var loader = mock(CopyPriceLoader.class);
+        var sink = mock(PriceRowSink.class);
+        when(loader.load(any()))
+                .thenAnswer(
+                        invocation -> {
+                            invocation.<Consumer<PriceRowSink>>getArgument(0).accept(sink);
+                            var delta = new ImportDelta();
+                            delta.record("BTC", JAN_1, 2);
+                            return delta;
+                        });
+        var etl = etlProperties(AppEtlProperties.IngestMode.COPY, false);
+        var publisher = mock(ApplicationEventPublisher.class);
+        csvImportService = newService(etl, loader, ImportLedger.DISABLED, publisher);
+
+        // When
+        csvImportService.importCsvFiles();
+
+        // Then
+        verify(loader, timeout(2000)).load(any());
+        verify(sink, timeout(2000)).accept("BTC", 4681321000000L, 1641009600000L);
+        verify(sink, timeout(2000)).accept("BTC", 4697961000000L, 1641020400000L);
+        verifyNoMoreInteractions(sink);
+        verifyNoInteractions(jdbcTemplate);
+        verify(publisher).publishEvent(new PricesImportedEvent(Set.of("BTC"), Set.of(JAN_1)));
+    }
+
+    @Test
+    void shouldSkipUnchangedFilesAndResumeAppendedOnes() throws IOException {
+        // Given
+        Path csvFile = tempDir.resolve("BTC_values.csv");
+        Files.writeString(
+                csvFile,
+                "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641013200000,BTC,4697");
+        var batches = recordPriceInserts();
+        var etl = etlProperties(AppEtlProperties.IngestMode.BATCH, true);
+        csvImportService =
+                newService(
+                        etl,
+                        mock(CopyPriceLoader.class),
+                        new InMemoryImportLedger(),
+                        mock(ApplicationEventPublisher.class));
+
+        // When: first run imports the complete lines, second run sees no change
+        csvImportService.importCsvFiles();
+        csvImportService.importCsvFiles();
+
+        // Then: the line still being written is not read
+        assertThat(batches).containsExactly(List.of(4681321000000L));
+
+        // When: the unterminated last line is completed and a new line is appended
+        Files.writeString(
+                csvFile, "9.61\n1641016800000,BTC,47000\n", StandardOpenOption.APPEND);
+        csvImportService.importCsvFiles();
+
+        // Then: the completed line is stored with its full price, followed by the appended line
+        assertThat(batches).hasSize(2);
+        assertThat(batches.getLast()).containsExactly(4697961000000L, 4700000000000L);
+    }
+
+    @Test
+    void shouldReimportRewrittenFilesFromTheStart() throws IOException {
+        // Given
+        Path csvFile = tempDir.resolve("BTC_values.csv");
+        Files.writeString(csvFile, "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
+        var batches = recordPriceInserts();
+        var etl = etlProperties(AppEtlProperties.IngestMode.BATCH, true);
+        csvImportService =
+                newService(
+                        etl,
+                        mock(CopyPriceLoader.class),
+                        new InMemoryImportLedger(),
+                        mock(ApplicationEventPublisher.class));
+        csvImportService.importCsvFiles();
+
+        // When: the file is replaced by different, longer content
+        Files.writeString(
+                csvFile,
+                "timestamp,symbol,price\n1641009600000,BTC,50000\n1641013200000,BTC,50001\n");
+        csvImportService.importCsvFiles();
+
+        // Then
+        assertThat(batches).hasSize(2);
+        assertThat(batches.getLast()).hasSize(2);
+    }
+
+    @Test
+    void shouldPublishOnlySymbolsThatReceivedNewRows() throws IOException {
+        // Given
+        Files.writeString(
+                tempDir.resolve("mixed.csv"),
+                "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641009600000,ETH,3715.32\n");
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[] {1, 0});
+        var publisher = mock(ApplicationEventPublisher.class);
+        csvImportService = newBatchService(publisher);
+
+        // When
+        csvImportService.importCsvFiles();
+
+        // Then
+        verify(publisher).publishEvent(new PricesImportedEvent(Set.of("BTC"), Set.of(JAN_1)));
+    }
+
+    @Test
+    void shouldPublishCommittedBatchesWhenLaterBatchFails() throws IOException {
+        // Given: batches of one row; the first commits, the second fails
+        Files.writeString(
+                tempDir.resolve("mixed.csv"),
+                "timestamp,symbol,price\n1641009600000,BTC,46813.21\n1641096000000,ETH,3715.32\n");
+        when(jdbcTemplate.batchUpdate(
+                        startsWith(PRICE_INSERT), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[] {1})
+                .thenThrow(new RuntimeException("DB Error"));
+        var publisher = mock(ApplicationEventPublisher.class);
+        var etl =
+                new AppEtlProperties(
+                        1,
+                        AppEtlProperties.IngestMode.BATCH,
+                        false,
+                        DataSize.ofMegabytes(64),
+                        16,
+                        1.0,
+                        3);
+        csvImportService =
+                newService(etl, mock(CopyPriceLoader.class), ImportLedger.DISABLED, publisher);
+
+        // When
+        csvImportService.importCsvFiles();
+
+        // Then: the committed BTC row is announced, the failed ETH row is not
+        verify(publisher).publishEvent(new PricesImportedEvent(Set.of("BTC"), Set.of(JAN_1)));
+    }
+
+    @Test
+    void shouldNotPublishWhenNothingWasInserted() throws IOException {
+        // Given
+        Files.writeString(
+                tempDir.resolve("BTC_values.csv"),
+                "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[] {0});
+        var publisher = mock(ApplicationEventPublisher.class);
+        csvImportService = newBatchService(publisher);
+
+        // When
+        csvImportService.importCsvFiles();
+
+        // Then
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void shouldImportLargeFilesInLineAlignedChunks() throws IOException {
+        // Given: 200 rows of about 22 bytes split into chunks of about 500 bytes
+        var csv = new StringBuilder("timestamp,symbol,price\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append(1641009600000L + i * 1000L).append(",BTC,").append(10 + i).append('\n');
+        }
+        Files.writeString(tempDir.resolve("BTC_values.csv"), csv);
+        var batches = recordPriceInserts();
+        var etl =
+                new AppEtlProperties(
+                        100,
+                        AppEtlProperties.IngestMode.BATCH,
+                        false,
+                        DataSize.ofBytes(500),
+                        1,
+                        1.0,
+                        3);
+        csvImportService =
+                newService(
+                        etl,
+                        mock(CopyPriceLoader.class),
+                        ImportLedger.DISABLED,
+                        mock(ApplicationEventPublisher.class));
 
-        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1});
+        // When
+        csvImportService.importCsvFiles();
+
+        // Then: every row is written exactly once, in batches no larger than one chunk
+        var prices = batches.stream().flatMap(List::stream).sorted().toList();
+        assertThat(batches).hasSizeGreaterThan(5);
+        assertThat(prices).hasSize(200).doesNotHaveDuplicates();
+        assertThat(prices.getFirst()).isEqualTo(1_000_000_000L);
+        assertThat(prices.getLast()).isEqualTo(20_900_000_000L);
+    }
+
+    @Test
+    void shouldPreparePartitionsForEveryBatchBeforeInserting() throws IOException {
+        // Given: one batch spanning a month boundary
+        Files.writeString(
+                tempDir.resolve("BTC_values.csv"),
+                "timestamp,symbol,price\n1643670000000,BTC,1\n1641009600000,BTC,2\n");
+        var partitions = mock(PricePartitions.class);
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[] {1, 1});
+        csvImportService =
+                newService(
+                        etlProperties(AppEtlProperties.IngestMode.BATCH, false),
+                        mock(CopyPriceLoader.class),
+                        ImportLedger.DISABLED,
+                        mock(ApplicationEventPublisher.class),
+                        partitions);
 
         // When
         csvImportService.importCsvFiles();
 
         // Then
-        verify(jdbcTemplate, timeout(2000).atLeastOnce()).batchUpdate(anyString(), anyList());
+        var inOrder = inOrder(partitions, jdbcTemplate);
+        inOrder.verify(partitions).ensureCovered(1641009600000L, 1643670000000L);
+        inOrder.verify(jdbcTemplate)
+                .batchUpdate(startsWith(PRICE_INSERT), any(BatchPreparedStatementSetter.class));
+    }
+
+    /**
+     * Stubs price inserts as fully successful and records the scaled prices bound in each batch,
+     * read while the batch is executed since the sink reuses its buffers.
+     */
+    private List<List<Long>> recordPriceInserts() {
+        var batches = Collections.synchronizedList(new ArrayList<List<Long>>());
+        when(jdbcTemplate.batchUpdate(
+                        startsWith(PRICE_INSERT), any(BatchPreparedStatementSetter.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                            var statement = mock(PreparedStatement.class);
+                            int size = setter.getBatchSize();
+                            for (int i = 0; i < size; i++) {
+                                setter.setValues(statement, i);
+                            }
+                            ArgumentCaptor<Long> prices = ArgumentCaptor.forClass(Long.class);
+                            verify(statement, times(size)).setLong(eq(2), prices.capture());
+                            batches.add(prices.getAllValues());
+                            var result = new int[size];
+                            Arrays.fill(result, 1);
+                            return result;
+                        });
+        return batches;
+    }
+
+    private static AppEtlProperties etlProperties(
+            AppEtlProperties.IngestMode mode, boolean incremental) {
+        return new AppEtlProperties(
+                100, mode, incremental, DataSize.ofMegabytes(64), 16, 1.0, 3);
+    }
+
+    private CsvImportService newBatchService(AppImportProperties importProperties) {
+        return newService(
+                importProperties,
+                etlProperties(AppEtlProperties.IngestMode.BATCH, false),
+                mock(CopyPriceLoader.class),
+                ImportLedger.DISABLED,
+                mock(ApplicationEventPublisher.class),
+                PricePartitions.NONE);
+    }
+
+    private CsvImportService newBatchService(ApplicationEventPublisher publisher) {
+        return newService(
+                etlProperties(AppEtlProperties.IngestMode.BATCH, false),
+                mock(CopyPriceLoader.class),
+                ImportLedger.DISABLED,
+                publisher);
+    }
+
+    private CsvImportService newService(
+            AppEtlProperties etl,
+            CopyPriceLoader loader,
+            ImportLedger ledger,
+            ApplicationEventPublisher publisher) {
+        return newService(etl, loader, ledger, publisher, PricePartitions.NONE);
+    }
+
+    private CsvImportService newService(
+            AppEtlProperties etl,
+            CopyPriceLoader loader,
+            ImportLedger ledger,
+            ApplicationEventPublisher publisher,
+            PricePartitions partitions) {
+        return newService(
+                new AppImportProperties(tempDir.toString()),
+                etl,
+                loader,
+                ledger,
+                publisher,
+                partitions);
+    }
+
+    private CsvImportService newService(
+            AppImportProperties importProperties,
+            AppEtlProperties etl,
+            CopyPriceLoader loader,
+            ImportLedger ledger,
+            ApplicationEventPublisher publisher,
+            PricePartitions partitions) {
+        return new CsvImportService(
+                jdbcTemplate,
+                importProperties,
+                etl,
+                loader,
+                new DailyStatsRollup(jdbcTemplate),
+                ledger,
+                publisher,
+                TransactionOperations.withoutTransaction(),
+                new ImportThrottle(2, 2, new SimpleMeterRegistry()),
+                partitions);
+    }
+
+    private static final class InMemoryImportLedger implements ImportLedger {
+
+        private final Map<String, ImportLedgerEntry> entries = new HashMap<>();
+
+        @Override
+        public synchronized Optional<ImportLedgerEntry> find(String fileName) {
+            return Optional.ofNullable(entries.get(fileName));
+        }
+
+        @Override
+        public synchronized void record(ImportLedgerEntry entry) {
+            entries.put(entry.fileName(), entry);
+        }
     }
 }
@@ -0,0 +1,152 @@
+package com.epam.xm.recommendations.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvPriceReaderTest {
+
+    @TempDir Path tempDir;
+
+    private record Row(long epochMilli, String symbol, long scaledPrice) {}
+
+    private List<Row> readAll(String content) throws IOException {
+        Path file = Files.writeString(tempDir.resolve("prices.csv"), content);
+        try (var channel = FileChannel.open(file)) {
+            return readAll(new CsvPriceReader(channel, 0, channel.size()));
+        }
+    }
+
+    private static List<Row> readAll(CsvPriceReader reader) throws IOException {
+        var rows = new ArrayList<Row>();
+        while (reader.next()) {
+            rows.add(new Row(reader.epochMilli(), reader.symbol(), reader.scaledPrice()));
+        }
+        return rows;
+    }
+
+    @Test
+    void shouldReadRowsInHeaderColumnOrder() throws IOException {
+        var rows =
+                readAll(
+                        "price,source,timestamp,symbol\r\n"
+                                + "46813.21,x,1641009600000,BTC\r\n"
+                                + "\r\n"
+                                + "0.00000001,y,1641013200000,BTC");
+
+        assertEquals(
+                List.of(
+                        new Row(1641009600000L, "BTC", 4681321000000L),
+                        new Row(1641013200000L, "BTC", 1L)),
+                rows);
+    }
+
+    @Test
+    void shouldReuseSymbolWhileItRepeats() throws IOException {
+        Path file =
+                Files.writeString(
+                        tempDir.resolve("prices.csv"),
+                        "timestamp,symbol,price\n1,ETH,1\n2,ETH,2\n3,XRP,3\n");
+        try (var channel = FileChannel.open(file)) {
+            var reader = new CsvPriceReader(channel, 0, channel.size());
+            assertTrue(reader.next());
+            var first = reader.symbol();
+            assertTrue(reader.next());
+            assertSame(first, reader.symbol());
+            assertTrue(reader.next());
+            assertEquals("XRP", reader.symbol());
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void shouldRoundPricesBeyondEightDecimalsHalfUp() throws IOException {
+        var rows =
+                readAll(
+                        "timestamp,symbol,price\n"
+                                + "1,BTC,1.123456785\n"
+                                + "2,BTC,1.1234567849999\n"
+                                + "3,BTC,+7\n");
+
+        assertEquals(112345679L, rows.get(0).scaledPrice());
+        assertEquals(112345678L, rows.get(1).scaledPrice());
+        assertEquals(700000000L, rows.get(2).scaledPrice());
+    }
+
+    @Test
+    void shouldRejectDamagedRowsAndContinue() throws IOException {
+        Path file =
+                Files.writeString(
+                        tempDir.resolve("prices.csv"),
+                        "timestamp,symbol,price\n"
+                                + "INVALID,BTC,1\n"
+                                + "1,B-C,1\n"
+                                + "1,,1\n"
+                                + "1,BTC,-1\n"
+                                + "1,BTC,0.000\n"
+                                + "1,BTC,1e5\n"
+                                + "1,BTC,\"1\"\n"
+                                + "1,BTC,99999999999999999999\n"
+                                + "1,BTC\n"
+                                + "2,BTC,2\n");
+        try (var channel = FileChannel.open(file)) {
+            var reader = new CsvPriceReader(channel, 0, channel.size());
+            int damaged = 0;
+            var rows = new ArrayList<Long>();
+            boolean more = true;
+            while (more) {
+                try {
+                    more = reader.next();
+                    if (more) {
+                        rows.add(reader.epochMilli());
+                    }
+                } catch (IllegalArgumentException e) {
+                    damaged++;
+                }
+            }
+            assertEquals(9, damaged);
+            assertEquals(List.of(2L), rows);
+        }
+    }
+
+    @Test
+    void shouldStartAtGivenOffsetAndStopAtEnd() throws IOException {
+        var header = "timestamp,symbol,price\n";
+        var first = "1,BTC,1\n";
+        var second = "2,BTC,2\n";
+        Path file =
+                Files.writeString(tempDir.resolve("prices.csv"), header + first + second + "3,X,3");
+        try (var channel = FileChannel.open(file)) {
+            long start = header.length() + first.length();
+            var reader = new CsvPriceReader(channel, start, start + second.length());
+
+            assertEquals(List.of(new Row(2, "BTC", 200000000L)), readAll(reader));
+        }
+    }
+
+    @Test
+    void shouldReadLinesLongerThanTheBuffer() throws IOException {
+        var padding = "x".repeat(CsvPriceReader.BUFFER_SIZE * 2);
+        var rows = readAll("timestamp,symbol,price,note\n1,BTC,1," + padding + "\n2,BTC,2,\n");
+
+        assertEquals(2, rows.size());
+    }
+
+    @Test
+    void shouldHandleEmptyAndHeaderOnlyFiles() throws IOException {
+        assertTrue(readAll("").isEmpty());
+        assertTrue(readAll("timestamp,symbol,price").isEmpty());
+    }
+
+    @Test
+    void shouldRejectHeaderWithoutRequiredColumns() {
+        assertThrows(IOException.class, () -> readAll("timestamp,price\n1,1\n"));
+    }
+}
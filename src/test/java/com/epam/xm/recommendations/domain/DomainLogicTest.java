@@ -19,18 +19,18 @@ class DomainLogicTest {
         var now = Instant.now();
         var points =
                 List.of(
-                        new PricePoint(now.minusSeconds(100), symbol, new BigDecimal("40000")),
-                        new PricePoint(now.minusSeconds(50), symbol, new BigDecimal("42000")),
-                        new PricePoint(now, symbol, new BigDecimal("41000")),
-                        new PricePoint(now.plusSeconds(50), symbol, new BigDecimal("38000")));
+                        new PricePoint(now.minusSeconds(100), symbol, Price.of("40000")),
+                        new PricePoint(now.minusSeconds(50), symbol, Price.of("42000")),
+                        new PricePoint(now, symbol, Price.of("41000")),
+                        new PricePoint(now.plusSeconds(50), symbol, Price.of("38000")));
 
         var stats = analysisService.calculateStats(symbol, points);
 
         assertThat(stats.symbol()).isEqualTo(symbol);
-        assertThat(stats.oldestPrice()).isEqualByComparingTo(new BigDecimal("40000"));
-        assertThat(stats.newestPrice()).isEqualByComparingTo(new BigDecimal("38000"));
-        assertThat(stats.minPrice()).isEqualByComparingTo(new BigDecimal("38000"));
-        assertThat(stats.maxPrice()).isEqualByComparingTo(new BigDecimal("42000"));
+        assertThat(stats.oldestPrice()).isEqualTo(Price.of("40000"));
+        assertThat(stats.newestPrice()).isEqualTo(Price.of("38000"));
+        assertThat(stats.minPrice()).isEqualTo(Price.of("38000"));
+        assertThat(stats.maxPrice()).isEqualTo(Price.of("42000"));
         // (42000 - 38000) / 38000 = 4000 / 38000 = 0.10526... -> 0.1053 (RoundingMode.HALF_UP, 4
         // scale)
         assertThat(stats.normalizedRange()).isEqualByComparingTo(new BigDecimal("0.1053"));
@@ -44,13 +44,13 @@ class DomainLogicTest {
 
     @Test
     void testZeroPriceThrowsException() {
-        assertThatThrownBy(() -> new PricePoint(Instant.now(), "BTC", BigDecimal.ZERO))
+        assertThatThrownBy(() -> new PricePoint(Instant.now(), "BTC", Price.ofScaled(0)))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
     void testNegativePriceThrowsException() {
-        assertThatThrownBy(() -> new PricePoint(Instant.now(), "BTC", new BigDecimal("-100")))
+        assertThatThrownBy(() -> new PricePoint(Instant.now(), "BTC", Price.of("-100")))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
@@ -59,8 +59,8 @@ class DomainLogicTest {
         var symbol = "ETH";
         var points =
                 List.of(
-                        new PricePoint(Instant.now(), symbol, new BigDecimal("100")),
-                        new PricePoint(Instant.now(), symbol, new BigDecimal("110")));
+                        new PricePoint(Instant.now(), symbol, Price.of("100")),
+                        new PricePoint(Instant.now(), symbol, Price.of("110")));
         var stats = analysisService.calculateStats(symbol, points);
         // (110 - 100) / 100 = 10 / 100 = 0.1000
         assertThat(stats.normalizedRange()).isEqualByComparingTo(new BigDecimal("0.1000"));
@@ -0,0 +1,71 @@
+package com.epam.xm.recommendations.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ImportThrottleTest {
+
+    @Test
+    void shouldDeriveWritersFromPoolShare() {
+        assertThat(ImportThrottle.writersFor(20, 0.25)).isEqualTo(5);
+        assertThat(ImportThrottle.writersFor(20, 1.0)).isEqualTo(20);
+        assertThat(ImportThrottle.writersFor(3, 0.1)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNeverRunMoreWritersThanPermits() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        var throttle = new ImportThrottle(4, 2, registry);
+        var running = new AtomicInteger();
+        var peak = new AtomicInteger();
+
+        // When
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                executor.submit(
+                        () ->
+                                throttle.write(
+                                        () -> {
+                                            peak.accumulateAndGet(
+                                                    running.incrementAndGet(), Math::max);
+                                            Thread.yield();
+                                            return running.decrementAndGet();
+                                        }));
+            }
+        }
+
+        // Then
+        assertThat(peak.get()).isBetween(1, 2);
+        assertThat(registry.get("etl.write.permits.wait").timer().count()).isEqualTo(50);
+        assertThat(registry.get("etl.write.permits.active").gauge().value()).isZero();
+        assertThat(registry.get("etl.write.permits.waiting").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldReleaseFileSlotWhenTaskFails() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        var throttle = new ImportThrottle(1, 1, registry);
+
+        // When
+        try {
+            throttle.runFile(
+                    () -> {
+                        throw new IllegalStateException("boom");
+                    });
+        } catch (IllegalStateException expected) {
+            // the failure propagates to the caller
+        }
+        var ran = new AtomicInteger();
+        throttle.runFile(ran::incrementAndGet);
+
+        // Then
+        assertThat(ran.get()).isEqualTo(1);
+        assertThat(registry.get("etl.files.active").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.epam.xm.recommendations.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class PriceSeriesTest {
+
+    private static PriceSeries series(long... timesAndPrices) {
+        var builder = new PriceSeries.Builder();
+        for (int i = 0; i < timesAndPrices.length; i += 2) {
+            builder.append(timesAndPrices[i], timesAndPrices[i + 1]);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void shouldSummarizeWholeSeries() {
+        var accumulator = series(1000, 40, 2000, 42, 3000, 38).summarize();
+
+        assertEquals(3, accumulator.count());
+        assertEquals(40, accumulator.oldestPrice());
+        assertEquals(38, accumulator.newestPrice());
+        assertEquals(38, accumulator.minPrice());
+        assertEquals(42, accumulator.maxPrice());
+    }
+
+    @Test
+    void shouldSummarizeHalfOpenWindow() {
+        var accumulator = series(1000, 40, 2000, 42, 3000, 38).summarize(2000, 3000);
+
+        assertEquals(1, accumulator.count());
+        assertEquals(42, accumulator.oldestPrice());
+        assertTrue(series(1000, 40).summarize(1001, 5000).isEmpty());
+    }
+
+    @Test
+    void shouldSpliceReplacementIntoWindow() {
+        var original = series(1000, 1, 2000, 2, 3000, 3, 4000, 4);
+
+        var spliced = original.splice(2000, 4000, series(2000, 20, 2500, 25, 3000, 30));
+
+        assertEquals(5, spliced.size());
+        assertEquals(4, original.size());
+        var window = spliced.summarize(2000, 4000);
+        assertEquals(20, window.oldestPrice());
+        assertEquals(30, window.newestPrice());
+        assertEquals(4, spliced.summarize().newestPrice());
+    }
+
+    @Test
+    void shouldCountWindowAndRestoreFromColumns() {
+        var original = series(1000, 40, 2000, 42, 3000, 38);
+        var columns = new long[2][];
+        original.readColumns(
+                (epochMillis, scaledPrices) -> {
+                    columns[0] = epochMillis.clone();
+                    columns[1] = scaledPrices.clone();
+                });
+
+        var restored = PriceSeries.restore(columns[0], columns[1], original.summarize());
+
+        assertEquals(2, original.count(1500, 3001));
+        assertEquals(0, original.count(3001, 1500));
+        assertEquals(38, restored.summarize().minPrice());
+        assertEquals(1, restored.summarize(2000, 3000).count());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PriceSeries.restore(columns[0], columns[1], new PriceStatsAccumulator()));
+    }
+
+    @Test
+    void shouldRejectReplacementOutsideWindow() {
+        var original = series(1000, 1);
+        var replacement = series(5000, 5);
+
+        assertThrows(
+                IllegalArgumentException.class, () -> original.splice(0, 5000, replacement));
+    }
+
+    @Test
+    void shouldRejectOutOfOrderQuotes() {
+        var builder = new PriceSeries.Builder().append(2000, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.append(1000, 1));
+    }
+
+    @Test
+    void shouldConvertPricesExactly() {
+        assertEquals(4_680_000_000_000L, PriceSeries.toScaledPrice(new BigDecimal("46800")));
+        assertEquals(1L, PriceSeries.toScaledPrice(new BigDecimal("0.00000001")));
+        assertThrows(
+                ArithmeticException.class,
+                () -> PriceSeries.toScaledPrice(new BigDecimal("0.000000001")));
+    }
+}
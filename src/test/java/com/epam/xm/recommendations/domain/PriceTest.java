@@ -0,0 +1,74 @@
+package com.epam.xm.recommendations.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class PriceTest {
+
+    @Test
+    void shouldConvertDecimalsExactly() {
+        var price = Price.of("46813.21");
+
+        assertEquals(4_681_321_000_000L, price.scaled());
+        assertEquals(new BigDecimal("46813.21000000"), price.toBigDecimal());
+        assertEquals("46813.21000000", price.toString());
+        assertEquals(Price.of("46813.210"), price);
+    }
+
+    @Test
+    void shouldRejectInexactDecimals() {
+        assertThrows(ArithmeticException.class, () -> Price.of("0.000000001"));
+        assertThrows(ArithmeticException.class, () -> Price.of("100000000000"));
+    }
+
+    @Test
+    void shouldCompareByValue() {
+        assertTrue(Price.of("0.5").compareTo(Price.of("0.50000001")) < 0);
+        assertTrue(Price.of("1").isPositive());
+        assertFalse(Price.ofScaled(0).isPositive());
+    }
+
+    @Test
+    void normalizedRangeShouldMatchBigDecimalDivision() {
+        var random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            var min = Price.ofScaled(random.nextLong(1, 10_000_000_000_000L));
+            var max = Price.ofScaled(min.scaled() + random.nextLong(0, 10_000_000_000_000L));
+
+            var expected =
+                    max.toBigDecimal()
+                            .subtract(min.toBigDecimal())
+                            .divide(min.toBigDecimal(), 4, RoundingMode.HALF_UP);
+
+            assertEquals(expected, Price.normalizedRange(min, max));
+        }
+    }
+
+    @Test
+    void normalizedRangeShouldRoundHalfUp() {
+        // 4000 / 38000 = 0.10526... and 1 / 20000 = 0.00005, both rounded up
+        assertEquals(new BigDecimal("0.1053"), range("38000", "42000"));
+        assertEquals(new BigDecimal("0.0001"), range("20000", "20001"));
+        assertEquals(new BigDecimal("0.0000"), range("1", "1"));
+    }
+
+    @Test
+    void normalizedRangeShouldFallBackOnOverflow() {
+        var min = Price.ofScaled(1);
+        var max = Price.ofScaled(Long.MAX_VALUE);
+
+        assertEquals(
+                max.toBigDecimal()
+                        .subtract(min.toBigDecimal())
+                        .divide(min.toBigDecimal(), 4, RoundingMode.HALF_UP),
+                Price.normalizedRange(min, max));
+    }
+
+    private static BigDecimal range(String min, String max) {
+        return Price.normalizedRange(Price.of(min), Price.of(max));
+    }
+}
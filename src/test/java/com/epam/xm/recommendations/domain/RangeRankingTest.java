@@ -0,0 +1,82 @@
+package com.epam.xm.recommendations.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RangeRankingTest {
+
+    private static final List<CryptoStats> STATS =
+            List.of(
+                    stats("ETH", "0.2500"),
+                    stats("BTC", "0.2857"),
+                    stats("XRP", "0.5000"),
+                    stats("LTC", "0.2500"),
+                    stats("DOGE", "0.1000"));
+
+    private static CryptoStats stats(String symbol, String normalizedRange) {
+        var price = Price.of("1");
+        return new CryptoStats(
+                symbol, price, price, price, price, new BigDecimal(normalizedRange));
+    }
+
+    private static List<String> symbols(List<CryptoStats> stats) {
+        return stats.stream().map(CryptoStats::symbol).toList();
+    }
+
+    @Test
+    void shouldRankByDescendingRangeThenSymbol() {
+        var ranking = RangeRanking.rank(STATS);
+
+        assertEquals(List.of("XRP", "BTC", "ETH", "LTC", "DOGE"), symbols(ranking));
+    }
+
+    @Test
+    void shouldSelectTopLikeFullRanking() {
+        var random = new Random(42);
+        var many = new ArrayList<CryptoStats>();
+        for (int i = 0; i < 1000; i++) {
+            many.add(stats("S" + i, BigDecimal.valueOf(random.nextInt(50), 4).toPlainString()));
+        }
+        Collections.shuffle(many, random);
+
+        var ranking = RangeRanking.rank(many);
+
+        assertEquals(ranking.subList(0, 20), RangeRanking.top(many, 20));
+        assertEquals(List.of("XRP", "BTC"), symbols(RangeRanking.top(STATS, 2)));
+        assertEquals(5, RangeRanking.top(STATS, 100).size());
+        assertThrows(IllegalArgumentException.class, () -> RangeRanking.top(STATS, 0));
+    }
+
+    @Test
+    void shouldPageAfterKey() {
+        var ranking = RangeRanking.rank(STATS);
+
+        var first = RangeRanking.page(ranking, null, 2);
+        var second = RangeRanking.page(ranking, first.next(), 2);
+        var last = RangeRanking.page(ranking, second.next(), 2);
+
+        assertEquals(List.of("XRP", "BTC"), symbols(first.items()));
+        assertEquals(new RangeRanking.Key(new BigDecimal("0.2857"), "BTC"), first.next());
+        assertEquals(List.of("ETH", "LTC"), symbols(second.items()));
+        assertEquals(List.of("DOGE"), symbols(last.items()));
+        assertNull(last.next());
+    }
+
+    @Test
+    void shouldResumeAfterKeyNoLongerInRanking() {
+        var ranking = RangeRanking.rank(STATS);
+
+        // ADA left the ranking after the previous page; the page starts with the next lower row
+        var gone = new RangeRanking.Key(new BigDecimal("0.3000"), "ADA");
+        var page = RangeRanking.page(ranking, gone, 10);
+
+        assertEquals(List.of("BTC", "ETH", "LTC", "DOGE"), symbols(page.items()));
+        assertNull(page.next());
+    }
+}
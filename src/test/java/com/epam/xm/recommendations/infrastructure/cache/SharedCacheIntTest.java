@@ -0,0 +1,108 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.xm.recommendations.BaseIntegrationTest;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class SharedCacheIntTest extends BaseIntegrationTest {
+
+    @Autowired private CacheManager cacheManager;
+
+    @Autowired private SharedCacheStore sharedCacheStore;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Test
+    void shouldLayerSharedTierUnderCaffeine() {
+        assertThat(cacheManager).isInstanceOf(TwoTierCacheManager.class);
+        assertThat(cacheManager.getCache("crypto-stats")).isInstanceOf(TwoTierCache.class);
+    }
+
+    @Test
+    void shouldStoreAndEvictEntries() {
+        sharedCacheStore.put("test-cache", "BTC", new byte[] {1, 2, 3});
+        sharedCacheStore.put("test-cache", "BTC", new byte[] {4});
+        assertThat(sharedCacheStore.get("test-cache", "BTC", null)).containsExactly(4);
+
+        sharedCacheStore.evict("test-cache", "BTC");
+        assertThat(sharedCacheStore.get("test-cache", "BTC", null)).isNull();
+    }
+
+    @Test
+    void shouldHideAndPurgeEntriesOlderThanMaxAge() {
+        // Given
+        sharedCacheStore.put("test-cache", "OLD", new byte[] {1});
+        sharedCacheStore.put("test-cache", "NEW", new byte[] {2});
+        jdbcTemplate.update(
+                "UPDATE crypto_cache_entries SET updated_at = updated_at - INTERVAL '2 hours'"
+                        + " WHERE cache_name = 'test-cache' AND cache_key = 'OLD'");
+
+        // Then
+        assertThat(sharedCacheStore.get("test-cache", "OLD", Duration.ofHours(1))).isNull();
+        assertThat(sharedCacheStore.get("test-cache", "OLD", null)).containsExactly(1);
+        assertThat(sharedCacheStore.get("test-cache", "NEW", Duration.ofHours(1)))
+                .containsExactly(2);
+
+        // When
+        sharedCacheStore.purge("test-cache", Duration.ofHours(1));
+
+        // Then
+        assertThat(sharedCacheStore.get("test-cache", "OLD", null)).isNull();
+        assertThat(sharedCacheStore.get("test-cache", "NEW", null)).containsExactly(2);
+        sharedCacheStore.clear("test-cache");
+    }
+
+    @Test
+    void shouldDeliverInvalidationsToOtherInstances() throws InterruptedException {
+        // Given
+        var received = new ArrayBlockingQueue<String>(4);
+        var listening = new CountDownLatch(1);
+        var receiver = new CacheInvalidationBus(primaryDataSource, "crypto_cache_test");
+        receiver.subscribe(new RecordingInvalidator(received, listening));
+        var sender = new CacheInvalidationBus(primaryDataSource, "crypto_cache_test");
+        receiver.start();
+        try {
+            assertThat(listening.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            sender.publish("crypto-stats", "BTC");
+            sender.publish("crypto-ranges", null);
+
+            // Then
+            assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("crypto-stats/BTC");
+            assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("crypto-ranges/*");
+        } finally {
+            receiver.stop();
+        }
+    }
+
+    private record RecordingInvalidator(BlockingQueue<String> received, CountDownLatch listening)
+            implements NearCacheInvalidator {
+
+        @Override
+        public void invalidate(String cacheName, @Nullable String key) {
+            received.add(cacheName + '/' + (key == null ? "*" : key));
+        }
+
+        @Override
+        public void invalidateAll() {
+            listening.countDown();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.epam.xm.recommendations.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+class TwoTierCacheTest {
+
+    private static final String CACHE = "crypto-stats";
+
+    private final InMemoryStore store = new InMemoryStore();
+    private CacheInvalidationBus bus;
+    private TwoTierCacheManager instanceA;
+    private TwoTierCacheManager instanceB;
+
+    @BeforeEach
+    void setUp() {
+        bus = mock(CacheInvalidationBus.class);
+        instanceA = new TwoTierCacheManager(new CaffeineCacheManager(CACHE), store, bus);
+        instanceB = new TwoTierCacheManager(new CaffeineCacheManager(CACHE), store, bus);
+    }
+
+    @Test
+    void shouldServeValueComputedByAnotherInstanceFromSharedTier() {
+        // Given
+        var btc = stats("BTC", "0.5");
+        cache(instanceA).put("BTC", btc);
+        var loads = new AtomicInteger();
+
+        // When
+        var fromB = cache(instanceB).get("BTC", () -> stats("BTC", "9." + loads.incrementAndGet()));
+
+        // Then
+        assertThat(fromB).isEqualTo(btc);
+        assertThat(loads).hasValue(0);
+        verify(bus).publish(CACHE, "BTC");
+    }
+
+    @Test
+    void shouldDropNearCopyOnInvalidation() {
+        // Given
+        cache(instanceA).put("BTC", stats("BTC", "0.5"));
+        assertThat(cache(instanceB).get("BTC", CryptoStats.class)).isNotNull();
+
+        // When
+        cache(instanceA).put("BTC", stats("BTC", "0.7"));
+        instanceB.invalidate(CACHE, "BTC");
+
+        // Then
+        assertThat(cache(instanceB).get("BTC", CryptoStats.class))
+                .extracting(CryptoStats::normalizedRange)
+                .isEqualTo(new BigDecimal("0.7"));
+    }
+
+    @Test
+    void shouldNotCacheSharedValueSupersededWhileItWasRead() {
+        // Given: A replaces the entry while B is reading the old one
+        cache(instanceA).put("BTC", stats("BTC", "0.5"));
+        store.afterRead =
+                () -> {
+                    store.afterRead = () -> {};
+                    cache(instanceA).put("BTC", stats("BTC", "0.7"));
+                    instanceB.invalidate(CACHE, "BTC");
+                };
+
+        // When
+        cache(instanceB).get("BTC");
+
+        // Then: the old value read by B did not outlive the invalidation
+        assertThat(cache(instanceB).get("BTC", CryptoStats.class))
+                .extracting(CryptoStats::normalizedRange)
+                .isEqualTo(new BigDecimal("0.7"));
+    }
+
+    @Test
+    void shouldRefreshStaleEntryThroughSharedTier() throws InterruptedException {
+        // Given
+        var nearCaches = new CaffeineCacheManager();
+        nearCaches.registerCustomCache(
+                CACHE, Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).build());
+        try (var refreshAhead =
+                new RefreshAheadLoaders(
+                        Duration.ofMillis(50),
+                        Map.<String, Function<String, Object>>of(
+                                CACHE, key -> stats(key, "0.9")))) {
+            var refreshing = new TwoTierCacheManager(nearCaches, store, bus, refreshAhead);
+            cache(refreshing).put("BTC", stats("BTC", "0.5"));
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            // When
+            var stale = cache(refreshing).get("BTC", CryptoStats.class);
+
+            // Then: the old value is served, the new one reaches the other instance
+            assertThat(stale)
+                    .extracting(CryptoStats::normalizedRange)
+                    .isEqualTo(new BigDecimal("0.5"));
+            for (int i = 0; i < 100 && !new BigDecimal("0.9").equals(sharedRange()); i++) {
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+            assertThat(sharedRange()).isEqualTo(new BigDecimal("0.9"));
+            verify(bus, timeout(1_000).times(2)).publish(CACHE, "BTC");
+        }
+    }
+
+    @Test
+    void shouldShareCollectionsOfStats() {
+        // Given
+        var ranking = List.of(stats("ETH", "0.9"), stats("BTC", "0.5"));
+
+        // When
+        cache(instanceA).put("all", ranking);
+        var fromB = cache(instanceB).get("all");
+
+        // Then
+        assertThat(fromB).isNotNull();
+        assertThat(fromB.get()).isEqualTo(ranking);
+    }
+
+    @Test
+    void shouldEvictFromBothTiers() {
+        // Given
+        cache(instanceA).put("BTC", stats("BTC", "0.5"));
+        cache(instanceB).get("BTC");
+
+        // When
+        cache(instanceA).evict("BTC");
+        instanceB.invalidate(CACHE, "BTC");
+
+        // Then
+        assertThat(cache(instanceA).get("BTC")).isNull();
+        assertThat(cache(instanceB).get("BTC")).isNull();
+    }
+
+    @Test
+    void shouldFallBackToLoaderWhenSharedTierFails() {
+        // Given
+        var failing = mock(SharedCacheStore.class);
+        doThrow(new IllegalStateException("down"))
+                .when(failing)
+                .get(anyString(), anyString(), any());
+        doThrow(new IllegalStateException("down"))
+                .when(failing)
+                .put(anyString(), anyString(), any());
+        var manager = new TwoTierCacheManager(new CaffeineCacheManager(CACHE), failing, bus);
+
+        // When
+        var value = cache(manager).get("BTC", () -> stats("BTC", "0.5"));
+
+        // Then
+        assertThat(value).isEqualTo(stats("BTC", "0.5"));
+        assertThat(cache(manager).get("BTC", CryptoStats.class)).isEqualTo(value);
+    }
+
+    /** Reads the BTC entry as another instance would after the invalidation of its copy. */
+    private @Nullable BigDecimal sharedRange() {
+        instanceB.invalidate(CACHE, "BTC");
+        var stats = cache(instanceB).get("BTC", CryptoStats.class);
+        return stats == null ? null : stats.normalizedRange();
+    }
+
+    private static Cache cache(TwoTierCacheManager manager) {
+        var cache = manager.getCache(CACHE);
+        assertThat(cache).isInstanceOf(TwoTierCache.class);
+        return cache;
+    }
+
+    private static CryptoStats stats(String symbol, String range) {
+        return new CryptoStats(
+                symbol,
+                Price.of("1"),
+                Price.of("2"),
+                Price.of("1"),
+                Price.of("2"),
+                new BigDecimal(range));
+    }
+
+    private static final class InMemoryStore implements SharedCacheStore {
+
+        private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+        private volatile Runnable afterRead = () -> {};
+
+        @Override
+        public byte @Nullable [] get(String cacheName, String key, @Nullable Duration maxAge) {
+            var value = entries.get(cacheName + '/' + key);
+            afterRead.run();
+            return value;
+        }
+
+        @Override
+        public void put(String cacheName, String key, byte[] value) {
+            entries.put(cacheName + '/' + key, value);
+        }
+
+        @Override
+        public void evict(String cacheName, String key) {
+            entries.remove(cacheName + '/' + key);
+        }
+
+        @Override
+        public void clear(String cacheName) {
+            entries.keySet().removeIf(k -> k.startsWith(cacheName + '/'));
+        }
+
+        @Override
+        public void purge(String cacheName, Duration maxAge) {
+            // entries carry no age
+        }
+    }
+}
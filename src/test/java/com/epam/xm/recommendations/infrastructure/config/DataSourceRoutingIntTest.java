@@ -0,0 +1,60 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.epam.xm.recommendations.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class DataSourceRoutingIntTest extends BaseIntegrationTest {
+
+    private static final String APPLICATION_NAME = "SELECT current_setting('application_name')";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplicaPool() {
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        var pool =
+                readOnly.execute(
+                        status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+
+        assertThat(pool).isEqualTo("recommendations-replica");
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionsAndPlainStatementsToPrimaryPool() {
+        var readWrite = new TransactionTemplate(transactionManager);
+
+        var pool =
+                readWrite.execute(
+                        status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+
+        assertThat(pool).isEqualTo("recommendations-primary");
+        assertThat(jdbcTemplate.queryForObject(APPLICATION_NAME, String.class))
+                .isEqualTo("recommendations-primary");
+    }
+
+    @Test
+    void shouldRejectWritesOnReplicaPool() {
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertThatThrownBy(
+                        () ->
+                                readOnly.executeWithoutResult(
+                                        status ->
+                                                jdbcTemplate.update(
+                                                        "DELETE FROM crypto_daily_winners")))
+                .isInstanceOf(DataAccessException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.xm.recommendations.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+class RefreshAheadCacheTest {
+
+    private final AppCacheRefreshProperties properties =
+            new AppCacheRefreshProperties(Duration.ofMillis(50), Duration.ofMinutes(1), 100);
+
+    @Test
+    void shouldShareOneComputationBetweenConcurrentMisses() throws InterruptedException {
+        // Given
+        var computations = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var cache =
+                new CaffeineCache(
+                        "crypto-ranges",
+                        CryptoConfig.refreshingCache(
+                                properties, Runnable::run, key -> "loaded"));
+
+        // When
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 32; i++) {
+                executor.submit(
+                        () ->
+                                cache.get(
+                                        "all",
+                                        () -> {
+                                            computations.incrementAndGet();
+                                            release.await();
+                                            return "computed";
+                                        }));
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+        }
+
+        // Then
+        assertThat(computations).hasValue(1);
+        assertThat(cache.get("all", String.class)).isEqualTo("computed");
+    }
+
+    @Test
+    void shouldServeStaleValueWhileRefreshing() throws InterruptedException {
+        // Given
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var cache =
+                new CaffeineCache(
+                        "crypto-stats",
+                        CryptoConfig.refreshingCache(
+                                properties,
+                                Executors.newVirtualThreadPerTaskExecutor(),
+                                key -> {
+                                    loads.incrementAndGet();
+                                    release.await();
+                                    return "fresh";
+                                }));
+        cache.put("BTC", "stale");
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // When
+        var first = cache.get("BTC", () -> "unexpected");
+        var second = cache.get("BTC", () -> "unexpected");
+        release.countDown();
+
+        // Then
+        assertThat(first).isEqualTo("stale");
+        assertThat(second).isEqualTo("stale");
+        for (int i = 0; i < 100 && !"fresh".equals(cache.get("BTC", () -> "")); i++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertThat(cache.get("BTC", () -> "")).isEqualTo("fresh");
+        assertThat(loads).hasValue(1);
+    }
+}
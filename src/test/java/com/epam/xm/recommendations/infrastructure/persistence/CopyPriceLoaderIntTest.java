@@ -0,0 +1,50 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.xm.recommendations.BaseIntegrationTest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+class CopyPriceLoaderIntTest extends BaseIntegrationTest {
+
+    @Autowired private CopyPriceLoader copyPriceLoader;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCopyAndMergeWithDeduplication() {
+        var inserted =
+                copyPriceLoader.load(
+                        sink -> {
+                            sink.accept("CPYT", 10_050_000_000L, 1641009600000L);
+                            sink.accept("CPYT", 99_900_000_000L, 1641009600000L);
+                            sink.accept("CPYT", 10_125_000_000L, 1641013200000L);
+                        });
+
+        assertThat(inserted.insertedRows()).isEqualTo(2);
+        assertThat(inserted.symbols()).containsExactly("CPYT");
+        assertThat(inserted.days()).containsExactly(LocalDate.of(2022, 1, 1));
+        var firstPrice =
+                jdbcTemplate.queryForObject(
+                        "SELECT price FROM crypto_prices WHERE symbol = 'CPYT'"
+                                + " ORDER BY price_timestamp LIMIT 1",
+                        BigDecimal.class);
+        assertThat(firstPrice).isEqualByComparingTo("100.5");
+
+        var again =
+                copyPriceLoader.load(
+                        sink -> sink.accept("CPYT", 10_050_000_000L, 1641009600000L));
+        assertThat(again.isEmpty()).isTrue();
+
+        var staged =
+                jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM crypto_prices_staging", Integer.class);
+        assertThat(staged).isZero();
+    }
+}
@@ -0,0 +1,53 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.xm.recommendations.BaseIntegrationTest;
+import com.epam.xm.recommendations.domain.PriceStatsAccumulator;
+import com.epam.xm.recommendations.domain.SymbolDay;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+class DailyStatsRollupIntTest extends BaseIntegrationTest {
+
+    private static final SymbolDay KEY = new SymbolDay("RLUP", LocalDate.of(2022, 1, 1));
+    private static final long MIDNIGHT = 1640995200000L;
+    private static final long HOUR = 3_600_000L;
+    private static final long UNIT = 100_000_000L;
+
+    @Autowired private DailyStatsRollup dailyStatsRollup;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldFoldSuccessiveBatchesIntoOneRow() {
+        var first = new PriceStatsAccumulator();
+        first.accept(MIDNIGHT + 10 * HOUR, 100 * UNIT);
+        first.accept(MIDNIGHT + 12 * HOUR, 90 * UNIT);
+        dailyStatsRollup.merge(new TreeMap<>(Map.of(KEY, first)));
+
+        var second = new PriceStatsAccumulator();
+        second.accept(MIDNIGHT + 2 * HOUR, 95 * UNIT);
+        second.accept(MIDNIGHT + 20 * HOUR, 120 * UNIT);
+        dailyStatsRollup.merge(new TreeMap<>(Map.of(KEY, second)));
+
+        var row =
+                jdbcTemplate.queryForMap(
+                        "SELECT open_price, close_price, min_price, max_price, tick_count"
+                                + " FROM crypto_daily_stats WHERE symbol = ? AND day = ?",
+                        KEY.symbol(),
+                        KEY.day());
+        assertThat((BigDecimal) row.get("open_price")).isEqualByComparingTo("95");
+        assertThat((BigDecimal) row.get("close_price")).isEqualByComparingTo("120");
+        assertThat((BigDecimal) row.get("min_price")).isEqualByComparingTo("90");
+        assertThat((BigDecimal) row.get("max_price")).isEqualByComparingTo("120");
+        assertThat(row.get("tick_count")).isEqualTo(4L);
+    }
+}
@@ -0,0 +1,171 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.xm.recommendations.BaseIntegrationTest;
+import com.epam.xm.recommendations.domain.CryptoAnalysisService;
+import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
+import com.epam.xm.recommendations.domain.PricesImportedEvent;
+import com.epam.xm.recommendations.infrastructure.config.AppReadModelSnapshotProperties;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+class InMemoryPriceReadModelIntTest extends BaseIntegrationTest {
+
+    private static final String SYMBOL = "MEMO";
+    private static final LocalDate DAY = LocalDate.of(2022, 1, 1);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired private CryptoAnalysisService analysisService;
+
+    @Autowired private RollupPriceReadModel rollupPriceReadModel;
+
+    @TempDir Path tempDir;
+
+    private void insert(int hour, String price) {
+        insert(DAY, hour, price);
+    }
+
+    private void insert(LocalDate day, int hour, String price) {
+        jdbcTemplate.update(
+                "INSERT INTO crypto_prices (symbol, price, price_timestamp) VALUES (?, ?, ?)",
+                SYMBOL,
+                new BigDecimal(price),
+                OffsetDateTime.of(day.atTime(hour, 0), ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldMatchRollupAndFollowImports() {
+        insert(1, "100.5");
+        insert(5, "90.25");
+        insert(9, "120");
+        var readModel = new InMemoryPriceReadModel(jdbcTemplate, analysisService);
+        readModel.load();
+        rebuildDailyStatsRollup();
+
+        assertThat(readModel.findStats(SYMBOL)).isEqualTo(rollupPriceReadModel.findStats(SYMBOL));
+        assertThat(readModel.findStatsForDay(DAY))
+                .filteredOn(stats -> SYMBOL.equals(stats.symbol()))
+                .singleElement()
+                .satisfies(
+                        stats -> {
+                            assertThat(stats.oldestPrice()).isEqualTo(Price.of("100.5"));
+                            assertThat(stats.newestPrice()).isEqualTo(Price.of("120"));
+                        });
+
+        insert(12, "80");
+        readModel.onPricesImported(new PricesImportedEvent(Set.of(SYMBOL), Set.of(DAY)));
+
+        var stats = readModel.findStats(SYMBOL).orElseThrow();
+        assertThat(stats.minPrice()).isEqualTo(Price.of("80"));
+        assertThat(stats.newestPrice()).isEqualTo(Price.of("80"));
+        assertThat(readModel.findStats("NONE")).isEmpty();
+    }
+
+    @Test
+    void shouldCatchUpWithImportsOfOtherInstances() {
+        insert(1, "100.5");
+        rebuildDailyStatsRollup();
+        var readModel = new InMemoryPriceReadModel(jdbcTemplate, analysisService);
+        readModel.load();
+
+        // Imported elsewhere: only the rollup tells this instance
+        insert(12, "80");
+        rebuildDailyStatsRollup();
+        readModel.catchUpWithImports();
+
+        assertThat(readModel.findStats(SYMBOL)).isEqualTo(rollupPriceReadModel.findStats(SYMBOL));
+        assertThat(readModel.findStats(SYMBOL).orElseThrow().minPrice()).isEqualTo(Price.of("80"));
+
+        // Later checks only compare the days updated since
+        insert(15, "70");
+        rebuildDailyStatsRollup();
+        readModel.catchUpWithImports();
+
+        assertThat(readModel.findStats(SYMBOL).orElseThrow().minPrice()).isEqualTo(Price.of("70"));
+    }
+
+    @Test
+    void shouldReloadOnlyTheImportedDays() {
+        insert(1, "100.5");
+        var readModel = new InMemoryPriceReadModel(jdbcTemplate, analysisService);
+        readModel.load();
+
+        insert(12, "80");
+        insert(DAY.plusDays(1), 12, "90");
+        insert(DAY.plusDays(2), 12, "110");
+        readModel.onPricesImported(
+                new PricesImportedEvent(Set.of(SYMBOL), Set.of(DAY, DAY.plusDays(2))));
+
+        assertThat(readModel.findStatsForDay(DAY))
+                .filteredOn(stats -> SYMBOL.equals(stats.symbol()))
+                .singleElement()
+                .extracting(CryptoStats::minPrice)
+                .isEqualTo(Price.of("80"));
+        assertThat(readModel.findStatsForDay(DAY.plusDays(1)))
+                .noneMatch(stats -> SYMBOL.equals(stats.symbol()));
+        assertThat(readModel.findStatsForDay(DAY.plusDays(2)))
+                .filteredOn(stats -> SYMBOL.equals(stats.symbol()))
+                .singleElement()
+                .extracting(CryptoStats::newestPrice)
+                .isEqualTo(Price.of("110"));
+    }
+
+    @Test
+    void shouldRestoreSnapshotAndCatchUpOnChangedDays() {
+        var snapshot = new AppReadModelSnapshotProperties(true, tempDir.resolve("read-model.bin"));
+        insert(1, "100.5");
+        insert(9, "120");
+        rebuildDailyStatsRollup();
+        new InMemoryPriceReadModel(jdbcTemplate, analysisService, snapshot).load();
+        assertThat(snapshot.path()).isNotEmptyFile();
+
+        insert(12, "80");
+        jdbcTemplate.update(
+                "INSERT INTO crypto_prices (symbol, price, price_timestamp) VALUES (?, ?, ?)",
+                SYMBOL,
+                new BigDecimal("130"),
+                OffsetDateTime.of(DAY.plusDays(1).atStartOfDay(), ZoneOffset.UTC));
+        rebuildDailyStatsRollup();
+        var restarted = new InMemoryPriceReadModel(jdbcTemplate, analysisService, snapshot);
+        restarted.load();
+
+        assertThat(restarted.findStats(SYMBOL)).isEqualTo(rollupPriceReadModel.findStats(SYMBOL));
+        assertThat(restarted.findStats(SYMBOL).orElseThrow().minPrice()).isEqualTo(Price.of("80"));
+        assertThat(restarted.findStatsForDay(DAY.plusDays(1)))
+                .filteredOn(stats -> SYMBOL.equals(stats.symbol()))
+                .singleElement()
+                .extracting(CryptoStats::newestPrice)
+                .isEqualTo(Price.of("130"));
+    }
+
+    @Test
+    void shouldRewriteSnapshotOffTheImportPath() throws IOException {
+        var snapshot = new AppReadModelSnapshotProperties(true, tempDir.resolve("read-model.bin"));
+        insert(1, "100.5");
+        var readModel = new InMemoryPriceReadModel(jdbcTemplate, analysisService, snapshot);
+        readModel.load();
+        long loadedSize = Files.size(snapshot.path());
+
+        insert(12, "80");
+        readModel.onPricesImported(new PricesImportedEvent(Set.of(SYMBOL), Set.of(DAY)));
+        assertThat(Files.size(snapshot.path())).isEqualTo(loadedSize);
+
+        readModel.writeSnapshotIfStale();
+        assertThat(Files.size(snapshot.path())).isGreaterThan(loadedSize);
+    }
+}
@@ -0,0 +1,81 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.xm.recommendations.BaseIntegrationTest;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class JdbcPricePartitionsIntTest extends BaseIntegrationTest {
+
+    private static final OffsetDateTime QUOTE_TIME =
+            OffsetDateTime.of(2015, 6, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final String PARTITION_OF_QUOTE =
+            "SELECT tableoid::regclass::text FROM crypto_prices WHERE symbol = 'PART'";
+
+    @Autowired private JdbcPricePartitions pricePartitions;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        // Partitions are kept: the bean remembers them for the lifetime of the context
+        jdbcTemplate.update("DELETE FROM crypto_prices WHERE symbol = 'PART'");
+    }
+
+    @Test
+    void shouldMoveQuotesOutOfDefaultPartitionWhenTheirMonthIsCreated() {
+        // Given: no partition exists for June 2015 yet
+        jdbcTemplate.update(
+                "INSERT INTO crypto_prices (symbol, price, price_timestamp) VALUES ('PART', 1, ?)",
+                QUOTE_TIME);
+        assertThat(jdbcTemplate.queryForObject(PARTITION_OF_QUOTE, String.class))
+                .isEqualTo("crypto_prices_default");
+
+        // When
+        long epochMilli = QUOTE_TIME.toInstant().toEpochMilli();
+        pricePartitions.ensureCovered(epochMilli, epochMilli);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject(PARTITION_OF_QUOTE, String.class))
+                .isEqualTo("crypto_prices_2015_06");
+    }
+
+    @Test
+    void shouldPruneDayQueriesToASinglePartition() {
+        // Given
+        long epochMilli = QUOTE_TIME.plusMonths(1).toInstant().toEpochMilli();
+        pricePartitions.ensureCovered(epochMilli, epochMilli);
+
+        // When
+        var plan =
+                String.join(
+                        "\n",
+                        jdbcTemplate.queryForList(
+                                "EXPLAIN SELECT symbol, MAX(price) FROM crypto_prices"
+                                        + " WHERE price_timestamp >= '2015-07-15T00:00:00Z'"
+                                        + " AND price_timestamp < '2015-07-16T00:00:00Z'"
+                                        + " GROUP BY symbol",
+                                String.class));
+
+        // Then
+        assertThat(plan).contains("crypto_prices_2015_07").doesNotContain("crypto_prices_default");
+    }
+
+    @Test
+    void shouldKeepUpcomingMonthsAvailable() {
+        // When
+        pricePartitions.createUpcomingPartitions();
+
+        // Then
+        var month = OffsetDateTime.now(ZoneOffset.UTC).plusMonths(3);
+        var name = String.format("crypto_prices_%04d_%02d", month.getYear(), month.getMonthValue());
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, name))
+                .isEqualTo(name);
+    }
+}
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.epam.xm.recommendations.BaseIntegrationTest;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -83,4 +85,31 @@ class PriceRepositoryTest extends BaseIntegrationTest {
                 .isPresent()
                 .hasValueSatisfying(v -> assertThat(v).isEqualByComparingTo("150"));
     }
+
+    @Test
+    void testRollupSummaries() {
+        var day1 = OffsetDateTime.of(2022, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        var day2 = day1.plusDays(1);
+        priceRepository.saveAllAndFlush(
+                List.of(
+                        new PriceEntity("BTC", new BigDecimal("40000"), day1.plusHours(1)),
+                        new PriceEntity("BTC", new BigDecimal("35000"), day1.plusHours(5)),
+                        new PriceEntity("BTC", new BigDecimal("41000"), day2.plusHours(1)),
+                        new PriceEntity("BTC", new BigDecimal("42000"), day2.plusHours(2)),
+                        new PriceEntity("ETH", new BigDecimal("3000"), day2.plusHours(3))));
+        rebuildDailyStatsRollup();
+
+        var btc = priceRepository.findRollupSummary("BTC").orElseThrow();
+        assertThat(btc.getOldestPrice()).isEqualByComparingTo("40000");
+        assertThat(btc.getNewestPrice()).isEqualByComparingTo("42000");
+        assertThat(btc.getMinPrice()).isEqualByComparingTo("35000");
+        assertThat(btc.getMaxPrice()).isEqualByComparingTo("42000");
+
+        assertThat(priceRepository.findRollupSummaries()).hasSize(2);
+        assertThat(priceRepository.findRollupSummary("XRP")).isEmpty();
+
+        var firstDay = priceRepository.findRollupSummariesForDay(LocalDate.of(2022, 1, 1));
+        assertThat(firstDay).hasSize(1);
+        assertThat(firstDay.getFirst().getNewestPrice()).isEqualByComparingTo("35000");
+    }
 }
@@ -0,0 +1,84 @@
+package com.epam.xm.recommendations.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.epam.xm.recommendations.domain.PriceSeries;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PriceSnapshotFileTest {
+
+    @TempDir Path tempDir;
+
+    private static PriceSeries series(long... timesAndPrices) {
+        var builder = new PriceSeries.Builder();
+        for (int i = 0; i < timesAndPrices.length; i += 2) {
+            builder.append(timesAndPrices[i], timesAndPrices[i + 1]);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void shouldRestoreWrittenSeries() throws IOException {
+        // Given
+        var path = tempDir.resolve("nested/read-model.snapshot");
+        var btc = series(1000, 4_000_000_000_000L, 2000, 4_200_000_000_000L, 3000, 1);
+        var eth = series(1500, 300_000_000_000L);
+        var before = Instant.now().minusSeconds(1);
+
+        // When
+        PriceSnapshotFile.write(path, Map.of("BTC", btc, "ETH", eth, "NONE", PriceSeries.EMPTY));
+        var restored = PriceSnapshotFile.read(path);
+
+        // Then
+        assertThat(restored.writtenAt()).isAfter(before);
+        assertThat(restored.series()).containsOnlyKeys("BTC", "ETH", "NONE");
+        assertThat(restored.series().get("NONE").isEmpty()).isTrue();
+        assertThat(columns(restored.series().get("BTC"))).isEqualTo(columns(btc));
+        assertThat(columns(restored.series().get("ETH"))).isEqualTo(columns(eth));
+        assertThat(restored.series().get("BTC").summarize())
+                .usingRecursiveComparison()
+                .isEqualTo(btc.summarize());
+        assertThat(tempDir.resolve("nested")).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void shouldRejectTruncatedSnapshot() throws IOException {
+        // Given
+        var path = tempDir.resolve("read-model.snapshot");
+        PriceSnapshotFile.write(path, Map.of("BTC", series(1000, 1, 2000, 2)));
+        var bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+
+        // When / Then
+        assertThatThrownBy(() -> PriceSnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a valid price snapshot");
+    }
+
+    @Test
+    void shouldRejectForeignFile() throws IOException {
+        // Given
+        var path = tempDir.resolve("prices.csv");
+        Files.writeString(path, "timestamp,symbol,price\n1641009600000,BTC,46813.21\n");
+
+        // When / Then
+        assertThatThrownBy(() -> PriceSnapshotFile.read(path)).isInstanceOf(IOException.class);
+    }
+
+    private static String columns(PriceSeries series) {
+        var text = new StringBuilder();
+        series.readColumns(
+                (epochMillis, scaledPrices) ->
+                        text.append(Arrays.toString(epochMillis))
+                                .append(Arrays.toString(scaledPrices)));
+        return text.toString();
+    }
+}
@@ -0,0 +1,164 @@
+package com.epam.xm.recommendations.infrastructure.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class ClusterRateLimiterTest {
+
+    private static final String CLIENT = "10.0.0.1";
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void shouldServeMostRequestsFromLeasedTokens() {
+        var store = new SingleBucketStore(10);
+        var limiter = newLimiter(store, key -> false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryConsume(CLIENT)).isTrue();
+        }
+
+        assertThat(store.calls).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEnforceOneBudgetAcrossInstances() {
+        var store = new SingleBucketStore(10);
+        var first = newLimiter(store, key -> true);
+        var second = newLimiter(store, key -> true);
+        int granted = 0;
+
+        for (int i = 0; i < 20; i++) {
+            var instance = i % 2 == 0 ? first : second;
+            granted += instance.tryConsume(CLIENT) ? 1 : 0;
+        }
+
+        assertThat(granted).isEqualTo(10);
+    }
+
+    @Test
+    void shouldRememberEmptyBucketUntilLeaseExpires() {
+        var store = new SingleBucketStore(0);
+        var limiter = newLimiter(store, key -> true);
+
+        assertThat(limiter.tryConsume(CLIENT)).isFalse();
+        assertThat(limiter.tryConsume(CLIENT)).isFalse();
+        assertThat(store.calls).isEqualTo(1);
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        store.available = 10;
+
+        assertThat(limiter.tryConsume(CLIENT)).isTrue();
+        assertThat(store.calls).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFallBackToLocalLimiterWhenStoreFails() {
+        TokenLeaseStore failing =
+                (key, tokens) -> {
+                    throw new DataAccessResourceFailureException("down");
+                };
+        var limiter = newLimiter(failing, key -> true);
+
+        assertThat(limiter.tryConsume(CLIENT)).isTrue();
+    }
+
+    @Test
+    void shouldSkipStoreUntilBackoffElapses() {
+        var calls = new AtomicInteger();
+        TokenLeaseStore failing =
+                (key, tokens) -> {
+                    calls.incrementAndGet();
+                    throw new DataAccessResourceFailureException("down");
+                };
+        var limiter = newLimiter(failing, key -> true);
+
+        assertThat(limiter.tryConsume(CLIENT)).isTrue();
+        assertThat(limiter.tryConsume("10.0.0.2")).isTrue();
+        assertThat(calls).hasValue(1);
+
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(limiter.tryConsume(CLIENT)).isTrue();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldShareLeaseInFlightBetweenConcurrentRequests() throws Exception {
+        // Given a store call that blocks until released
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var calls = new AtomicInteger();
+        TokenLeaseStore slow =
+                (key, tokens) -> {
+                    calls.incrementAndGet();
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return tokens;
+                };
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var limiter =
+                    new ClusterRateLimiter(
+                            slow,
+                            5,
+                            Duration.ofSeconds(5),
+                            Duration.ofSeconds(10),
+                            key -> false,
+                            executor,
+                            nanos::get);
+
+            // When two requests of the client arrive while its lease is in flight
+            var first = CompletableFuture.supplyAsync(() -> limiter.tryConsume(CLIENT), executor);
+            entered.await();
+            var second = CompletableFuture.supplyAsync(() -> limiter.tryConsume(CLIENT), executor);
+            release.countDown();
+
+            // Then both are served by the single store call
+            assertThat(first.get()).isTrue();
+            assertThat(second.get()).isTrue();
+            assertThat(calls).hasValue(1);
+        }
+    }
+
+    private ClusterRateLimiter newLimiter(TokenLeaseStore store, RateLimiter fallback) {
+        return new ClusterRateLimiter(
+                store,
+                5,
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(10),
+                fallback,
+                Runnable::run,
+                nanos::get);
+    }
+
+    /** Shared bucket of a single client, without refill. */
+    private static final class SingleBucketStore implements TokenLeaseStore {
+
+        private int available;
+        private int calls;
+
+        SingleBucketStore(int available) {
+            this.available = available;
+        }
+
+        @Override
+        public int lease(long keyHash, int tokens) {
+            calls++;
+            int granted = Math.min(tokens, available);
+            available -= granted;
+            return granted;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.epam.xm.recommendations.infrastructure.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.epam.xm.recommendations.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class JdbcTokenLeaseStoreIntTest extends BaseIntegrationTest {
+
+    private static final long MINUTE = 60_000;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets");
+    }
+
+    @Test
+    void shouldLeaseTokensUntilSharedBucketIsEmpty() {
+        var store = new JdbcTokenLeaseStore(jdbcTemplate, 10, 10, MINUTE);
+
+        assertThat(store.lease(42L, 4)).isEqualTo(4);
+        assertThat(store.lease(42L, 4)).isEqualTo(4);
+        assertThat(store.lease(42L, 4)).isEqualTo(2);
+        assertThat(store.lease(42L, 4)).isZero();
+        assertThat(store.lease(43L, 4)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRefillByWholePeriods() {
+        var store = new JdbcTokenLeaseStore(jdbcTemplate, 10, 3, MINUTE);
+        assertThat(store.lease(7L, 10)).isEqualTo(10);
+
+        // Move the last refill two and a half periods back
+        jdbcTemplate.update(
+                "UPDATE rate_limit_buckets SET refilled_at = refilled_at - ? WHERE client_key = 7",
+                5 * MINUTE / 2);
+
+        assertThat(store.lease(7L, 10)).isEqualTo(6);
+    }
+
+    @Test
+    void shouldDeleteBucketsIdleLongerThanFullRefill() {
+        var store = new JdbcTokenLeaseStore(jdbcTemplate, 10, 10, MINUTE);
+        store.lease(1L, 1);
+        store.lease(2L, 1);
+        jdbcTemplate.update(
+                "UPDATE rate_limit_buckets SET touched_at = touched_at - ? WHERE client_key = 1",
+                2 * MINUTE);
+
+        store.deleteIdleBuckets();
+
+        var remaining =
+                jdbcTemplate.queryForList("SELECT client_key FROM rate_limit_buckets", Long.class);
+        assertThat(remaining).containsExactly(2L);
+    }
+}
@@ -0,0 +1,85 @@
+package com.epam.xm.recommendations.infrastructure.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTableTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void shouldAllowCapacityThenReject() {
+        var table = new TokenBucketTable(1024, 3, 3, MINUTE, now::get);
+
+        assertThat(table.tryConsume("10.0.0.1")).isTrue();
+        assertThat(table.tryConsume("10.0.0.1")).isTrue();
+        assertThat(table.tryConsume("10.0.0.1")).isTrue();
+        assertThat(table.tryConsume("10.0.0.1")).isFalse();
+        assertThat(table.tryConsume("10.0.0.2")).isTrue();
+    }
+
+    @Test
+    void shouldRefillWholePeriodsOnly() {
+        var table = new TokenBucketTable(1024, 2, 1, MINUTE, now::get);
+        table.tryConsume("10.0.0.1");
+        table.tryConsume("10.0.0.1");
+
+        now.addAndGet(MINUTE - 1);
+        assertThat(table.tryConsume("10.0.0.1")).isFalse();
+
+        now.addAndGet(1);
+        assertThat(table.tryConsume("10.0.0.1")).isTrue();
+        assertThat(table.tryConsume("10.0.0.1")).isFalse();
+
+        now.addAndGet(10 * MINUTE);
+        assertThat(table.tryConsume("10.0.0.1")).isTrue();
+        assertThat(table.tryConsume("10.0.0.1")).isTrue();
+        assertThat(table.tryConsume("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void shouldKeepFixedFootprintWhenClientsOutnumberSlots() {
+        var table = new TokenBucketTable(512, 1, 1, MINUTE, now::get);
+        long footprint = table.footprintBytes();
+
+        for (int i = 0; i < 100_000; i++) {
+            table.tryConsume("client-" + i);
+        }
+
+        assertThat(table.footprintBytes()).isEqualTo(footprint).isEqualTo(512 * 16L);
+        // The most recent client still has its exhausted bucket
+        assertThat(table.tryConsume("client-99999")).isFalse();
+    }
+
+    @Test
+    void shouldNeverGrantMoreThanCapacityUnderContention() {
+        var table = new TokenBucketTable(1024, 100, 100, MINUTE, now::get);
+        var granted = new AtomicInteger();
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.execute(
+                        () -> {
+                            if (table.tryConsume("10.0.0.1")) {
+                                granted.incrementAndGet();
+                            }
+                        });
+            }
+        }
+
+        assertThat(granted).hasValue(100);
+    }
+
+    @Test
+    void shouldRejectInvalidCapacity() {
+        assertThatThrownBy(() -> new TokenBucketTable(1024, 0, 1, MINUTE, now::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
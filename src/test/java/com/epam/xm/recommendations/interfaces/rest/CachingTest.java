@@ -1,17 +1,17 @@
 package com.epam.xm.recommendations.interfaces.rest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.epam.xm.recommendations.application.service.CryptoApplicationService;
-import com.epam.xm.recommendations.domain.CryptoAnalysisService;
 import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
+import com.epam.xm.recommendations.domain.PriceReadModel;
 import com.epam.xm.recommendations.domain.SymbolValidator;
 import com.epam.xm.recommendations.infrastructure.config.RateLimitingFilter;
-import com.epam.xm.recommendations.infrastructure.persistence.PriceRepository;
 import java.math.BigDecimal;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -58,9 +58,7 @@ class CachingTest {
 
     @Autowired private CryptoApplicationService cryptoApplicationService;
 
-    @MockitoBean private PriceRepository priceRepository;
-
-    @MockitoBean private CryptoAnalysisService analysisService;
+    @MockitoBean private PriceReadModel priceReadModel;
 
     @MockitoBean private SymbolValidator symbolValidator;
 
@@ -74,19 +72,14 @@ class CachingTest {
         CryptoStats stats =
                 new CryptoStats(
                         symbol,
-                        BigDecimal.ONE,
-                        BigDecimal.TEN,
-                        BigDecimal.ZERO,
-                        BigDecimal.TEN,
+                        Price.of("1"),
+                        Price.of("10"),
+                        Price.ofScaled(0),
+                        Price.of("10"),
                         BigDecimal.ONE);
 
         when(symbolValidator.isSupported(symbol)).thenReturn(true);
-        com.epam.xm.recommendations.infrastructure.persistence.PriceEntity entity =
-                new com.epam.xm.recommendations.infrastructure.persistence.PriceEntity(
-                        symbol, BigDecimal.TEN, java.time.OffsetDateTime.now());
-
-        when(priceRepository.findAllBySymbol(symbol)).thenReturn(java.util.List.of(entity));
-        when(analysisService.calculateStats(eq(symbol), any())).thenReturn(stats);
+        when(priceReadModel.findStats(symbol)).thenReturn(Optional.of(stats));
 
         // Clear cache before test if it exists
         var cache = cacheManager.getCache("crypto-stats");
@@ -100,7 +93,38 @@ class CachingTest {
         // Second call - should return from cache
         cryptoApplicationService.getStats(symbol);
 
-        verify(analysisService, times(1)).calculateStats(eq(symbol), any());
+        verify(priceReadModel, times(1)).findStats(symbol);
         assertNotNull(cache.get(symbol));
     }
+
+    @Test
+    void shouldReplaceCachedStatsOnRefresh() {
+        String symbol = "ETH";
+        CryptoStats first =
+                new CryptoStats(
+                        symbol,
+                        Price.of("1"),
+                        Price.of("1"),
+                        Price.of("1"),
+                        Price.of("1"),
+                        BigDecimal.ZERO);
+        CryptoStats second =
+                new CryptoStats(
+                        symbol,
+                        Price.of("1"),
+                        Price.of("10"),
+                        Price.of("1"),
+                        Price.of("10"),
+                        BigDecimal.valueOf(9));
+
+        when(symbolValidator.isSupported(symbol)).thenReturn(true);
+        when(priceReadModel.findStats(symbol))
+                .thenReturn(Optional.of(first), Optional.of(second));
+
+        cryptoApplicationService.getStats(symbol);
+        cryptoApplicationService.refreshStats(symbol);
+
+        assertEquals(second, cryptoApplicationService.getStats(symbol));
+        verify(priceReadModel, times(2)).findStats(symbol);
+    }
 }
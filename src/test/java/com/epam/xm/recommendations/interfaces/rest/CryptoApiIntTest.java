@@ -1,23 +1,36 @@
 package com.epam.xm.recommendations.interfaces.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.epam.xm.recommendations.BaseIntegrationTest;
+import com.epam.xm.recommendations.application.service.CryptoApplicationService;
+import com.epam.xm.recommendations.infrastructure.persistence.DailyWinnerEntity;
+import com.epam.xm.recommendations.infrastructure.persistence.DailyWinnerRepository;
 import com.epam.xm.recommendations.infrastructure.persistence.PriceEntity;
 import com.epam.xm.recommendations.infrastructure.persistence.PriceRepository;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 
 public class CryptoApiIntTest extends BaseIntegrationTest {
 
     @Autowired private PriceRepository priceRepository;
 
+    @Autowired private DailyWinnerRepository dailyWinnerRepository;
+
+    @Autowired private CryptoApplicationService cryptoApplicationService;
+
     @BeforeEach
     void setup() {
         priceRepository.deleteAll();
@@ -48,6 +61,10 @@ public class CryptoApiIntTest extends BaseIntegrationTest {
                         "ETH",
                         new BigDecimal("2500"),
                         OffsetDateTime.of(2022, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC)));
+
+        // Rows saved directly bypass the importer, so refresh the derived per-day data here
+        rebuildDailyStatsRollup();
+        cryptoApplicationService.refreshHighestRangeForDate(LocalDate.of(2022, 1, 1));
     }
 
     @Test
@@ -59,6 +76,99 @@ public class CryptoApiIntTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.maxPrice").value(45000.0));
     }
 
+    @Test
+    void shouldReturnStatsForWindowWithinDay() throws Exception {
+        mockMvc.perform(
+                        get("/api/v1/crypto/stats/BTC")
+                                .param("from", "2022-01-01T09:00:00Z")
+                                .param("to", "2022-01-01T12:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.oldestPrice").value(40000.0))
+                .andExpect(jsonPath("$.newestPrice").value(45000.0))
+                .andExpect(jsonPath("$.minPrice").value(40000.0))
+                .andExpect(jsonPath("$.maxPrice").value(45000.0));
+    }
+
+    @Test
+    void shouldCombineRollupDaysWithPartialEdgeDays() throws Exception {
+        priceRepository.save(
+                new PriceEntity(
+                        "BTC",
+                        new BigDecimal("30000"),
+                        OffsetDateTime.of(2022, 1, 3, 5, 0, 0, 0, ZoneOffset.UTC)));
+        priceRepository.save(
+                new PriceEntity(
+                        "BTC",
+                        new BigDecimal("20000"),
+                        OffsetDateTime.of(2022, 1, 3, 7, 0, 0, 0, ZoneOffset.UTC)));
+        rebuildDailyStatsRollup();
+
+        mockMvc.perform(
+                        get("/api/v1/crypto/stats/BTC")
+                                .param("from", "2021-12-31T12:00:00Z")
+                                .param("to", "2022-01-03T06:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.oldestPrice").value(35000.0))
+                .andExpect(jsonPath("$.newestPrice").value(30000.0))
+                .andExpect(jsonPath("$.minPrice").value(30000.0))
+                .andExpect(jsonPath("$.maxPrice").value(45000.0));
+    }
+
+    @Test
+    void shouldReturn404WhenWindowHasNoData() throws Exception {
+        mockMvc.perform(
+                        get("/api/v1/crypto/stats/BTC")
+                                .param("from", "2023-01-01T00:00:00Z")
+                                .param("to", "2023-02-01T00:00:00Z"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldExportPricesAsNdjsonInTimeOrder() throws Exception {
+        var expected =
+                """
+                {"timestamp":"2022-01-01T08:00:00Z","symbol":"BTC","price":35000.00000000}
+                {"timestamp":"2022-01-01T10:00:00Z","symbol":"BTC","price":40000.00000000}
+                {"timestamp":"2022-01-01T12:00:00Z","symbol":"BTC","price":45000.00000000}
+                """;
+
+        mockMvc.perform(get("/api/v1/crypto/prices/BTC"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(
+                        header().string(
+                                        "Content-Disposition",
+                                        "attachment; filename=\"BTC.ndjson\""))
+                .andExpect(content().string(expected));
+    }
+
+    @Test
+    void shouldExportWindowAsCsvInImportLayout() throws Exception {
+        var expected =
+                """
+                timestamp,symbol,price
+                1641031200000,BTC,40000.00000000
+                1641038400000,BTC,45000.00000000
+                """;
+
+        mockMvc.perform(
+                        get("/api/v1/crypto/prices/BTC")
+                                .param("from", "2022-01-01T09:00:00Z")
+                                .param("to", "2022-01-01T12:00:00Z")
+                                .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string(expected));
+    }
+
+    @Test
+    void shouldRejectExportOfUnsupportedSymbol() throws Exception {
+        mockMvc.perform(get("/api/v1/crypto/prices/ABC"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION))
+                .andExpect(jsonPath("$.message").exists());
+    }
+
     @Test
     void shouldReturnSortedRange() throws Exception {
         // BTC range: (45-35)/35 = 10/35 = 0.2857
@@ -69,6 +179,42 @@ public class CryptoApiIntTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$[1].symbol").value("ETH"));
     }
 
+    @Test
+    void shouldReturnTopOfSortedRange() throws Exception {
+        mockMvc.perform(get("/api/v1/crypto/sorted").param("top", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].symbol").value("BTC"));
+    }
+
+    @Test
+    void shouldPageSortedRangeWithCursor() throws Exception {
+        var first =
+                mockMvc.perform(get("/api/v1/crypto/sorted").param("limit", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(1))
+                        .andExpect(jsonPath("$[0].symbol").value("BTC"))
+                        .andReturn();
+        var link = first.getResponse().getHeader("Link");
+        assertThat(link)
+                .startsWith("<http://localhost/api/v1/crypto/sorted?")
+                .endsWith("; rel=\"next\"");
+        var next = link.substring(1, link.indexOf('>'));
+
+        mockMvc.perform(get(URI.create(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].symbol").value("ETH"))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/crypto/sorted").param("cursor", "not-a-cursor"))
+                .andExpect(status().is(422))
+                .andExpect(jsonPath("$.message").exists());
+    }
+
     @Test
     void shouldReturnHighestRangeForDate() throws Exception {
         mockMvc.perform(get("/api/v1/crypto/highest-range").param("date", "2022-01-01"))
@@ -76,6 +222,73 @@ public class CryptoApiIntTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.symbol").value("BTC"));
     }
 
+    @Test
+    void shouldReturnTopRangesPerDayOverDateRange() throws Exception {
+        priceRepository.save(
+                new PriceEntity(
+                        "ETH",
+                        new BigDecimal("2200"),
+                        OffsetDateTime.of(2022, 1, 2, 9, 0, 0, 0, ZoneOffset.UTC)));
+        priceRepository.save(
+                new PriceEntity(
+                        "ETH",
+                        new BigDecimal("2420"),
+                        OffsetDateTime.of(2022, 1, 2, 15, 0, 0, 0, ZoneOffset.UTC)));
+        rebuildDailyStatsRollup();
+
+        mockMvc.perform(
+                        get("/api/v1/crypto/highest-range")
+                                .param("from", "2021-12-31")
+                                .param("to", "2022-01-02")
+                                .param("k", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].date").value("2022-01-01"))
+                .andExpect(jsonPath("$[0].ranking[0].symbol").value("BTC"))
+                .andExpect(jsonPath("$[0].ranking[0].normalizedRange").value(0.2857))
+                .andExpect(jsonPath("$[0].ranking[1].symbol").value("ETH"))
+                .andExpect(jsonPath("$[1].date").value("2022-01-02"))
+                .andExpect(jsonPath("$[1].ranking.length()").value(1))
+                .andExpect(jsonPath("$[1].ranking[0].normalizedRange").value(0.1));
+    }
+
+    @Test
+    void shouldReturnEmptyArrayForRangeWithoutData() throws Exception {
+        mockMvc.perform(
+                        get("/api/v1/crypto/highest-range")
+                                .param("from", "2025-01-01")
+                                .param("to", "2025-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void shouldRejectReversedDateRange() throws Exception {
+        mockMvc.perform(
+                        get("/api/v1/crypto/highest-range")
+                                .param("from", "2022-01-02")
+                                .param("to", "2022-01-01"))
+                .andExpect(status().is(422))
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    void shouldServeCompletedDayFromDailyWinners() throws Exception {
+        dailyWinnerRepository.save(
+                new DailyWinnerEntity(
+                        LocalDate.of(2021, 12, 31),
+                        "XRP",
+                        new BigDecimal("0.8"),
+                        new BigDecimal("0.9"),
+                        new BigDecimal("0.8"),
+                        new BigDecimal("1.0"),
+                        new BigDecimal("0.25")));
+
+        mockMvc.perform(get("/api/v1/crypto/highest-range").param("date", "2021-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.symbol").value("XRP"));
+    }
+
     @Test
     void shouldReturn404WhenNoDataForDate() throws Exception {
         mockMvc.perform(get("/api/v1/crypto/highest-range").param("date", "2025-01-01"))
@@ -2,6 +2,7 @@ package com.epam.xm.recommendations.interfaces.rest;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -9,9 +10,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.epam.xm.recommendations.application.mapper.CryptoMapper;
 import com.epam.xm.recommendations.application.service.CryptoApplicationService;
 import com.epam.xm.recommendations.domain.CryptoStats;
+import com.epam.xm.recommendations.domain.Price;
 import com.epam.xm.recommendations.infrastructure.error.CryptoNotFoundException;
 import com.epam.xm.recommendations.infrastructure.error.UnsupportedCryptoException;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -45,10 +48,10 @@ public class CryptoControllerTest {
         var stats =
                 new CryptoStats(
                         "BTC",
-                        new BigDecimal("30000"),
-                        new BigDecimal("40000"),
-                        new BigDecimal("30000"),
-                        new BigDecimal("45000"),
+                        Price.of("30000"),
+                        Price.of("40000"),
+                        Price.of("30000"),
+                        Price.of("45000"),
                         new BigDecimal("0.5"));
 
         given(cryptoService.getStats("BTC")).willReturn(stats);
@@ -80,6 +83,42 @@ public class CryptoControllerTest {
         mockMvc.perform(get("/api/v1/crypto/stats/INVALID")).andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getStats_ShouldUseWindow_WhenBothBoundsGiven() throws Exception {
+        var stats =
+                new CryptoStats(
+                        "BTC",
+                        Price.of("30000"),
+                        Price.of("40000"),
+                        Price.of("30000"),
+                        Price.of("45000"),
+                        new BigDecimal("0.5"));
+
+        given(
+                        cryptoService.getStats(
+                                "BTC",
+                                Instant.parse("2022-01-01T00:00:00Z"),
+                                Instant.parse("2022-01-08T00:00:00Z")))
+                .willReturn(stats);
+
+        mockMvc.perform(
+                        get("/api/v1/crypto/stats/BTC")
+                                .param("from", "2022-01-01T00:00:00Z")
+                                .param("to", "2022-01-08T00:00:00Z"))
+                .andExpect(status().isOk());
+        verify(cryptoService)
+                .getStats(
+                        "BTC",
+                        Instant.parse("2022-01-01T00:00:00Z"),
+                        Instant.parse("2022-01-08T00:00:00Z"));
+    }
+
+    @Test
+    void getStats_ShouldReturnUnprocessable_WhenOnlyOneBoundGiven() throws Exception {
+        mockMvc.perform(get("/api/v1/crypto/stats/BTC").param("from", "2022-01-01T00:00:00Z"))
+                .andExpect(status().is(422));
+    }
+
     @Test
     void getSorted_ShouldReturnList() throws Exception {
         given(cryptoService.getAllSortedStats()).willReturn(List.of());
@@ -94,10 +133,10 @@ public class CryptoControllerTest {
         var stats =
                 new CryptoStats(
                         "BTC",
-                        new BigDecimal("30000"),
-                        new BigDecimal("40000"),
-                        new BigDecimal("30000"),
-                        new BigDecimal("45000"),
+                        Price.of("30000"),
+                        Price.of("40000"),
+                        Price.of("30000"),
+                        Price.of("45000"),
                         new BigDecimal("0.5"));
 
         given(cryptoService.getHighestRangeForDate(any(LocalDate.class))).willReturn(stats);